@@ -0,0 +1,101 @@
+package com.course.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 异步执行配置
+ * 为统计查询等可并行的只读任务、流式下载、后台导出和总成绩重新计算任务提供独立的有界线程池
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${statistics.executor.pool-size:4}")
+    private int statisticsPoolSize;
+
+    @Value("${statistics.executor.queue-capacity:100}")
+    private int statisticsQueueCapacity;
+
+    @Value("${export.stream.pool-size:8}")
+    private int mvcPoolSize;
+
+    @Value("${export.stream.queue-capacity:100}")
+    private int mvcQueueCapacity;
+
+    @Value("${export.job.pool-size:2}")
+    private int exportJobPoolSize;
+
+    @Value("${export.job.queue-capacity:20}")
+    private int exportJobQueueCapacity;
+
+    @Value("${grade.recompute.pool-size:4}")
+    private int gradeRecomputePoolSize;
+
+    @Value("${grade.recompute.queue-capacity:50}")
+    private int gradeRecomputeQueueCapacity;
+
+    /**
+     * 统计查询线程池
+     * 队列满时由调用线程执行，保证请求不会被拒绝
+     */
+    @Bean
+    public ThreadPoolTaskExecutor statisticsExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(statisticsPoolSize);
+        executor.setMaxPoolSize(statisticsPoolSize);
+        executor.setQueueCapacity(statisticsQueueCapacity);
+        executor.setThreadNamePrefix("statistics-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Spring MVC 异步请求线程池
+     * 流式下载（StreamingResponseBody）在该线程池中写出响应，不占用 Tomcat 工作线程
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mvcTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mvcPoolSize);
+        executor.setMaxPoolSize(mvcPoolSize);
+        executor.setQueueCapacity(mvcQueueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    /**
+     * 后台导出任务线程池
+     * 线程数限制同时生成的大报表数量，队列满时拒绝新任务
+     */
+    @Bean
+    public ThreadPoolTaskExecutor exportJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(exportJobPoolSize);
+        executor.setMaxPoolSize(exportJobPoolSize);
+        executor.setQueueCapacity(exportJobQueueCapacity);
+        executor.setThreadNamePrefix("export-job-");
+        return executor;
+    }
+
+    /**
+     * 总成绩重新计算线程池
+     * 线程数即单个任务并行处理的课程分区数上限，也限制重新计算占用的数据库连接数
+     */
+    @Bean
+    public ThreadPoolTaskExecutor gradeRecomputeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(gradeRecomputePoolSize);
+        executor.setMaxPoolSize(gradeRecomputePoolSize);
+        executor.setQueueCapacity(gradeRecomputeQueueCapacity);
+        executor.setThreadNamePrefix("grade-recompute-");
+        return executor;
+    }
+}
@@ -1,6 +1,9 @@
 package com.course.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
@@ -16,6 +19,28 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ThreadPoolTaskExecutor mvcTaskExecutor;
+
+    /**
+     * 异步请求（流式下载）超时时间，单位毫秒
+     */
+    @Value("${export.stream.timeout:600000}")
+    private long asyncRequestTimeout;
+
+    public WebConfig(ThreadPoolTaskExecutor mvcTaskExecutor) {
+        this.mvcTaskExecutor = mvcTaskExecutor;
+    }
+
+    /**
+     * 配置异步请求处理
+     * 流式导出在独立线程池中写出，超时时间足够覆盖大报表
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcTaskExecutor);
+        configurer.setDefaultTimeout(asyncRequestTimeout);
+    }
+
     /**
      * 配置静态资源处理
      */
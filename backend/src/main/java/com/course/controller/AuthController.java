@@ -72,14 +72,16 @@ public class AuthController {
      * 用户登出
      */
     @PostMapping("/logout")
-    @Operation(summary = "用户登出", description = "用户登出，清除认证信息")
-    public Result<String> logout(HttpServletRequest request) {
+    @Operation(summary = "用户登出", description = "用户登出，吊销访问令牌；请求体中携带刷新令牌时一并吊销")
+    public Result<String> logout(HttpServletRequest request,
+                                 @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
         log.info("用户登出请求");
         
         try {
             String token = getJwtFromRequest(request);
             if (StringUtils.hasText(token)) {
-                boolean success = authService.logout(token);
+                String refreshToken = refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null;
+                boolean success = authService.logout(token, refreshToken);
                 if (success) {
                     return Result.success("登出成功");
                 }
@@ -1,17 +1,21 @@
 package com.course.controller;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.course.dto.GradeRecomputeJob;
 import com.course.dto.PageRequest;
 import com.course.dto.Result;
 import com.course.dto.course.*;
 import com.course.entity.Course;
 import com.course.service.CourseService;
+import com.course.service.GradeRecomputeService;
+import com.course.utils.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -36,6 +40,7 @@ import java.util.stream.Collectors;
 public class CourseController {
 
     private final CourseService courseService;
+    private final GradeRecomputeService gradeRecomputeService;
 
     /**
      * 创建课程
@@ -233,6 +238,28 @@ public class CourseController {
         }
     }
 
+    /**
+     * 更新课程成绩权重
+     */
+    @PutMapping("/{id}/grade-weights")
+    @Operation(summary = "更新成绩权重", description = "修改课程平时、期中、期末成绩权重，并提交后台任务重新计算该课程的总成绩和等级")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    public Result<GradeRecomputeJob> updateGradeWeights(
+            @Parameter(description = "课程ID", required = true)
+            @PathVariable @NotNull Long id,
+            @Valid @RequestBody GradeWeightRequest request) {
+        log.info("更新课程成绩权重: {} -> {}/{}/{}", id,
+                request.getUsualWeight(), request.getMidtermWeight(), request.getFinalWeight());
+        
+        Long teacherId = SecurityUtils.isAdmin() ? null : SecurityUtils.getCurrentUserId();
+        courseService.updateGradeWeights(id, request, teacherId);
+        
+        // 权重已提交，重新计算在后台执行，不阻塞成绩录入
+        GradeRecomputeJob job = gradeRecomputeService.submitCourse(id, SecurityUtils.getCurrentUserId());
+        
+        return Result.success("成绩权重更新成功，正在重新计算总成绩", job);
+    }
+
     /**
      * 复制课程到新学期
      */
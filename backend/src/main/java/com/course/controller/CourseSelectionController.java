@@ -95,6 +95,36 @@ public class CourseSelectionController {
         }
     }
 
+    /**
+     * 按学期批量退课
+     */
+    @PostMapping("/batch-drop")
+    @Operation(summary = "按学期批量退课", description = "管理员按学期为多名学生批量退课，退选该学期全部选课需显式指定 allStudents=true")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<Integer> batchDropCoursesBySemester(
+            @Parameter(description = "学期", required = true)
+            @RequestParam @NotNull String semester,
+            @Parameter(description = "是否退选该学期全部学生的选课（此时不能指定学生ID列表）")
+            @RequestParam(defaultValue = "false") boolean allStudents,
+            @RequestBody(required = false) List<Long> studentIds) {
+        log.info("按学期批量退课: semester={}, allStudents={}, students={}",
+                semester, allStudents, studentIds == null ? 0 : studentIds.size());
+        
+        int count;
+        if (allStudents) {
+            if (studentIds != null && !studentIds.isEmpty()) {
+                throw new IllegalArgumentException("退选全部学生时不能指定学生ID列表");
+            }
+            count = courseSelectionService.dropAllCoursesBySemester(semester);
+        } else {
+            if (studentIds == null || studentIds.isEmpty()) {
+                throw new IllegalArgumentException("学生ID列表不能为空，退选全部学生请指定 allStudents=true");
+            }
+            count = courseSelectionService.batchDropCoursesBySemester(studentIds, semester);
+        }
+        return Result.success("批量退课成功", count);
+    }
+
     /**
      * 查询学生的选课记录
      */
@@ -1,8 +1,8 @@
 package com.course.controller;
 
+import com.course.dto.DashboardStats;
 import com.course.dto.Result;
-import com.course.service.CourseService;
-import com.course.service.UserService;
+import com.course.service.DashboardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -28,8 +28,7 @@ import java.util.Map;
 @Tag(name = "仪表盘", description = "仪表盘统计数据接口")
 public class DashboardController {
 
-    private final UserService userService;
-    private final CourseService courseService;
+    private final DashboardService dashboardService;
 
     /**
      * 获取仪表盘统计数据
@@ -41,24 +40,14 @@ public class DashboardController {
         
         try {
             Map<String, Object> stats = new HashMap<>();
+            DashboardStats dashboardStats = dashboardService.getStats();
             
-            // 统计总用户数（排除已删除的）
-            com.course.dto.PageRequest userPageRequest = new com.course.dto.PageRequest();
-            userPageRequest.setCurrent(1);
-            userPageRequest.setSize(1);
-            long totalUsers = userService.getUserPage(userPageRequest, null, null).getTotal();
-
-            // 统计总课程数（排除已删除的）
-            com.course.dto.PageRequest coursePageRequest = new com.course.dto.PageRequest();
-            coursePageRequest.setCurrent(1);
-            coursePageRequest.setSize(1);
-            long totalCourses = courseService.getCoursePage(coursePageRequest, null, null, null, null).getTotal();
+            // 总用户数、总课程数（排除已删除的）
+            long totalUsers = dashboardStats.getTotalUsers();
+            long totalCourses = dashboardStats.getTotalCourses();
 
             // 统计在线用户数（这里简化为活跃用户数，实际应该根据session或token统计）
-            com.course.dto.PageRequest onlinePageRequest = new com.course.dto.PageRequest();
-            onlinePageRequest.setCurrent(1);
-            onlinePageRequest.setSize(1);
-            long onlineUsers = userService.getUserPage(onlinePageRequest, null, 1).getTotal();
+            long onlineUsers = dashboardStats.getActiveUsers();
             
             // 系统消息数（这里暂时设为0，后续可以添加消息系统）
             long systemMessages = 0;
@@ -89,9 +78,10 @@ public class DashboardController {
             Map<String, Object> roleStats = new HashMap<>();
             
             // 统计各角色用户数
-            long adminCount = userService.getUsersByRole("ADMIN").size();
-            long teacherCount = userService.getUsersByRole("TEACHER").size();
-            long studentCount = userService.getUsersByRole("STUDENT").size();
+            DashboardStats dashboardStats = dashboardService.getStats();
+            long adminCount = dashboardStats.getAdminCount();
+            long teacherCount = dashboardStats.getTeacherCount();
+            long studentCount = dashboardStats.getStudentCount();
             
             roleStats.put("adminCount", adminCount);
             roleStats.put("teacherCount", teacherCount);
@@ -0,0 +1,125 @@
+package com.course.controller;
+
+import com.course.dto.ExportJob;
+import com.course.dto.Result;
+import com.course.service.ExportJobService;
+import com.course.utils.ExportFormat;
+import com.course.utils.SecurityUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * 导出任务控制器
+ * 提交后台导出任务、查询进度并下载生成的文件
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@RestController
+@RequestMapping("/export-jobs")
+@RequiredArgsConstructor
+@Tag(name = "导出任务", description = "后台报表导出相关接口")
+public class ExportJobController {
+
+    /**
+     * Tomcat sendfile 相关请求属性
+     */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ExportJobService exportJobService;
+
+    /**
+     * 提交导出任务
+     */
+    @PostMapping
+    @Operation(summary = "提交导出任务", description = "在后台生成报表文件，返回任务ID；教师只能导出自己所授课程，且必须指定课程ID")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    public Result<ExportJob> submit(
+            @Parameter(description = "报表类型：grades-成绩明细，roster-课程花名册，users-用户列表")
+            @RequestParam String reportType,
+            @RequestBody(required = false) Map<String, Object> params) {
+        log.info("提交导出任务: reportType={}, params={}", reportType, params);
+
+        if ("users".equals(reportType) && !SecurityUtils.isAdmin()) {
+            return Result.error("无权导出用户列表");
+        }
+
+        Long teacherId = SecurityUtils.isAdmin() ? null : SecurityUtils.getCurrentUserId();
+        ExportJob job = exportJobService.submit(reportType, params, SecurityUtils.getCurrentUserId(), teacherId);
+        return Result.success("导出任务已提交", job);
+    }
+
+    /**
+     * 查询导出任务状态
+     */
+    @GetMapping("/{jobId}")
+    @Operation(summary = "查询导出任务", description = "查询任务状态和已写入字节数")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    public Result<ExportJob> getJob(@PathVariable String jobId) {
+        ExportJob job = exportJobService.getJob(jobId, SecurityUtils.getCurrentUserId(), SecurityUtils.isAdmin());
+        return Result.success(job);
+    }
+
+    /**
+     * 下载导出文件
+     * 容器支持 sendfile 时由 Tomcat 直接从文件发送，否则通过 FileChannel.transferTo 写入响应
+     */
+    @GetMapping("/{jobId}/download")
+    @Operation(summary = "下载导出文件", description = "下载已完成任务生成的文件（xlsx、csv、tsv 或 gzip 压缩的 csv/tsv）")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    public void download(@PathVariable String jobId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Long userId = SecurityUtils.getCurrentUserId();
+        boolean admin = SecurityUtils.isAdmin();
+        ExportJob job = exportJobService.getJob(jobId, userId, admin);
+        Path file = exportJobService.getFile(jobId, userId, admin);
+        long size = Files.size(file);
+        log.info("下载导出文件: jobId={}, size={}", jobId, size);
+
+        response.setContentType(ExportFormat.of(job.getFormat()).getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(job.getFilename(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.course.controller;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.course.dto.GradeImportResult;
+import com.course.dto.GradeRecomputeJob;
 import com.course.dto.GradeRequest;
 import com.course.dto.GradeResponse;
 import com.course.dto.GradeStatistics;
 import com.course.dto.PageRequest;
 import com.course.dto.Result;
 import com.course.entity.Grade;
+import com.course.service.GradeImportService;
+import com.course.service.GradeRecomputeService;
 import com.course.service.GradeService;
 import com.course.utils.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,8 +19,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -39,6 +45,8 @@ import java.util.stream.Collectors;
 public class GradeController {
 
     private final GradeService gradeService;
+    private final GradeImportService gradeImportService;
+    private final GradeRecomputeService gradeRecomputeService;
 
     /**
      * 录入或更新成绩
@@ -69,6 +77,52 @@ public class GradeController {
         return Result.success("批量录入成功", count);
     }
 
+    /**
+     * 重新计算学期总成绩
+     */
+    @PostMapping("/recompute")
+    @Operation(summary = "重新计算学期总成绩", description = "提交后台任务，按各课程当前权重重新计算学期内全部成绩的总成绩和等级")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<GradeRecomputeJob> recomputeSemesterTotals(
+            @Parameter(description = "学期", required = true)
+            @RequestParam String semester) {
+        log.info("重新计算学期总成绩: semester={}", semester);
+        
+        GradeRecomputeJob job = gradeRecomputeService.submitSemester(semester, SecurityUtils.getCurrentUserId());
+        
+        return Result.success("重新计算任务已提交", job);
+    }
+
+    /**
+     * 查询重新计算任务进度
+     */
+    @GetMapping("/recompute/{jobId}")
+    @Operation(summary = "查询重新计算进度", description = "返回任务状态、已处理成绩数和已完成的课程分区数")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    public Result<GradeRecomputeJob> getRecomputeJob(
+            @Parameter(description = "任务ID", required = true)
+            @PathVariable String jobId) {
+        GradeRecomputeJob job = gradeRecomputeService.getJob(jobId, SecurityUtils.getCurrentUserId(), SecurityUtils.isAdmin());
+        return Result.success(job);
+    }
+
+    /**
+     * 导入成绩表
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "导入成绩表", description = "上传xlsx/csv/tsv成绩表批量录入成绩，返回行级错误报告")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    public Result<GradeImportResult> importGrades(
+            @Parameter(description = "成绩表文件，列名：学号、课程编码、学期、平时成绩、期中成绩、期末成绩")
+            @RequestParam("file") MultipartFile file) {
+        log.info("导入成绩表: file={}", file.getOriginalFilename());
+        
+        Long teacherId = SecurityUtils.isAdmin() ? null : SecurityUtils.getCurrentUserId();
+        GradeImportResult result = gradeImportService.importGrades(file, teacherId);
+        
+        return Result.success("成绩导入完成", result);
+    }
+
     /**
      * 删除成绩
      */
@@ -0,0 +1,118 @@
+package com.course.controller;
+
+import com.course.dto.Result;
+import com.course.entity.Classroom;
+import com.course.entity.Schedule;
+import com.course.service.ScheduleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * 课表管理控制器
+ * 
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@RestController
+@RequestMapping("/schedules")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "课表管理", description = "课表安排相关的API接口")
+public class ScheduleController {
+
+    private final ScheduleService scheduleService;
+
+    /**
+     * 新增课表安排
+     */
+    @PostMapping
+    @Operation(summary = "新增课表安排", description = "新增课表安排，教师或教室在该时段已有安排时拒绝")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<Schedule> createSchedule(@Valid @RequestBody Schedule schedule) {
+        log.info("新增课表安排: courseId={}", schedule.getCourseId());
+        
+        Schedule created = scheduleService.createSchedule(schedule);
+        
+        return Result.success("课表安排新增成功", created);
+    }
+
+    /**
+     * 更新课表安排
+     */
+    @PutMapping("/{id}")
+    @Operation(summary = "更新课表安排", description = "更新课表安排，教师或教室在该时段已有其他安排时拒绝")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<Schedule> updateSchedule(
+            @Parameter(description = "课表安排ID", required = true)
+            @PathVariable @NotNull Long id,
+            @Valid @RequestBody Schedule schedule) {
+        log.info("更新课表安排: {}", id);
+        
+        schedule.setId(id);
+        Schedule updated = scheduleService.updateSchedule(schedule);
+        
+        return Result.success("课表安排更新成功", updated);
+    }
+
+    /**
+     * 删除课表安排
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "删除课表安排", description = "逻辑删除课表安排")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<String> deleteSchedule(
+            @Parameter(description = "课表安排ID", required = true)
+            @PathVariable @NotNull Long id) {
+        log.info("删除课表安排: {}", id);
+        
+        boolean success = scheduleService.deleteSchedule(id);
+        if (success) {
+            return Result.success("课表安排删除成功");
+        } else {
+            return Result.error("课表安排删除失败");
+        }
+    }
+
+    /**
+     * 查询空闲教室
+     */
+    @GetMapping("/available-classrooms")
+    @Operation(summary = "查询空闲教室", description = "查询指定学期、星期、时间段内在所选周次都没有课表安排的可用教室")
+    public Result<List<Classroom>> getAvailableClassrooms(
+            @Parameter(description = "学期", required = true)
+            @RequestParam String semester,
+            @Parameter(description = "星期几（1-7）", required = true)
+            @RequestParam Integer dayOfWeek,
+            @Parameter(description = "开始时间（HH:mm）", required = true)
+            @RequestParam @DateTimeFormat(pattern = "HH:mm") LocalTime startTime,
+            @Parameter(description = "结束时间（HH:mm）", required = true)
+            @RequestParam @DateTimeFormat(pattern = "HH:mm") LocalTime endTime,
+            @Parameter(description = "开始周次（不填时与结束周次一起表示全部周次）")
+            @RequestParam(required = false) Integer weekStart,
+            @Parameter(description = "结束周次")
+            @RequestParam(required = false) Integer weekEnd,
+            @Parameter(description = "最小容纳人数")
+            @RequestParam(required = false) Integer minCapacity,
+            @Parameter(description = "楼栋")
+            @RequestParam(required = false) String building) {
+        
+        List<Classroom> classrooms = scheduleService.findAvailableClassrooms(semester, dayOfWeek, startTime, endTime,
+                weekStart, weekEnd, minCapacity, building);
+        
+        return Result.success(classrooms);
+    }
+}
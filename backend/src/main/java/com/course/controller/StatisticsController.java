@@ -6,18 +6,23 @@ import com.course.dto.StatisticsOverview;
 import com.course.dto.TrendData;
 import com.course.service.StatisticsService;
 import com.course.service.ExportService;
+import com.course.utils.ExportFormat;
+import com.course.utils.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -300,17 +305,14 @@ public class StatisticsController {
     @GetMapping("/export/overview")
     @Operation(summary = "导出统计概览报表", description = "导出系统整体统计概览Excel报表")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
-    public ResponseEntity<byte[]> exportStatisticsOverview() {
+    public ResponseEntity<StreamingResponseBody> exportStatisticsOverview(
+            @Parameter(description = "导出格式：xlsx、csv、tsv、csv.gz、tsv.gz")
+            @RequestParam(defaultValue = "xlsx") String format) {
         log.info("导出统计概览报表");
 
-        byte[] excelData = exportService.exportStatisticsOverview();
-
-        String filename = "统计概览报表_" + java.time.LocalDate.now() + ".xlsx";
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(excelData);
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportResponse("统计概览报表", exportFormat,
+                outputStream -> exportService.exportStatisticsOverview(exportFormat, outputStream));
     }
 
     /**
@@ -319,21 +321,18 @@ public class StatisticsController {
     @GetMapping("/export/users")
     @Operation(summary = "导出用户统计报表", description = "导出用户统计Excel报表")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<byte[]> exportUserStatistics(
+    public ResponseEntity<StreamingResponseBody> exportUserStatistics(
             @Parameter(description = "开始日期", example = "2024-01-01")
             @RequestParam(defaultValue = "2024-01-01") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "结束日期", example = "2024-12-31")
-            @RequestParam(defaultValue = "2024-12-31") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam(defaultValue = "2024-12-31") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "导出格式：xlsx、csv、tsv、csv.gz、tsv.gz")
+            @RequestParam(defaultValue = "xlsx") String format) {
         log.info("导出用户统计报表: startDate={}, endDate={}", startDate, endDate);
 
-        byte[] excelData = exportService.exportUserStatistics(startDate, endDate);
-
-        String filename = "用户统计报表_" + java.time.LocalDate.now() + ".xlsx";
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(excelData);
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportResponse("用户统计报表", exportFormat,
+                outputStream -> exportService.exportUserStatistics(startDate, endDate, exportFormat, outputStream));
     }
 
     /**
@@ -342,19 +341,16 @@ public class StatisticsController {
     @GetMapping("/export/courses")
     @Operation(summary = "导出课程统计报表", description = "导出课程统计Excel报表")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
-    public ResponseEntity<byte[]> exportCourseStatistics(
+    public ResponseEntity<StreamingResponseBody> exportCourseStatistics(
             @Parameter(description = "学期")
-            @RequestParam(required = false) String semester) {
+            @RequestParam(required = false) String semester,
+            @Parameter(description = "导出格式：xlsx、csv、tsv、csv.gz、tsv.gz")
+            @RequestParam(defaultValue = "xlsx") String format) {
         log.info("导出课程统计报表: semester={}", semester);
 
-        byte[] excelData = exportService.exportCourseStatistics(semester);
-
-        String filename = "课程统计报表_" + java.time.LocalDate.now() + ".xlsx";
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(excelData);
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportResponse("课程统计报表", exportFormat,
+                outputStream -> exportService.exportCourseStatistics(semester, exportFormat, outputStream));
     }
 
     /**
@@ -363,21 +359,18 @@ public class StatisticsController {
     @GetMapping("/export/grades")
     @Operation(summary = "导出成绩统计报表", description = "导出成绩统计Excel报表")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
-    public ResponseEntity<byte[]> exportGradeStatistics(
+    public ResponseEntity<StreamingResponseBody> exportGradeStatistics(
             @Parameter(description = "课程ID")
             @RequestParam(required = false) Long courseId,
             @Parameter(description = "学期")
-            @RequestParam(required = false) String semester) {
+            @RequestParam(required = false) String semester,
+            @Parameter(description = "导出格式：xlsx、csv、tsv、csv.gz、tsv.gz")
+            @RequestParam(defaultValue = "xlsx") String format) {
         log.info("导出成绩统计报表: courseId={}, semester={}", courseId, semester);
 
-        byte[] excelData = exportService.exportGradeStatistics(courseId, semester);
-
-        String filename = "成绩统计报表_" + java.time.LocalDate.now() + ".xlsx";
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(excelData);
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportResponse("成绩统计报表", exportFormat,
+                outputStream -> exportService.exportGradeStatistics(courseId, semester, exportFormat, outputStream));
     }
 
     /**
@@ -386,20 +379,91 @@ public class StatisticsController {
     @GetMapping("/export/announcements")
     @Operation(summary = "导出公告统计报表", description = "导出公告统计Excel报表")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
-    public ResponseEntity<byte[]> exportAnnouncementStatistics(
+    public ResponseEntity<StreamingResponseBody> exportAnnouncementStatistics(
             @Parameter(description = "开始日期", example = "2024-01-01")
             @RequestParam(defaultValue = "2024-01-01") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "结束日期", example = "2024-12-31")
-            @RequestParam(defaultValue = "2024-12-31") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam(defaultValue = "2024-12-31") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "导出格式：xlsx、csv、tsv、csv.gz、tsv.gz")
+            @RequestParam(defaultValue = "xlsx") String format) {
         log.info("导出公告统计报表: startDate={}, endDate={}", startDate, endDate);
 
-        byte[] excelData = exportService.exportAnnouncementStatistics(startDate, endDate);
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportResponse("公告统计报表", exportFormat,
+                outputStream -> exportService.exportAnnouncementStatistics(startDate, endDate, exportFormat, outputStream));
+    }
+
+    /**
+     * 导出成绩明细
+     */
+    @GetMapping("/export/grade-details")
+    @Operation(summary = "导出成绩明细", description = "导出指定学期/课程的全部成绩记录，教师只能导出自己所授课程")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportGradeDetails(
+            @Parameter(description = "学期")
+            @RequestParam(required = false) String semester,
+            @Parameter(description = "课程ID（教师必填）")
+            @RequestParam(required = false) Long courseId,
+            @Parameter(description = "导出格式：xlsx、csv、tsv、csv.gz、tsv.gz")
+            @RequestParam(defaultValue = "xlsx") String format) {
+        log.info("导出成绩明细: semester={}, courseId={}", semester, courseId);
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        Long teacherId = SecurityUtils.isAdmin() ? null : SecurityUtils.getCurrentUserId();
+        exportService.checkCourseScope(courseId, teacherId);
+        return exportResponse("成绩明细", exportFormat,
+                outputStream -> exportService.exportGradeDetails(semester, courseId, teacherId, exportFormat, outputStream));
+    }
+
+    /**
+     * 导出课程花名册
+     */
+    @GetMapping("/export/roster")
+    @Operation(summary = "导出课程花名册", description = "导出课程的全部有效选课学生，教师只能导出自己所授课程")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportCourseRoster(
+            @Parameter(description = "课程ID（教师必填；管理员为空时导出全部课程）")
+            @RequestParam(required = false) Long courseId,
+            @Parameter(description = "导出格式：xlsx、csv、tsv、csv.gz、tsv.gz")
+            @RequestParam(defaultValue = "xlsx") String format) {
+        log.info("导出课程花名册: courseId={}", courseId);
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        Long teacherId = SecurityUtils.isAdmin() ? null : SecurityUtils.getCurrentUserId();
+        exportService.checkCourseScope(courseId, teacherId);
+        return exportResponse("课程花名册", exportFormat,
+                outputStream -> exportService.exportCourseRoster(courseId, teacherId, exportFormat, outputStream));
+    }
 
-        String filename = "公告统计报表_" + java.time.LocalDate.now() + ".xlsx";
+    /**
+     * 导出用户列表
+     */
+    @GetMapping("/export/user-list")
+    @Operation(summary = "导出用户列表", description = "导出全部用户信息")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUserList(
+            @Parameter(description = "导出格式：xlsx、csv、tsv、csv.gz、tsv.gz")
+            @RequestParam(defaultValue = "xlsx") String format) {
+        log.info("导出用户列表");
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportResponse("用户列表", exportFormat,
+                outputStream -> exportService.exportUserList(exportFormat, outputStream));
+    }
+
+    /**
+     * 构建报表流式下载响应，报表在异步线程中直接写入响应流
+     */
+    private ResponseEntity<StreamingResponseBody> exportResponse(String reportName, ExportFormat format,
+                                                                 StreamingResponseBody body) {
+        String filename = format.filename(reportName + "_" + LocalDate.now());
 
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(excelData);
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(filename, StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
     }
 }
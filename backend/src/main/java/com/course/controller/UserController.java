@@ -5,6 +5,7 @@ import com.course.dto.PageRequest;
 import com.course.dto.Result;
 import com.course.dto.user.*;
 import com.course.entity.User;
+import com.course.security.UserPrincipalCache;
 import com.course.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -36,6 +38,7 @@ import java.util.stream.Collectors;
 public class UserController {
 
     private final UserService userService;
+    private final UserPrincipalCache userPrincipalCache;
 
     /**
      * 创建用户
@@ -251,6 +254,15 @@ public class UserController {
         return Result.success(!exists); // 返回是否可用
     }
 
+    /**
+     * 获取认证信息缓存统计
+     */
+    @GetMapping("/principal-cache/stats")
+    @Operation(summary = "认证缓存统计", description = "获取认证信息缓存的命中率等统计数据")
+    public Result<Map<String, Object>> getPrincipalCacheStats() {
+        return Result.success(userPrincipalCache.getStats());
+    }
+
     /**
      * 转换为响应对象
      */
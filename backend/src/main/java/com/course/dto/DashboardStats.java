@@ -0,0 +1,34 @@
+package com.course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+/**
+ * 仪表盘计数DTO
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Schema(description = "仪表盘计数")
+public class DashboardStats {
+
+    @Schema(description = "总用户数")
+    private Long totalUsers;
+
+    @Schema(description = "启用用户数")
+    private Long activeUsers;
+
+    @Schema(description = "总课程数")
+    private Long totalCourses;
+
+    @Schema(description = "管理员数")
+    private Long adminCount;
+
+    @Schema(description = "教师数")
+    private Long teacherCount;
+
+    @Schema(description = "学生数")
+    private Long studentCount;
+}
@@ -0,0 +1,68 @@
+package com.course.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导出任务DTO
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Schema(description = "导出任务")
+public class ExportJob {
+
+    /**
+     * 任务状态：排队中
+     */
+    public static final int STATUS_PENDING = 0;
+
+    /**
+     * 任务状态：执行中
+     */
+    public static final int STATUS_RUNNING = 1;
+
+    /**
+     * 任务状态：已完成
+     */
+    public static final int STATUS_COMPLETED = 2;
+
+    /**
+     * 任务状态：失败
+     */
+    public static final int STATUS_FAILED = 3;
+
+    @Schema(description = "任务ID")
+    private String jobId;
+
+    @Schema(description = "报表类型", example = "grades")
+    private String reportType;
+
+    @Schema(description = "状态：0-排队中，1-执行中，2-已完成，3-失败", example = "1")
+    private Integer status;
+
+    @Schema(description = "已写入字节数")
+    private Long bytesWritten;
+
+    @Schema(description = "导出格式：xlsx、csv、tsv、csv.gz、tsv.gz", example = "xlsx")
+    private String format;
+
+    @Schema(description = "文件名")
+    private String filename;
+
+    @Schema(description = "失败原因")
+    private String errorMessage;
+
+    @Schema(description = "提交时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime submitTime;
+
+    @Schema(description = "完成时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime finishTime;
+}
@@ -0,0 +1,51 @@
+package com.course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 成绩导入结果DTO
+ * 
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Schema(description = "成绩导入结果")
+public class GradeImportResult {
+
+    @Schema(description = "数据行数（不含表头和空行）", example = "120")
+    private int totalRows;
+
+    @Schema(description = "成功写入行数", example = "118")
+    private int successCount;
+
+    @Schema(description = "失败行数", example = "2")
+    private int failureCount;
+
+    @Schema(description = "行级错误")
+    private List<RowError> errors = new ArrayList<>();
+
+    @Schema(description = "错误是否超过上限未全部列出", example = "false")
+    private boolean errorsTruncated;
+
+    /**
+     * 行级错误内部类
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "行级错误")
+    public static class RowError {
+        @Schema(description = "行号", example = "15")
+        private int rowNumber;
+
+        @Schema(description = "错误原因", example = "学号不存在: 2024001")
+        private String message;
+    }
+}
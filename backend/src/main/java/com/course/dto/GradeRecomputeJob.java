@@ -0,0 +1,77 @@
+package com.course.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 总成绩重新计算任务DTO
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Schema(description = "总成绩重新计算任务")
+public class GradeRecomputeJob {
+
+    /**
+     * 任务状态：排队中
+     */
+    public static final int STATUS_PENDING = 0;
+
+    /**
+     * 任务状态：执行中
+     */
+    public static final int STATUS_RUNNING = 1;
+
+    /**
+     * 任务状态：已完成
+     */
+    public static final int STATUS_COMPLETED = 2;
+
+    /**
+     * 任务状态：失败（部分课程未完成）
+     */
+    public static final int STATUS_FAILED = 3;
+
+    @Schema(description = "任务ID")
+    private String jobId;
+
+    @Schema(description = "学期（按学期重新计算时）", example = "2024-2025-1")
+    private String semester;
+
+    @Schema(description = "课程ID（按课程重新计算时）", example = "1")
+    private Long courseId;
+
+    @Schema(description = "状态：0-排队中，1-执行中，2-已完成，3-失败", example = "1")
+    private Integer status;
+
+    @Schema(description = "成绩总数")
+    private Long totalRows;
+
+    @Schema(description = "已处理成绩数")
+    private Long processedRows;
+
+    @Schema(description = "总成绩或等级发生变化的成绩数")
+    private Long updatedRows;
+
+    @Schema(description = "课程分区数")
+    private Integer partitions;
+
+    @Schema(description = "已完成的课程分区数")
+    private Integer completedPartitions;
+
+    @Schema(description = "失败原因")
+    private String errorMessage;
+
+    @Schema(description = "提交时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime submitTime;
+
+    @Schema(description = "完成时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private LocalDateTime finishTime;
+}
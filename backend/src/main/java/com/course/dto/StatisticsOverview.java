@@ -126,6 +126,9 @@ public class StatisticsOverview {
         @Schema(description = "及格率", example = "90.8")
         private BigDecimal passRate;
 
+        @Schema(description = "优秀人数", example = "250")
+        private Integer excellentCount;
+
         @Schema(description = "优秀率", example = "25.5")
         private BigDecimal excellentRate;
     }
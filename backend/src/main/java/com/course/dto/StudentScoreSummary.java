@@ -0,0 +1,37 @@
+package com.course.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 学生学期成绩汇总DTO
+ * 排行榜对账和增量更新使用，平均分由总分和课程数计算
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Schema(description = "学生学期成绩汇总")
+public class StudentScoreSummary {
+
+    @Schema(description = "学生ID")
+    private Long studentId;
+
+    @Schema(description = "学号")
+    private String studentNumber;
+
+    @Schema(description = "学生姓名")
+    private String studentName;
+
+    @Schema(description = "学期")
+    private String semester;
+
+    @Schema(description = "已录入成绩的总分")
+    private BigDecimal scoreSum;
+
+    @Schema(description = "已录入成绩的课程数")
+    private Integer courseCount;
+}
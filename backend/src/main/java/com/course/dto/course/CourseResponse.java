@@ -62,6 +62,15 @@ public class CourseResponse {
     @Schema(description = "状态描述", example = "正常")
     private String statusText;
 
+    @Schema(description = "平时成绩权重（百分比）", example = "30")
+    private Integer usualWeight;
+
+    @Schema(description = "期中成绩权重（百分比）", example = "30")
+    private Integer midtermWeight;
+
+    @Schema(description = "期末成绩权重（百分比）", example = "40")
+    private Integer finalWeight;
+
     @Schema(description = "是否可选", example = "true")
     private Boolean canSelect;
 
@@ -0,0 +1,38 @@
+package com.course.dto.course;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 课程成绩权重请求DTO
+ * 
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@Schema(description = "课程成绩权重请求，三项权重之和须为100")
+public class GradeWeightRequest {
+
+    @NotNull(message = "平时成绩权重不能为空")
+    @Min(value = 0, message = "平时成绩权重不能小于0")
+    @Max(value = 100, message = "平时成绩权重不能大于100")
+    @Schema(description = "平时成绩权重（百分比）", example = "30", required = true)
+    private Integer usualWeight;
+
+    @NotNull(message = "期中成绩权重不能为空")
+    @Min(value = 0, message = "期中成绩权重不能小于0")
+    @Max(value = 100, message = "期中成绩权重不能大于100")
+    @Schema(description = "期中成绩权重（百分比）", example = "30", required = true)
+    private Integer midtermWeight;
+
+    @NotNull(message = "期末成绩权重不能为空")
+    @Min(value = 0, message = "期末成绩权重不能小于0")
+    @Max(value = 100, message = "期末成绩权重不能大于100")
+    @Schema(description = "期末成绩权重（百分比）", example = "40", required = true)
+    private Integer finalWeight;
+}
@@ -112,6 +112,27 @@ public class Course extends BaseEntity {
     @Schema(description = "状态：0-停课，1-正常", example = "1")
     private Integer status;
 
+    /**
+     * 平时成绩权重（百分比）
+     */
+    @TableField("usual_weight")
+    @Schema(description = "平时成绩权重（百分比）", example = "30")
+    private Integer usualWeight;
+
+    /**
+     * 期中成绩权重（百分比）
+     */
+    @TableField("midterm_weight")
+    @Schema(description = "期中成绩权重（百分比）", example = "30")
+    private Integer midtermWeight;
+
+    /**
+     * 期末成绩权重（百分比）
+     */
+    @TableField("final_weight")
+    @Schema(description = "期末成绩权重（百分比）", example = "40")
+    private Integer finalWeight;
+
     /**
      * 教师姓名（非数据库字段）
      */
@@ -54,6 +54,13 @@ public class CourseSelection extends BaseEntity {
     @Schema(description = "状态：0-已退课，1-已选课", example = "1")
     private Integer status;
 
+    /**
+     * 学号（非数据库字段）
+     */
+    @TableField(exist = false)
+    @Schema(description = "学号")
+    private String studentNumber;
+
     /**
      * 学生姓名（非数据库字段）
      */
@@ -0,0 +1,80 @@
+package com.course.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 每日统计汇总实体类
+ * 每天一行，由统计汇总任务按水位增量聚合原始表生成，趋势类统计只读取该表
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@TableName("daily_statistics")
+public class DailyStatistics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 统计日期
+     */
+    @TableId(value = "stat_date", type = IdType.INPUT)
+    private LocalDate statDate;
+
+    /**
+     * 新增用户数
+     */
+    @TableField("new_users")
+    private Integer newUsers;
+
+    /**
+     * 新增课程数
+     */
+    @TableField("new_courses")
+    private Integer newCourses;
+
+    /**
+     * 选课次数
+     */
+    @TableField("new_selections")
+    private Integer newSelections;
+
+    /**
+     * 退课次数（按退课记录的最后更新时间计日）
+     */
+    @TableField("drops")
+    private Integer drops;
+
+    /**
+     * 录入成绩数
+     */
+    @TableField("grades_entered")
+    private Integer gradesEntered;
+
+    /**
+     * 发布公告数
+     */
+    @TableField("announcements_published")
+    private Integer announcementsPublished;
+
+    /**
+     * 当天发布的公告累计阅读次数
+     */
+    @TableField("announcement_reads")
+    private Integer announcementReads;
+
+    /**
+     * 汇总时间
+     */
+    @TableField("update_time")
+    private LocalDateTime updateTime;
+}
@@ -114,6 +114,13 @@ public class Schedule extends BaseEntity {
     @Schema(description = "教室名称")
     private String classroomName;
 
+    /**
+     * 教师ID（非数据库字段）
+     */
+    @TableField(exist = false)
+    @Schema(description = "教师ID")
+    private Long teacherId;
+
     /**
      * 教师姓名（非数据库字段）
      */
@@ -0,0 +1,80 @@
+package com.course.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 学期统计汇总实体类
+ * 每个学期一行，学期内课程、选课或成绩有变更时由统计汇总任务重新聚合
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@TableName("semester_statistics")
+public class SemesterStatistics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 学期
+     */
+    @TableId(value = "semester", type = IdType.INPUT)
+    private String semester;
+
+    /**
+     * 开设课程数
+     */
+    @TableField("course_count")
+    private Integer courseCount;
+
+    /**
+     * 有效选课数
+     */
+    @TableField("selection_count")
+    private Integer selectionCount;
+
+    /**
+     * 退课数
+     */
+    @TableField("drop_count")
+    private Integer dropCount;
+
+    /**
+     * 已录入成绩数
+     */
+    @TableField("graded_count")
+    private Integer gradedCount;
+
+    /**
+     * 及格人数
+     */
+    @TableField("pass_count")
+    private Integer passCount;
+
+    /**
+     * 优秀人数（90分以上）
+     */
+    @TableField("excellent_count")
+    private Integer excellentCount;
+
+    /**
+     * 平均成绩
+     */
+    @TableField("average_score")
+    private BigDecimal averageScore;
+
+    /**
+     * 汇总时间
+     */
+    @TableField("update_time")
+    private LocalDateTime updateTime;
+}
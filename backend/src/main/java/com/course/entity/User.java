@@ -1,5 +1,6 @@
 package com.course.entity;
 
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableName;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -11,6 +12,7 @@ import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -90,6 +92,15 @@ public class User extends BaseEntity {
     @Schema(description = "状态：0-禁用，1-启用", example = "1")
     private Integer status;
 
+    /**
+     * 令牌生效起点：此前签发的令牌无效
+     * 只通过 UserMapper.updateTokensValidAfter 写入，按实体更新时不回写，避免旧值覆盖新的吊销时间
+     */
+    @TableField(value = "tokens_valid_after", updateStrategy = FieldStrategy.NEVER)
+    @JsonIgnore
+    @Schema(hidden = true)
+    private LocalDateTime tokensValidAfter;
+
     /**
      * 用户角色列表（非数据库字段）
      */
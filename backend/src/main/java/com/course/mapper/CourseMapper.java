@@ -98,16 +98,38 @@ public interface CourseMapper extends BaseMapper<Course> {
 
     /**
      * 更新课程的当前选课人数
+     * 容量校验作为条件写在 WHERE 中：增加时要求课程可选且不超过最大人数，减少时要求结果不为负数，
+     * 条件不满足时影响行数为0，并发下不会超卖
      * 
      * @param courseId 课程ID
      * @param increment 增量（正数表示增加，负数表示减少）
      * @return 影响行数
      */
     @Update("UPDATE courses SET current_students = current_students + #{increment} " +
-            "WHERE id = #{courseId} AND deleted = 0")
+            "WHERE id = #{courseId} AND deleted = 0 " +
+            "AND current_students + #{increment} >= 0 " +
+            "AND (#{increment} <= 0 OR (status = 1 AND current_students + #{increment} <= max_students))")
     int updateCurrentStudents(@Param("courseId") Long courseId, 
                              @Param("increment") Integer increment);
 
+    /**
+     * 更新课程成绩权重
+     * 只更新权重列，不覆盖并发修改的选课人数等其他列
+     * 
+     * @param courseId 课程ID
+     * @param usualWeight 平时成绩权重
+     * @param midtermWeight 期中成绩权重
+     * @param finalWeight 期末成绩权重
+     * @return 影响行数
+     */
+    @Update("UPDATE courses SET usual_weight = #{usualWeight}, midterm_weight = #{midtermWeight}, " +
+            "final_weight = #{finalWeight}, update_time = NOW() " +
+            "WHERE id = #{courseId} AND deleted = 0")
+    int updateGradeWeights(@Param("courseId") Long courseId,
+                           @Param("usualWeight") Integer usualWeight,
+                           @Param("midtermWeight") Integer midtermWeight,
+                           @Param("finalWeight") Integer finalWeight);
+
     /**
      * 获取课程分类列表
      * 
@@ -5,9 +5,15 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.course.entity.CourseSelection;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -90,6 +96,80 @@ public interface CourseSelectionMapper extends BaseMapper<CourseSelection> {
     CourseSelection findByStudentAndCourse(@Param("studentId") Long studentId,
                                           @Param("courseId") Long courseId);
 
+    /**
+     * 恢复已退课的选课记录
+     * 仅当记录处于已退课状态时更新，影响行数为0表示已被并发选中
+     *
+     * @param id 选课记录ID
+     * @param selectionTime 选课时间
+     * @return 影响行数
+     */
+    @Update("UPDATE course_selections SET status = 1, selection_time = #{selectionTime}, update_time = NOW() " +
+            "WHERE id = #{id} AND status = 0 AND deleted = 0")
+    int reselect(@Param("id") Long id, @Param("selectionTime") LocalDateTime selectionTime);
+
+    /**
+     * 退课
+     * 仅当记录处于已选课状态时更新，影响行数为0表示没有有效的选课记录
+     *
+     * @param studentId 学生ID
+     * @param courseId 课程ID
+     * @return 影响行数
+     */
+    @Update("UPDATE course_selections SET status = 0, drop_time = NOW(), update_time = NOW() " +
+            "WHERE student_id = #{studentId} AND course_id = #{courseId} " +
+            "AND status = 1 AND deleted = 0")
+    int drop(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    /**
+     * 查询课程当前已选课的学生ID
+     *
+     * @param courseId 课程ID
+     * @return 学生ID列表
+     */
+    @Select("SELECT student_id FROM course_selections " +
+            "WHERE course_id = #{courseId} AND status = 1 AND deleted = 0")
+    List<Long> findSelectedStudentIds(@Param("courseId") Long courseId);
+
+    /**
+     * 批量写入已选课记录，已存在（含已退课）的记录重置为已选课
+     *
+     * @param selections 选课记录列表
+     * @return 影响行数
+     */
+    int batchUpsertSelected(@Param("selections") List<CourseSelection> selections);
+
+    /**
+     * 按学期扣减课程选课人数（每门受影响的课程一次汇总扣减）
+     * 需在 {@link #dropBySemester} 之前执行，统计的是即将退课的记录
+     *
+     * @param studentIds 学生ID列表（为 null 时表示该学期全部学生，空列表不匹配任何记录）
+     * @param semester 学期
+     * @return 影响的课程数
+     */
+    int decreaseCurrentStudentsBySemester(@Param("studentIds") List<Long> studentIds,
+                                          @Param("semester") String semester);
+
+    /**
+     * 按学期批量退课
+     *
+     * @param studentIds 学生ID列表（为 null 时表示该学期全部学生，空列表不匹配任何记录）
+     * @param semester 学期
+     * @return 退课记录数
+     */
+    int dropBySemester(@Param("studentIds") List<Long> studentIds,
+                       @Param("semester") String semester);
+
+    /**
+     * 查询按学期退课将影响的课程ID，需在 {@link #dropBySemester} 之前执行
+     *
+     * @param studentIds 学生ID列表（为 null 时表示该学期全部学生，空列表不匹配任何记录）
+     * @param semester 学期
+     * @return 课程ID列表
+     */
+    List<Long> selectCourseIdsForSemesterDrop(@Param("studentIds") List<Long> studentIds,
+                                              @Param("semester") String semester);
+
     /**
      * 统计学生在某学期的选课数量
      * 
@@ -178,4 +258,36 @@ public interface CourseSelectionMapper extends BaseMapper<CourseSelection> {
                              @Param("startTime") String startTime,
                              @Param("endTime") String endTime,
                              @Param("semester") String semester);
+
+    /**
+     * 查询学生当前已选的课程ID（全部学期）
+     *
+     * @param studentId 学生ID
+     * @return 课程ID列表
+     */
+    @Select("SELECT course_id FROM course_selections " +
+            "WHERE student_id = #{studentId} AND status = 1 AND deleted = 0")
+    List<Long> selectSelectedCourseIds(@Param("studentId") Long studentId);
+
+    /**
+     * 流式读取课程花名册（有效选课记录），逐行回调
+     *
+     * @param courseId 课程ID（为空时导出全部课程）
+     * @param teacherId 教师ID（可选，不为空时只读取该教师所授课程）
+     * @param handler 行处理器
+     */
+    @Select("SELECT cs.*, " +
+            "u.username as student_number, u.real_name as student_name, " +
+            "c.course_code, c.course_name " +
+            "FROM course_selections cs " +
+            "INNER JOIN users u ON cs.student_id = u.id " +
+            "INNER JOIN courses c ON cs.course_id = c.id " +
+            "WHERE cs.status = 1 AND cs.deleted = 0 " +
+            "AND (#{courseId} IS NULL OR cs.course_id = #{courseId}) " +
+            "AND (#{teacherId} IS NULL OR c.teacher_id = #{teacherId}) " +
+            "ORDER BY cs.course_id, u.username")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    @ResultType(CourseSelection.class)
+    void streamRoster(@Param("courseId") Long courseId, @Param("teacherId") Long teacherId,
+                      ResultHandler<CourseSelection> handler);
 }
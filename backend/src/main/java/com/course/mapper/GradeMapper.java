@@ -3,10 +3,15 @@ package com.course.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.course.dto.StudentScoreSummary;
 import com.course.entity.Grade;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -123,71 +128,88 @@ public interface GradeMapper extends BaseMapper<Grade> {
                                     @Param("semester") String semester);
 
     /**
-     * 统计课程成绩分布
-     * 
-     * @param courseId 课程ID
+     * 流式读取总成绩列（只取 total_score），逐行回调，用于内存中的成绩分析
+     *
+     * @param courseId 课程ID（可选）
+     * @param semester 学期（可选）
+     * @param handler 行处理器
+     */
+    @Select("SELECT total_score FROM grades " +
+            "WHERE total_score IS NOT NULL AND deleted = 0 " +
+            "AND (#{courseId} IS NULL OR course_id = #{courseId}) " +
+            "AND (#{semester} IS NULL OR semester = #{semester})")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    @ResultType(BigDecimal.class)
+    void streamTotalScores(@Param("courseId") Long courseId,
+                           @Param("semester") String semester,
+                           ResultHandler<BigDecimal> handler);
+
+    /**
+     * 查询学期内每个学生的总成绩之和与课程数，用于计算学期排名
+     *
      * @param semester 学期
-     * @return 成绩分布统计
+     * @return 学生成绩汇总
      */
-    @Select("SELECT " +
-            "grade_level, " +
-            "COUNT(*) as count, " +
-            "ROUND(COUNT(*) * 100.0 / (SELECT COUNT(*) FROM grades WHERE course_id = #{courseId} AND semester = #{semester} AND deleted = 0), 2) as percentage " +
+    @Select("SELECT student_id, semester, " +
+            "SUM(total_score) as score_sum, " +
+            "COUNT(*) as course_count " +
             "FROM grades " +
-            "WHERE course_id = #{courseId} AND semester = #{semester} " +
-            "AND grade_level IS NOT NULL AND deleted = 0 " +
-            "GROUP BY grade_level " +
-            "ORDER BY grade_level")
-    List<Map<String, Object>> getGradeDistribution(@Param("courseId") Long courseId,
-                                                   @Param("semester") String semester);
+            "WHERE semester = #{semester} AND total_score IS NOT NULL AND deleted = 0 " +
+            "GROUP BY student_id, semester")
+    List<StudentScoreSummary> selectSemesterScoreSums(@Param("semester") String semester);
 
     /**
-     * 查询课程的成绩统计信息
-     * 
-     * @param courseId 课程ID
+     * 查询学期内有成绩的课程ID，作为批量重新计算的分区
+     *
      * @param semester 学期
-     * @return 统计信息
+     * @return 课程ID列表
+     */
+    @Select("SELECT DISTINCT course_id FROM grades WHERE semester = #{semester} AND deleted = 0")
+    List<Long> selectCourseIdsBySemester(@Param("semester") String semester);
+
+    /**
+     * 统计待重新计算的成绩数量
+     *
+     * @param courseId 课程ID（可选）
+     * @param semester 学期（可选）
+     * @return 成绩数量
+     */
+    @Select("SELECT COUNT(*) FROM grades " +
+            "WHERE deleted = 0 " +
+            "AND (#{courseId} IS NULL OR course_id = #{courseId}) " +
+            "AND (#{semester} IS NULL OR semester = #{semester})")
+    long countScoreRows(@Param("courseId") Long courseId,
+                        @Param("semester") String semester);
+
+    /**
+     * 按主键分页读取课程成绩的分项成绩并加行锁，用于批量重新计算总成绩；
+     * 须在事务中调用，锁持有到本页写回提交，期间录入的同一成绩等待本页完成
+     *
+     * @param courseId 课程ID
+     * @param semester 学期（可选）
+     * @param afterId 上一页最后一条记录的ID
+     * @param limit 每页数量
+     * @return 成绩列表（只含ID、学生ID、学期和分数字段）
      */
-    @Select("SELECT " +
-            "COUNT(*) as total_count, " +
-            "AVG(total_score) as avg_score, " +
-            "MAX(total_score) as max_score, " +
-            "MIN(total_score) as min_score, " +
-            "COUNT(CASE WHEN total_score >= 90 THEN 1 END) as excellent_count, " +
-            "COUNT(CASE WHEN total_score >= 80 AND total_score < 90 THEN 1 END) as good_count, " +
-            "COUNT(CASE WHEN total_score >= 70 AND total_score < 80 THEN 1 END) as medium_count, " +
-            "COUNT(CASE WHEN total_score >= 60 AND total_score < 70 THEN 1 END) as pass_count, " +
-            "COUNT(CASE WHEN total_score < 60 THEN 1 END) as fail_count " +
+    @Select("SELECT id, student_id, semester, usual_score, midterm_score, final_score, total_score, grade_level " +
             "FROM grades " +
-            "WHERE course_id = #{courseId} AND semester = #{semester} " +
-            "AND total_score IS NOT NULL AND deleted = 0")
-    Map<String, Object> getCourseGradeStatistics(@Param("courseId") Long courseId,
-                                                 @Param("semester") String semester);
+            "WHERE course_id = #{courseId} AND id > #{afterId} AND deleted = 0 " +
+            "AND (#{semester} IS NULL OR semester = #{semester}) " +
+            "ORDER BY id " +
+            "LIMIT #{limit} " +
+            "FOR UPDATE")
+    List<Grade> selectScorePage(@Param("courseId") Long courseId,
+                                @Param("semester") String semester,
+                                @Param("afterId") long afterId,
+                                @Param("limit") int limit);
 
     /**
-     * 查询学生的学期排名
+     * 批量更新总成绩和等级，单条语句按ID取值
      *
-     * @param studentId 学生ID
-     * @param semester 学期
-     * @return 排名信息
+     * @param grades 成绩列表（需含ID、总成绩、等级）
+     * @return 更新数量
      */
-    @Select("SELECT " +
-            "student_rank, " +
-            "total_students, " +
-            "avg_score " +
-            "FROM (" +
-            "    SELECT " +
-            "        student_id, " +
-            "        ROW_NUMBER() OVER (ORDER BY AVG(total_score) DESC) as student_rank, " +
-            "        COUNT(*) OVER () as total_students, " +
-            "        AVG(total_score) as avg_score " +
-            "    FROM grades " +
-            "    WHERE semester = #{semester} AND total_score IS NOT NULL AND deleted = 0 " +
-            "    GROUP BY student_id" +
-            ") ranked " +
-            "WHERE student_id = #{studentId}")
-    Map<String, Object> getStudentRanking(@Param("studentId") Long studentId,
-                                         @Param("semester") String semester);
+    int updateTotalScores(@Param("grades") List<Grade> grades);
 
     /**
      * 批量插入成绩
@@ -196,4 +218,39 @@ public interface GradeMapper extends BaseMapper<Grade> {
      * @return 插入数量
      */
     int batchInsert(@Param("grades") List<Grade> grades);
+
+    /**
+     * 批量写入成绩，学生、课程、学期已有记录（含已删除记录）时更新分数并恢复
+     * 单条多行语句，调用方负责按批大小分批
+     *
+     * @param grades 成绩列表
+     * @return 影响行数（MySQL 中插入计 1、更新计 2、未变化计 0）
+     */
+    int batchUpsert(@Param("grades") List<Grade> grades);
+
+    /**
+     * 流式读取成绩明细（含学生、课程信息），逐行回调，不在内存中保留完整结果集
+     * 
+     * @param semester 学期（可选）
+     * @param courseId 课程ID（可选）
+     * @param teacherId 教师ID（可选，不为空时只读取该教师所授课程）
+     * @param handler 行处理器
+     */
+    @Select("SELECT g.*, " +
+            "u.username as student_number, u.real_name as student_name, " +
+            "c.course_code, c.course_name " +
+            "FROM grades g " +
+            "INNER JOIN users u ON g.student_id = u.id " +
+            "INNER JOIN courses c ON g.course_id = c.id " +
+            "WHERE g.deleted = 0 " +
+            "AND (#{semester} IS NULL OR g.semester = #{semester}) " +
+            "AND (#{courseId} IS NULL OR g.course_id = #{courseId}) " +
+            "AND (#{teacherId} IS NULL OR c.teacher_id = #{teacherId}) " +
+            "ORDER BY g.course_id, g.student_id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    @ResultType(Grade.class)
+    void streamGradeDetails(@Param("semester") String semester,
+                            @Param("courseId") Long courseId,
+                            @Param("teacherId") Long teacherId,
+                            ResultHandler<Grade> handler);
 }
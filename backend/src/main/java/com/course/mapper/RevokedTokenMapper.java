@@ -0,0 +1,40 @@
+package com.course.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.course.entity.RevokedToken;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 已吊销令牌数据访问层
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Mapper
+public interface RevokedTokenMapper extends BaseMapper<RevokedToken> {
+
+    /**
+     * 查询尚未过期的吊销记录
+     *
+     * @param now 当前时间
+     * @return 吊销记录列表
+     */
+    @Select("SELECT * FROM revoked_tokens WHERE expires_at > #{now}")
+    List<RevokedToken> findUnexpired(@Param("now") LocalDateTime now);
+
+    /**
+     * 删除已过期的吊销记录
+     *
+     * @param now 当前时间
+     * @return 删除的记录数
+     */
+    @Delete("DELETE FROM revoked_tokens WHERE expires_at <= #{now}")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
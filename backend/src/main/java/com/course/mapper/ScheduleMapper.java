@@ -160,6 +160,19 @@ public interface ScheduleMapper extends BaseMapper<Schedule> {
                                 @Param("semester") String semester,
                                 @Param("excludeId") Long excludeId);
 
+    /**
+     * 查询全部有效课表安排，用于构建内存课表索引
+     * 学期取课程学期（与冲突检查 SQL 一致），课表未填写学期时同样可用
+     * 
+     * @return 课表列表（含教师ID）
+     */
+    @Select("SELECT s.id, s.course_id, s.classroom_id, s.day_of_week, s.start_time, s.end_time, " +
+            "s.week_start, s.week_end, COALESCE(c.semester, s.semester) AS semester, c.teacher_id " +
+            "FROM schedules s " +
+            "INNER JOIN courses c ON s.course_id = c.id " +
+            "WHERE s.deleted = 0 AND c.deleted = 0")
+    List<Schedule> selectActiveSchedules();
+
     /**
      * 根据课程ID查询课表安排
      * 
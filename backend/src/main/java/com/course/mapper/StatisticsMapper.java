@@ -0,0 +1,172 @@
+package com.course.mapper;
+
+import com.course.dto.DashboardStats;
+import com.course.dto.StatisticsOverview;
+import com.course.dto.StudentScoreSummary;
+import com.course.entity.Course;
+import com.course.entity.DailyStatistics;
+import com.course.entity.SemesterStatistics;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 统计查询数据访问层
+ * 只返回聚合结果，不加载明细数据
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Mapper
+public interface StatisticsMapper {
+
+    /**
+     * 一次查询获取仪表盘全部计数
+     *
+     * @return 仪表盘计数
+     */
+    DashboardStats selectDashboardStats();
+
+    /**
+     * 用户统计：总数、各角色人数、活跃用户数、本月新增用户数
+     *
+     * @param activeSince 活跃起始时间
+     * @param monthStart 本月开始时间
+     * @return 用户统计（比率由调用方计算）
+     */
+    StatisticsOverview.UserStatistics selectUserStatistics(@Param("activeSince") LocalDateTime activeSince,
+                                                           @Param("monthStart") LocalDateTime monthStart);
+
+    /**
+     * 课程统计：总数、开放数、必修/选修数、总选课次数
+     *
+     * @return 课程统计（派生字段由调用方计算）
+     */
+    StatisticsOverview.CourseStatistics selectCourseStatistics();
+
+    /**
+     * 成绩统计：总数、已录入数、及格数、优秀数、平均分
+     *
+     * @return 成绩统计（比率由调用方计算）
+     */
+    StatisticsOverview.GradeStatistics selectGradeStatistics();
+
+    /**
+     * 公告统计：总数、已发布数、草稿数、置顶数、本月发布数、已发布公告总阅读次数
+     *
+     * @param monthStart 本月开始时间
+     * @return 公告统计（平均值由调用方计算）
+     */
+    StatisticsOverview.AnnouncementStatistics selectAnnouncementStatistics(@Param("monthStart") LocalDateTime monthStart);
+
+    /**
+     * 查询汇总水位
+     *
+     * @param name 水位名称
+     * @return 已处理到的原始表更新时间，未汇总过时为 null
+     */
+    LocalDateTime selectWatermark(@Param("name") String name);
+
+    int updateWatermark(@Param("name") String name, @Param("watermark") LocalDateTime watermark);
+
+    int insertWatermark(@Param("name") String name, @Param("watermark") LocalDateTime watermark);
+
+    /**
+     * 原始表中最早的业务时间，用于首次全量汇总
+     *
+     * @return 最早时间，无数据时为 null
+     */
+    LocalDateTime selectEarliestActivityTime();
+
+    /**
+     * 更新时间在 (from, to] 内的记录所影响的统计日期
+     *
+     * @param from 上次水位（不含）
+     * @param to 本次水位（含）
+     * @return 需要重新汇总的日期
+     */
+    List<LocalDate> selectChangedDates(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 更新时间在 (from, to] 内的记录所属的学期
+     *
+     * @param from 上次水位（不含）
+     * @param to 本次水位（含）
+     * @return 需要重新汇总的学期
+     */
+    List<String> selectChangedSemesters(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 课程和成绩中出现过的全部学期
+     *
+     * @return 学期列表
+     */
+    List<String> selectAllSemesters();
+
+    /**
+     * 删除 [fromDate, toDate) 内的每日汇总
+     */
+    int deleteDailyStatistics(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    /**
+     * 从原始表按天聚合 [fromDate, toDate) 内的数据，写入每日汇总表
+     * 按事件计数，包含之后被逻辑删除的记录
+     *
+     * @param fromDate 开始日期（含）
+     * @param toDate 结束日期（不含）
+     * @param updateTime 汇总时间
+     * @return 写入行数
+     */
+    int insertDailyStatistics(@Param("fromDate") LocalDate fromDate,
+                              @Param("toDate") LocalDate toDate,
+                              @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * 查询日期范围内的汇总行（按日期升序，没有业务数据的日期不存在对应行）
+     *
+     * @param startDate 开始日期（含）
+     * @param endDate 结束日期（含）
+     * @return 汇总行
+     */
+    List<DailyStatistics> selectDailyStatistics(@Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+
+    int deleteSemesterStatistics(@Param("semester") String semester);
+
+    /**
+     * 重新聚合指定学期的课程、选课和成绩数据，写入学期汇总表
+     *
+     * @param semester 学期
+     * @param updateTime 汇总时间
+     * @return 写入行数
+     */
+    int insertSemesterStatistics(@Param("semester") String semester, @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * 查询学期汇总
+     *
+     * @param semester 学期
+     * @return 学期汇总，未汇总时为 null
+     */
+    SemesterStatistics selectSemesterStatistics(@Param("semester") String semester);
+
+    /**
+     * 课程排行数据：选课人数、容量和授课教师
+     *
+     * @param courseId 课程ID，为空时查询全部课程
+     * @return 课程列表
+     */
+    List<Course> selectCourseRanking(@Param("courseId") Long courseId);
+
+    /**
+     * 学生各学期的成绩汇总（只统计已有总成绩的记录）
+     *
+     * @param studentIds 学生ID，为空时查询全部学生
+     * @return 学生学期成绩汇总
+     */
+    List<StudentScoreSummary> selectStudentScoreSummaries(@Param("studentIds") List<Long> studentIds);
+}
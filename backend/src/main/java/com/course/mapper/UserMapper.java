@@ -5,9 +5,15 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.course.entity.User;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -34,6 +40,16 @@ public interface UserMapper extends BaseMapper<User> {
             "GROUP BY u.id")
     User findByUsernameWithRoles(@Param("username") String username);
 
+    /**
+     * 更新用户的令牌生效起点，此前签发的令牌全部失效
+     * 
+     * @param id 用户ID
+     * @param validAfter 令牌生效起点
+     * @return 影响行数
+     */
+    @Update("UPDATE users SET tokens_valid_after = #{validAfter} WHERE id = #{id}")
+    int updateTokensValidAfter(@Param("id") Long id, @Param("validAfter") LocalDateTime validAfter);
+
     /**
      * 根据邮箱查询用户
      * 
@@ -88,4 +104,15 @@ public interface UserMapper extends BaseMapper<User> {
             "INNER JOIN user_roles ur ON r.id = ur.role_id " +
             "WHERE ur.user_id = #{userId} AND r.deleted = 0")
     List<String> getUserRoleCodes(@Param("userId") Long userId);
+
+    /**
+     * 流式读取用户列表（不含密码），逐行回调
+     * 
+     * @param handler 行处理器
+     */
+    @Select("SELECT id, username, real_name, email, phone, gender, status, create_time " +
+            "FROM users WHERE deleted = 0 ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    @ResultType(User.class)
+    void streamUsers(ResultHandler<User> handler);
 }
@@ -9,6 +9,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.ZoneId;
+
 /**
  * 自定义用户详情服务
  * 
@@ -22,9 +24,38 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserService userService;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userPrincipalCache.get(username, this::loadPrincipalByUsername);
+    }
+
+    /**
+     * 根据用户ID加载用户信息
+     */
+    public UserDetails loadUserById(Long id) {
+        return userPrincipalCache.getById(id, this::loadPrincipalById);
+    }
+
+    /**
+     * 查询用户的令牌生效起点（毫秒）
+     * 账号不存在或已禁用时返回 UserPrincipalCache.INACTIVE，未吊销过令牌时返回 0
+     */
+    public Long getTokensValidAfter(Long id) {
+        User user = userService.getUserById(id);
+        if (user == null || user.getStatus() == null || user.getStatus() != 1) {
+            return UserPrincipalCache.INACTIVE;
+        }
+        return user.getTokensValidAfter() != null
+                ? user.getTokensValidAfter().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0L;
+    }
+
+    /**
+     * 从数据库按用户名加载用户信息
+     */
+    private UserPrincipal loadPrincipalByUsername(String username) {
         log.debug("加载用户信息: {}", username);
         
         User user = userService.getUserByUsername(username);
@@ -43,9 +74,9 @@ public class CustomUserDetailsService implements UserDetailsService {
     }
 
     /**
-     * 根据用户ID加载用户信息
+     * 从数据库按用户ID加载用户信息
      */
-    public UserDetails loadUserById(Long id) {
+    private UserPrincipal loadPrincipalById(Long id) {
         log.debug("根据ID加载用户信息: {}", id);
         
         User user = userService.getUserById(id);
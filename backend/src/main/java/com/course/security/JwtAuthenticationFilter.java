@@ -1,7 +1,9 @@
 package com.course.security;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +17,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * JWT认证过滤器
@@ -30,6 +33,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenUtil jwtTokenUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenRevocationStore tokenRevocationStore;
+
+    /**
+     * 无状态模式：直接根据令牌中的用户ID和角色构建用户主体，不查询用户表
+     */
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -37,11 +48,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && jwtTokenUtil.validateToken(jwt)) {
-                String username = jwtTokenUtil.getUsernameFromToken(jwt);
+            // 签名和过期时间只校验一次，后续复用解析得到的声明
+            Claims claims = StringUtils.hasText(jwt) ? jwtTokenUtil.parseToken(jwt) : null;
+            if (claims != null && jwtTokenUtil.isRefreshToken(claims)) {
+                log.debug("刷新令牌不能用于访问接口: {}", claims.getSubject());
+                claims = null;
+            }
+            if (claims != null && tokenRevocationStore.isRevoked(jwtTokenUtil.getTokenId(jwt, claims))) {
+                log.debug("令牌已吊销: {}", claims.getSubject());
+                claims = null;
+            }
+            if (claims != null) {
+                String username = claims.getSubject();
                 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtTokenUtil.validateToken(jwt, userDetails)) {
+                UserDetails userDetails = stateless ? loadUserFromClaims(claims) : null;
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                }
+                if (userDetails.isEnabled() && username.equals(userDetails.getUsername())) {
                     UsernamePasswordAuthenticationToken authentication = 
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -57,6 +81,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 无状态模式下根据令牌声明构建用户主体
+     * 令牌未携带用户ID或角色（如刷新得到的令牌）时返回null，回退到查库加载；
+     * 用户已被禁用、删除或令牌已被吊销时返回禁用的主体
+     */
+    private UserDetails loadUserFromClaims(Claims claims) {
+        Long userId = jwtTokenUtil.getUserId(claims);
+        List<String> roles = jwtTokenUtil.getRoles(claims);
+        if (userId == null || roles == null) {
+            return null;
+        }
+        
+        UserPrincipal userPrincipal = UserPrincipal.fromTokenClaims(userId, claims.getSubject(), roles);
+        if (!userPrincipalCache.isTokenActive(userId, claims.getIssuedAt(), userDetailsService::getTokensValidAfter)) {
+            log.debug("令牌已失效: {}", claims.getSubject());
+            userPrincipal.setStatus(0);
+        }
+        return userPrincipal;
+    }
+
     /**
      * 从请求中获取JWT令牌
      */
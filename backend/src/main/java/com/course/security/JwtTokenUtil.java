@@ -1,5 +1,8 @@
 package com.course.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -7,10 +10,17 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -24,6 +34,13 @@ import java.util.function.Function;
 @Component
 public class JwtTokenUtil {
 
+    /**
+     * 令牌类型声明，刷新令牌为 refresh，访问令牌不携带
+     */
+    private static final String TOKEN_TYPE_CLAIM = "type";
+
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+
     /**
      * JWT密钥
      */
@@ -42,6 +59,135 @@ public class JwtTokenUtil {
     @Value("${jwt.refresh-expiration:604800}")
     private Long refreshExpiration;
 
+    /**
+     * 已验证令牌缓存的最大条目数
+     */
+    @Value("${jwt.verified-cache.maximum-size:10000}")
+    private long verifiedCacheMaximumSize;
+
+    /**
+     * 签名密钥与解析器在启动时构建一次，线程安全，可复用
+     */
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
+    /**
+     * 令牌摘要 -> 已验证的声明，条目在令牌自身的过期时间被淘汰
+     */
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        // 确保密钥长度至少为64字节（512位）
+        String paddedSecret = secret;
+        while (paddedSecret.length() < 64) {
+            paddedSecret += "0";
+        }
+        signingKey = Keys.hmacShaKeyFor(paddedSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 验证token并返回声明
+     * 签名与过期时间只校验一次，调用方复用返回的声明，无效时返回null；
+     * 同一令牌再次验证时直接命中缓存，返回的声明为共享对象，调用方不得修改
+     */
+    public Claims parseToken(String token) {
+        String key = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(key);
+        if (claims != null) {
+            return claims;
+        }
+
+        try {
+            claims = getAllClaimsFromToken(token);
+        } catch (Exception e) {
+            log.warn("Token验证失败: {}", e.getMessage());
+            return null;
+        }
+
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * 是否为刷新令牌，刷新令牌只能用于换取访问令牌，不能用于访问接口
+     */
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM));
+    }
+
+    /**
+     * 获取令牌标识，用于吊销
+     * 优先使用 jti，未携带 jti 的旧令牌使用令牌摘要
+     */
+    public String getTokenId(String token, Claims claims) {
+        return claims.getId() != null ? claims.getId() : digest(token);
+    }
+
+    /**
+     * 将令牌移出已验证缓存（令牌被吊销时调用）
+     */
+    public void evictVerifiedToken(String token) {
+        verifiedTokens.invalidate(digest(token));
+    }
+
+    /**
+     * 计算令牌摘要，作为缓存键，避免在内存中长期保留完整令牌
+     */
+    private String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+
+    /**
+     * 从声明中获取用户ID
+     */
+    public Long getUserId(Claims claims) {
+        Object userId = claims.get("userId");
+        if (userId != null) {
+            return Long.valueOf(userId.toString());
+        }
+        return null;
+    }
+
+    /**
+     * 从声明中获取角色列表
+     */
+    @SuppressWarnings("unchecked")
+    public java.util.List<String> getRoles(Claims claims) {
+        return (java.util.List<String>) claims.get("roles");
+    }
+
     /**
      * 从token中获取用户名
      */
@@ -69,11 +215,7 @@ public class JwtTokenUtil {
      */
     private Claims getAllClaimsFromToken(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             log.warn("JWT token已过期: {}", e.getMessage());
             throw e;
@@ -92,14 +234,6 @@ public class JwtTokenUtil {
         }
     }
 
-    /**
-     * 检查token是否过期
-     */
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
-    }
-
     /**
      * 为用户生成token
      */
@@ -113,7 +247,7 @@ public class JwtTokenUtil {
      */
     public String generateRefreshToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("type", "refresh");
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
         return createToken(claims, userDetails.getUsername(), refreshExpiration);
     }
 
@@ -126,6 +260,7 @@ public class JwtTokenUtil {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
@@ -137,39 +272,32 @@ public class JwtTokenUtil {
      * 验证token
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        try {
-            final String username = getUsernameFromToken(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (Exception e) {
-            log.warn("Token验证失败: {}", e.getMessage());
-            return false;
-        }
+        Claims claims = parseToken(token);
+        return claims != null && claims.getSubject().equals(userDetails.getUsername());
     }
 
     /**
      * 验证token是否有效（不需要UserDetails）
      */
     public Boolean validateToken(String token) {
-        try {
-            getAllClaimsFromToken(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            log.warn("Token验证失败: {}", e.getMessage());
-            return false;
-        }
+        return parseToken(token) != null;
     }
 
     /**
-     * 刷新token
+     * 根据已验证的刷新令牌声明生成新的访问令牌
+     * 声明可能是缓存中的共享对象，复制后再修改；新令牌不携带刷新令牌类型
      */
-    public String refreshToken(String token) {
+    public String refreshToken(Claims refreshClaims) {
         try {
-            final Claims claims = getAllClaimsFromToken(token);
-            claims.setIssuedAt(new Date());
-            claims.setExpiration(new Date(System.currentTimeMillis() + expiration * 1000));
+            Map<String, Object> claims = new HashMap<>(refreshClaims);
+            claims.remove(TOKEN_TYPE_CLAIM);
+            Date now = new Date();
             
             return Jwts.builder()
                     .setClaims(claims)
+                    .setId(UUID.randomUUID().toString())
+                    .setIssuedAt(now)
+                    .setExpiration(new Date(now.getTime() + expiration * 1000))
                     .signWith(getSigningKey(), SignatureAlgorithm.HS512)
                     .compact();
         } catch (Exception e) {
@@ -182,25 +310,14 @@ public class JwtTokenUtil {
      * 获取签名密钥
      */
     private SecretKey getSigningKey() {
-        // 确保密钥长度至少为64字节（512位）
-        String paddedSecret = secret;
-        while (paddedSecret.length() < 64) {
-            paddedSecret += "0";
-        }
-        byte[] keyBytes = paddedSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
 
     /**
      * 从token中获取用户ID
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        Object userId = claims.get("userId");
-        if (userId != null) {
-            return Long.valueOf(userId.toString());
-        }
-        return null;
+        return getUserId(getAllClaimsFromToken(token));
     }
 
     /**
@@ -215,10 +332,8 @@ public class JwtTokenUtil {
     /**
      * 从token中获取角色列表
      */
-    @SuppressWarnings("unchecked")
     public java.util.List<String> getRolesFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        return (java.util.List<String>) claims.get("roles");
+        return getRoles(getAllClaimsFromToken(token));
     }
 
     /**
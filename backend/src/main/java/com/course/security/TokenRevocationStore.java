@@ -0,0 +1,138 @@
+package com.course.security;
+
+import com.course.entity.RevokedToken;
+import com.course.mapper.RevokedTokenMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌吊销存储
+ * 内存中维护 令牌标识 -> 过期时间（毫秒），按过期时间索引，条目在令牌自然过期时淘汰，
+ * 内存占用只与有效期内被吊销的令牌数量相关；
+ * 开启持久化时同时写入 revoked_tokens 表，启动时加载未过期的记录，避免重启后已吊销的令牌重新生效；
+ * 加载发生在 Bean 初始化阶段，因此声明依赖数据库初始化（schema.sql），保证表已创建
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+public class TokenRevocationStore {
+
+    private final RevokedTokenMapper revokedTokenMapper;
+
+    @Value("${jwt.revocation.persistent:true}")
+    private boolean persistent;
+
+    /**
+     * 令牌标识 -> 过期时间（毫秒）
+     */
+    private Cache<String, Long> revokedTokens;
+
+    @PostConstruct
+    public void init() {
+        revokedTokens = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String key, Long expiresAt, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAt - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Long expiresAt, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, expiresAt, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Long expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        if (persistent) {
+            List<RevokedToken> records = revokedTokenMapper.findUnexpired(LocalDateTime.now());
+            for (RevokedToken record : records) {
+                revokedTokens.put(record.getTokenId(), toMillis(record.getExpiresAt()));
+            }
+            log.info("令牌吊销记录加载完成: {} 条", records.size());
+        }
+    }
+
+    /**
+     * 令牌是否已被吊销
+     *
+     * @param tokenId 令牌标识
+     * @return 是否已吊销
+     */
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revokedTokens.getIfPresent(tokenId) != null;
+    }
+
+    /**
+     * 吊销令牌，记录保留到令牌过期
+     *
+     * @param tokenId 令牌标识
+     * @param userId 用户ID
+     * @param expiration 令牌过期时间
+     */
+    public void revoke(String tokenId, Long userId, Date expiration) {
+        if (tokenId == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+
+        revokedTokens.put(tokenId, expiration.getTime());
+        if (persistent) {
+            RevokedToken record = new RevokedToken();
+            record.setTokenId(tokenId);
+            record.setUserId(userId);
+            record.setExpiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()));
+            revokedTokenMapper.insert(record);
+        }
+        log.debug("令牌已吊销: userId={}, expiresAt={}", userId, expiration);
+    }
+
+    /**
+     * 当前有效的吊销记录数
+     */
+    public long size() {
+        revokedTokens.cleanUp();
+        return revokedTokens.estimatedSize();
+    }
+
+    /**
+     * 定时清理数据库中已过期的吊销记录（内存中的条目到期自动淘汰）
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:3600000}")
+    public void purgeExpired() {
+        if (!persistent) {
+            return;
+        }
+
+        int deleted = revokedTokenMapper.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("清理过期令牌吊销记录: {} 条", deleted);
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
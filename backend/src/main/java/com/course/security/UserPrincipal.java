@@ -70,6 +70,21 @@ public class UserPrincipal implements UserDetails {
         return userPrincipal;
     }
 
+    /**
+     * 根据令牌声明创建用户主体（无状态认证模式）
+     * 仅包含用户ID、用户名和角色编码，不含密码等数据库字段
+     */
+    public static UserPrincipal fromTokenClaims(Long id, String username, List<String> roleCodes) {
+        List<GrantedAuthority> authorities = roleCodes.stream()
+                .map(roleCode -> new SimpleGrantedAuthority("ROLE_" + roleCode))
+                .collect(Collectors.toList());
+
+        UserPrincipal userPrincipal = new UserPrincipal(
+                id, username, null, null, null, null, 1, null, authorities);
+        userPrincipal.setRoleCodes(roleCodes);
+        return userPrincipal;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -0,0 +1,215 @@
+package com.course.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 用户认证信息缓存
+ * 按用户名缓存 UserPrincipal，并维护用户ID到用户名的索引，
+ * 用户状态、角色、密码变更或删除时由业务层显式失效；
+ * 同时为无状态令牌模式提供短时缓存的令牌有效性检查：账号状态和令牌生效起点（users.tokens_valid_after）
+ * 从数据库加载，重启或其他实例上同样生效；本实例的吊销另在内存中立即生效
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Component
+public class UserPrincipalCache {
+
+    /**
+     * 令牌生效起点：账号不存在或已禁用，全部令牌无效
+     */
+    public static final long INACTIVE = Long.MAX_VALUE;
+
+    @Value("${security.principal-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${security.principal-cache.ttl:300}")
+    private long ttlSeconds;
+
+    /**
+     * 无状态模式下用户状态检查结果的缓存时间（秒）
+     */
+    @Value("${jwt.revocation-check-ttl:30}")
+    private long revocationCheckTtlSeconds;
+
+    /**
+     * 访问令牌有效期（毫秒），内存中的吊销记录保留到该用户此前签发的令牌全部过期
+     */
+    @Value("${jwt.expiration:86400000}")
+    private long tokenExpirationMillis;
+
+    private Cache<String, UserPrincipal> principals;
+
+    private Cache<Long, String> usernames;
+
+    /**
+     * 用户ID -> 令牌生效起点（毫秒），0 表示未吊销过，INACTIVE 表示账号不存在或已禁用
+     */
+    private Cache<Long, Long> tokensValidAfter;
+
+    /**
+     * 用户ID -> 本实例的吊销时间（毫秒），在事务提交、数据库状态缓存过期之前立即生效
+     */
+    private Cache<Long, Long> revokedBefore;
+
+    @PostConstruct
+    public void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        usernames = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        tokensValidAfter = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(revocationCheckTtlSeconds))
+                .build();
+        revokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(tokenExpirationMillis))
+                .build();
+        log.info("用户认证信息缓存初始化: maximumSize={}, ttl={}s", maximumSize, ttlSeconds);
+    }
+
+    /**
+     * 按用户名获取认证信息，未命中时通过 loader 加载并缓存
+     * loader 抛出的异常直接向上传递，结果不缓存
+     */
+    public UserPrincipal get(String username, Function<String, UserPrincipal> loader) {
+        UserPrincipal principal = principals.get(username, loader);
+        usernames.put(principal.getId(), principal.getUsername());
+        return principal;
+    }
+
+    /**
+     * 按用户ID获取认证信息，未命中时通过 loader 加载并缓存
+     */
+    public UserPrincipal getById(Long userId, Function<Long, UserPrincipal> loader) {
+        String username = usernames.getIfPresent(userId);
+        if (username != null) {
+            UserPrincipal principal = principals.getIfPresent(username);
+            if (principal != null) {
+                return principal;
+            }
+        }
+
+        UserPrincipal principal = loader.apply(userId);
+        principals.put(principal.getUsername(), principal);
+        usernames.put(userId, principal.getUsername());
+        return principal;
+    }
+
+    /**
+     * 无状态模式下检查令牌是否仍然有效
+     * 令牌生效起点和账号状态按 revocation-check-ttl 短时缓存，生效起点之前签发的令牌直接拒绝
+     *
+     * @param userId 用户ID
+     * @param issuedAt 令牌签发时间
+     * @param validAfterLoader 令牌生效起点加载函数：返回毫秒，未吊销过返回 0，账号不存在或已禁用返回 INACTIVE
+     * @return 是否有效
+     */
+    public boolean isTokenActive(Long userId, Date issuedAt, Function<Long, Long> validAfterLoader) {
+        long validAfter = tokensValidAfter.get(userId, validAfterLoader);
+        if (validAfter == INACTIVE) {
+            return false;
+        }
+        Long revokedAt = revokedBefore.getIfPresent(userId);
+        if (revokedAt != null) {
+            validAfter = Math.max(validAfter, revokedAt);
+        }
+        // JWT 时间精度为秒，按秒比较，避免吊销后同一秒内重新签发的令牌被误判
+        return validAfter == 0 || (issuedAt != null && issuedAt.getTime() / 1000 >= validAfter / 1000);
+    }
+
+    /**
+     * 吊销用户此前签发的全部令牌（密码、角色、状态变更或删除时调用）
+     * 只在本实例内存中生效，调用方负责同时更新 users.tokens_valid_after
+     */
+    public void revokeIssuedTokens(Long userId) {
+        if (userId == null) {
+            return;
+        }
+
+        revokedBefore.put(userId, System.currentTimeMillis());
+        evictUser(userId);
+    }
+
+    /**
+     * 失效指定用户的缓存
+     * 处于事务中时在提交后再失效一次，避免并发请求在提交前把旧数据重新载入缓存
+     */
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+
+        doEvictUser(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvictUser(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 失效全部缓存（如角色被禁用或删除）
+     */
+    public void evictAll() {
+        principals.invalidateAll();
+        usernames.invalidateAll();
+        tokensValidAfter.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidateAll();
+                    usernames.invalidateAll();
+                    tokensValidAfter.invalidateAll();
+                }
+            });
+        }
+    }
+
+    /**
+     * 获取缓存命中统计
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = principals.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", principals.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    private void doEvictUser(Long userId) {
+        usernames.invalidate(userId);
+        tokensValidAfter.invalidate(userId);
+        // 用户名可能已被修改，按用户ID清理所有对应条目
+        principals.asMap().values().removeIf(principal -> userId.equals(principal.getId()));
+    }
+}
@@ -30,12 +30,13 @@ public interface AuthService {
     LoginResponse refreshToken(RefreshTokenRequest refreshTokenRequest);
 
     /**
-     * 用户登出
+     * 用户登出，同时吊销访问令牌和刷新令牌
      * 
      * @param token JWT令牌
+     * @param refreshToken 刷新令牌（可选，需属于同一用户）
      * @return 是否成功
      */
-    boolean logout(String token);
+    boolean logout(String token, String refreshToken);
 
     /**
      * 获取当前用户信息
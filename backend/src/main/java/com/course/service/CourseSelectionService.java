@@ -86,7 +86,7 @@ public interface CourseSelectionService {
      * 
      * @param studentId 学生ID
      * @param courseId 课程ID
-     * @param semester 学期
+     * @param semester 学期（可为空，课表安排自带学期，只与同一学期的已选课程比较）
      * @return 是否有时间冲突
      */
     boolean hasTimeConflict(Long studentId, Long courseId, String semester);
@@ -119,6 +119,24 @@ public interface CourseSelectionService {
      */
     int batchDropCoursesBySemester(Long studentId, String semester);
 
+    /**
+     * 批量退课（按学期，管理员批量操作）
+     * 在一个事务内完成：每门受影响课程一次汇总扣减选课人数，一次更新选课记录
+     * 
+     * @param studentIds 学生ID列表（不能为空）
+     * @param semester 学期
+     * @return 退课成功的数量
+     */
+    int batchDropCoursesBySemester(List<Long> studentIds, String semester);
+
+    /**
+     * 退选学期内全部学生的课程（管理员批量操作）
+     * 
+     * @param semester 学期
+     * @return 退课成功的数量
+     */
+    int dropAllCoursesBySemester(String semester);
+
     /**
      * 获取学生的课程表
      * 
@@ -2,9 +2,13 @@ package com.course.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.course.dto.PageRequest;
+import com.course.dto.course.GradeWeightRequest;
 import com.course.entity.Course;
+import com.course.utils.GradeScoring;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 课程服务接口
@@ -160,4 +164,22 @@ public interface CourseService {
      * @return 新课程
      */
     Course copyCourseToNewSemester(Long courseId, String newSemester);
+
+    /**
+     * 更新课程成绩权重
+     * 
+     * @param id 课程ID
+     * @param request 成绩权重
+     * @param teacherId 教师ID，不为空时只允许修改该教师所授课程；管理员传 null
+     * @return 更新后的课程
+     */
+    Course updateGradeWeights(Long id, GradeWeightRequest request, Long teacherId);
+
+    /**
+     * 批量查询课程成绩权重
+     * 
+     * @param courseIds 课程ID集合
+     * @return 课程ID -> 成绩权重，未查到的课程不包含在结果中
+     */
+    Map<Long, GradeScoring.Weights> getGradeWeights(Collection<Long> courseIds);
 }
@@ -0,0 +1,21 @@
+package com.course.service;
+
+import com.course.dto.DashboardStats;
+
+/**
+ * 仪表盘服务接口
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface DashboardService {
+
+    /**
+     * 获取仪表盘计数
+     * 结果短时缓存，缓存期内的刷新不访问数据库
+     *
+     * @return 仪表盘计数
+     */
+    DashboardStats getStats();
+}
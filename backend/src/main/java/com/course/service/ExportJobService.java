@@ -0,0 +1,49 @@
+package com.course.service;
+
+import com.course.dto.ExportJob;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * 导出任务服务接口
+ * 大报表在后台线程池中生成到本地临时文件，请求线程只负责提交和下载
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface ExportJobService {
+
+    /**
+     * 提交导出任务
+     * 合并窗口内相同报表类型和参数的请求共用同一个任务；教师ID属于参数的一部分，不同教师不会共用同一个任务
+     *
+     * @param reportType 报表类型：grades-成绩明细，roster-课程花名册，users-用户列表
+     * @param params 报表参数（其中的 teacherId 会被忽略）
+     * @param userId 提交人ID
+     * @param teacherId 教师ID，不为空时必须指定该教师所授课程，只导出该课程；管理员传 null
+     * @return 导出任务
+     */
+    ExportJob submit(String reportType, Map<String, Object> params, Long userId, Long teacherId);
+
+    /**
+     * 查询任务状态
+     *
+     * @param jobId 任务ID
+     * @param userId 当前用户ID
+     * @param admin 当前用户是否为管理员
+     * @return 导出任务
+     */
+    ExportJob getJob(String jobId, Long userId, boolean admin);
+
+    /**
+     * 获取已完成任务的文件
+     *
+     * @param jobId 任务ID
+     * @param userId 当前用户ID
+     * @param admin 当前用户是否为管理员
+     * @return 文件路径
+     */
+    Path getFile(String jobId, Long userId, boolean admin);
+}
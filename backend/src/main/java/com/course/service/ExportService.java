@@ -1,14 +1,18 @@
 package com.course.service;
 
 import com.course.dto.StatisticsOverview;
+import com.course.utils.ExportFormat;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
 /**
  * 报表导出服务接口
+ * 报表直接写入调用方提供的输出流（如响应流），不在内存中缓存完整文件；
+ * 支持 XLSX 以及面向程序读取的 CSV/TSV（可 gzip 压缩）格式
  * 
  * @author 课程管理系统开发团队
  * @version 1.0.0
@@ -19,68 +23,113 @@ public interface ExportService {
     /**
      * 导出统计概览报表
      * 
-     * @return Excel文件字节数组
+     * @param format 导出格式
+     * @param outputStream 输出流
      */
-    byte[] exportStatisticsOverview();
+    void exportStatisticsOverview(ExportFormat format, OutputStream outputStream) throws IOException;
 
     /**
      * 导出用户统计报表
      * 
      * @param startDate 开始日期
      * @param endDate 结束日期
-     * @return Excel文件字节数组
+     * @param format 导出格式
+     * @param outputStream 输出流
      */
-    byte[] exportUserStatistics(LocalDate startDate, LocalDate endDate);
+    void exportUserStatistics(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream outputStream) throws IOException;
 
     /**
      * 导出课程统计报表
      * 
      * @param semester 学期
-     * @return Excel文件字节数组
+     * @param format 导出格式
+     * @param outputStream 输出流
      */
-    byte[] exportCourseStatistics(String semester);
+    void exportCourseStatistics(String semester, ExportFormat format, OutputStream outputStream) throws IOException;
 
     /**
      * 导出成绩统计报表
      * 
      * @param courseId 课程ID（可选）
      * @param semester 学期（可选）
-     * @return Excel文件字节数组
+     * @param format 导出格式
+     * @param outputStream 输出流
      */
-    byte[] exportGradeStatistics(Long courseId, String semester);
+    void exportGradeStatistics(Long courseId, String semester, ExportFormat format, OutputStream outputStream) throws IOException;
 
     /**
      * 导出公告统计报表
      * 
      * @param startDate 开始日期
      * @param endDate 结束日期
-     * @return Excel文件字节数组
+     * @param format 导出格式
+     * @param outputStream 输出流
      */
-    byte[] exportAnnouncementStatistics(LocalDate startDate, LocalDate endDate);
+    void exportAnnouncementStatistics(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * 校验明细导出的课程范围：教师必须指定课程，且只能导出自己所授课程
+     * 导出在响应流中异步执行，调用方应在开始写出之前完成校验
+     * 
+     * @param courseId 课程ID
+     * @param teacherId 教师ID，管理员传 null
+     */
+    void checkCourseScope(Long courseId, Long teacherId);
+
+    /**
+     * 导出成绩明细（逐行流式读取，内存占用与记录数无关）
+     * 
+     * @param semester 学期（可选）
+     * @param courseId 课程ID（可选）
+     * @param teacherId 教师ID，不为空时只导出该教师所授课程；管理员传 null
+     * @param format 导出格式
+     * @param outputStream 输出流
+     */
+    void exportGradeDetails(String semester, Long courseId, Long teacherId, ExportFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * 导出课程花名册（有效选课记录）
+     * 
+     * @param courseId 课程ID（为空时导出全部课程）
+     * @param teacherId 教师ID，不为空时只导出该教师所授课程；管理员传 null
+     * @param format 导出格式
+     * @param outputStream 输出流
+     */
+    void exportCourseRoster(Long courseId, Long teacherId, ExportFormat format, OutputStream outputStream) throws IOException;
+
+    /**
+     * 导出用户列表
+     * 
+     * @param format 导出格式
+     * @param outputStream 输出流
+     */
+    void exportUserList(ExportFormat format, OutputStream outputStream) throws IOException;
 
     /**
      * 导出热门课程排行报表
      * 
      * @param limit 限制数量
-     * @return Excel文件字节数组
+     * @param format 导出格式
+     * @param outputStream 输出流
      */
-    byte[] exportPopularCourses(Integer limit);
+    void exportPopularCourses(Integer limit, ExportFormat format, OutputStream outputStream) throws IOException;
 
     /**
      * 导出优秀学生排行报表
      * 
      * @param semester 学期
      * @param limit 限制数量
-     * @return Excel文件字节数组
+     * @param format 导出格式
+     * @param outputStream 输出流
      */
-    byte[] exportTopStudents(String semester, Integer limit);
+    void exportTopStudents(String semester, Integer limit, ExportFormat format, OutputStream outputStream) throws IOException;
 
     /**
      * 导出综合统计报表
      * 
-     * @param reportType 报表类型
-     * @param params 参数
-     * @return Excel文件字节数组
+     * @param reportType 报表类型：grades-成绩明细，roster-课程花名册，users-用户列表
+     * @param params 参数（format 指定导出格式，默认 xlsx；teacherId 限定教师所授课程）
+     * @param outputStream 输出流
      */
-    byte[] exportComprehensiveReport(String reportType, Map<String, Object> params);
+    void exportComprehensiveReport(String reportType, Map<String, Object> params, OutputStream outputStream) throws IOException;
 }
@@ -0,0 +1,25 @@
+package com.course.service;
+
+import com.course.dto.GradeImportResult;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 成绩导入服务接口
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface GradeImportService {
+
+    /**
+     * 导入成绩表（xlsx、csv、tsv）
+     * 按表头识别列：学号、课程编码、学期为必需列，平时成绩、期中成绩、期末成绩至少一列；
+     * 与成绩明细导出的列名一致，导出文件修改后可直接导入
+     *
+     * @param file 上传文件
+     * @param teacherId 教师ID，不为空时只允许导入该教师所授课程的成绩；管理员传 null
+     * @return 导入结果和行级错误
+     */
+    GradeImportResult importGrades(MultipartFile file, Long teacherId);
+}
@@ -0,0 +1,43 @@
+package com.course.service;
+
+import com.course.dto.GradeRecomputeJob;
+
+/**
+ * 总成绩重新计算服务接口
+ * 成绩权重或计算规则变化后，在后台按课程分区并行重新计算总成绩和等级，请求线程只负责提交和查询进度
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface GradeRecomputeService {
+
+    /**
+     * 提交学期重新计算任务，学期内每门课程为一个分区
+     *
+     * @param semester 学期
+     * @param userId 提交人ID
+     * @return 重新计算任务
+     */
+    GradeRecomputeJob submitSemester(String semester, Long userId);
+
+    /**
+     * 提交课程重新计算任务（课程全部学期的成绩）
+     * 同一课程尚未开始执行的任务直接返回，执行时读取最新的课程权重
+     *
+     * @param courseId 课程ID
+     * @param userId 提交人ID
+     * @return 重新计算任务
+     */
+    GradeRecomputeJob submitCourse(Long courseId, Long userId);
+
+    /**
+     * 查询任务进度
+     *
+     * @param jobId 任务ID
+     * @param userId 当前用户ID
+     * @param admin 当前用户是否为管理员
+     * @return 重新计算任务
+     */
+    GradeRecomputeJob getJob(String jobId, Long userId, boolean admin);
+}
@@ -5,6 +5,7 @@ import com.course.dto.GradeRequest;
 import com.course.dto.GradeStatistics;
 import com.course.dto.PageRequest;
 import com.course.entity.Grade;
+import com.course.utils.GradeAnalytics;
 
 import java.util.List;
 import java.util.Map;
@@ -27,7 +28,7 @@ public interface GradeService {
     Grade saveOrUpdateGrade(GradeRequest gradeRequest);
 
     /**
-     * 批量录入成绩
+     * 批量录入成绩，已有成绩时更新
      * 
      * @param gradeRequests 成绩请求列表
      * @return 成功录入的数量
@@ -100,6 +101,15 @@ public interface GradeService {
      */
     GradeStatistics calculateCourseStatistics(Long courseId, String semester);
 
+    /**
+     * 分析已录入的总成绩：只读取 total_score 列，一次遍历计算统计量和分布
+     * 
+     * @param courseId 课程ID（可选）
+     * @param semester 学期（可选）
+     * @return 成绩分析结果
+     */
+    GradeAnalytics analyzeScores(Long courseId, String semester);
+
     /**
      * 计算学生的平均成绩
      * 
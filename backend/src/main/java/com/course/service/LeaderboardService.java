@@ -0,0 +1,65 @@
+package com.course.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 排行榜服务接口
+ * 热门课程和优秀学生排行在内存中维护，选课、退课、成绩变更时增量更新，并定期与数据库对账
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface LeaderboardService {
+
+    /**
+     * 按当前选课人数排序的热门课程
+     *
+     * @param limit 数量
+     * @return 课程排行
+     */
+    List<Map<String, Object>> getPopularCourses(int limit);
+
+    /**
+     * 按平均成绩排序的优秀学生
+     *
+     * @param semester 学期（为空时按全部学期的平均成绩排序）
+     * @param limit 数量
+     * @return 学生排行
+     */
+    List<Map<String, Object>> getTopStudents(String semester, int limit);
+
+    /**
+     * 课程选课人数变化（事务中调用时在提交后生效）
+     *
+     * @param courseId 课程ID
+     * @param delta 变化量
+     */
+    void onCurrentStudentsChanged(Long courseId, int delta);
+
+    /**
+     * 单门课程的信息变化（名称、教师、容量、新建或删除），提交后只重新加载该课程
+     *
+     * @param courseId 课程ID
+     */
+    void onCourseChanged(Long courseId);
+
+    /**
+     * 课程批量变化，提交后重新加载课程排行
+     */
+    void onCoursesChanged();
+
+    /**
+     * 学生成绩变化（事务中调用时在提交后生效）
+     *
+     * @param studentIds 学生ID
+     */
+    void onGradesChanged(Collection<Long> studentIds);
+
+    /**
+     * 从数据库重建全部排行
+     */
+    void reconcile();
+}
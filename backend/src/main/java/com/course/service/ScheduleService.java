@@ -0,0 +1,90 @@
+package com.course.service;
+
+import com.course.entity.Classroom;
+import com.course.entity.Schedule;
+
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 课表服务接口
+ * 课表安排维护在内存课表索引和教室占用位图中，选课时间冲突、教师和教室冲突检查及空闲教室查询不访问数据库
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface ScheduleService {
+
+    /**
+     * 新增课表安排，教师或教室在该时段已有安排时拒绝
+     * 
+     * @param schedule 课表安排
+     * @return 新增的课表安排
+     */
+    Schedule createSchedule(Schedule schedule);
+
+    /**
+     * 更新课表安排，教师或教室在该时段已有其他安排时拒绝
+     * 
+     * @param schedule 课表安排
+     * @return 更新后的课表安排
+     */
+    Schedule updateSchedule(Schedule schedule);
+
+    /**
+     * 删除课表安排
+     * 
+     * @param id 课表安排ID
+     * @return 是否删除成功
+     */
+    boolean deleteSchedule(Long id);
+
+    /**
+     * 课程是否与学生已选课程的上课时间冲突
+     * 
+     * @param studentId 学生ID
+     * @param courseId 待选课程ID
+     * @return 是否冲突
+     */
+    boolean hasStudentConflict(Long studentId, Long courseId);
+
+    /**
+     * 查询空闲教室：在指定周次范围内每周的该时段都没有课表安排的可用教室
+     * 课表变更提交后立即生效；教室没有写入接口，教室的新增、停用和容量变化在下次定时对账后生效
+     * 
+     * @param semester 学期
+     * @param dayOfWeek 星期几（1-7）
+     * @param startTime 开始时间
+     * @param endTime 结束时间
+     * @param weekStart 开始周次（可选，与结束周次都为空时检查全部周次）
+     * @param weekEnd 结束周次（可选）
+     * @param minCapacity 最小容纳人数（可选）
+     * @param building 楼栋（可选）
+     * @return 空闲教室，按楼栋、楼层、教室编号排列
+     */
+    List<Classroom> findAvailableClassrooms(String semester, Integer dayOfWeek, LocalTime startTime, LocalTime endTime,
+                                            Integer weekStart, Integer weekEnd, Integer minCapacity, String building);
+
+    /**
+     * 学生选课或退课后更新已选课程（事务提交后生效）
+     * 
+     * @param studentId 学生ID
+     * @param courseId 课程ID
+     * @param selected true-选课，false-退课
+     */
+    void onSelectionChanged(Long studentId, Long courseId, boolean selected);
+
+    /**
+     * 批量退课后失效学生的已选课程（事务提交后生效）
+     * 
+     * @param studentIds 学生ID，为空时失效全部学生
+     */
+    void onSelectionsDropped(Collection<Long> studentIds);
+
+    /**
+     * 课程信息（教师、学期）变化或课程删除后重建课表索引（事务提交后生效）
+     */
+    void onCoursesChanged();
+}
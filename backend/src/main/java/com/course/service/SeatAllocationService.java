@@ -0,0 +1,55 @@
+package com.course.service;
+
+import com.course.entity.CourseSelection;
+
+/**
+ * 选课名额分配服务接口
+ * 选课高峰期在内存中维护各课程剩余名额，准入判断不访问数据库，
+ * 被接受的选课记录异步批量落库
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface SeatAllocationService {
+
+    /**
+     * 是否启用内存名额分配
+     *
+     * @return 是否启用
+     */
+    boolean isEnabled();
+
+    /**
+     * 预占课程名额
+     * 名额不足、课程不可选或重复选课时抛出 IllegalArgumentException
+     *
+     * @param studentId 学生ID
+     * @param courseId 课程ID
+     * @return 待落库的选课记录
+     */
+    CourseSelection reserve(Long studentId, Long courseId);
+
+    /**
+     * 退课后归还课程名额
+     * 处于事务中时在事务提交后归还
+     *
+     * @param studentId 学生ID
+     * @param courseId 课程ID
+     */
+    void release(Long studentId, Long courseId);
+
+    /**
+     * 立即将待落库的选课记录写入数据库
+     *
+     * @return 本次落库的记录数
+     */
+    int flush();
+
+    /**
+     * 失效课程的名额缓存，下次访问时重新从数据库加载
+     *
+     * @param courseId 课程ID
+     */
+    void evictCourse(Long courseId);
+}
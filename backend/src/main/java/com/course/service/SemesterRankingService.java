@@ -0,0 +1,31 @@
+package com.course.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 学期排名服务接口
+ * 每个学期的完整排名计算一次后缓存，成绩变更后延迟合并重算
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface SemesterRankingService {
+
+    /**
+     * 查询学生的学期排名
+     *
+     * @param studentId 学生ID
+     * @param semester 学期
+     * @return 排名信息：student_rank、total_students、avg_score，学生无成绩时为空
+     */
+    Map<String, Object> getStudentRanking(Long studentId, String semester);
+
+    /**
+     * 学期成绩变化（事务中调用时在提交后生效）
+     *
+     * @param semesters 学期
+     */
+    void onGradesChanged(Collection<String> semesters);
+}
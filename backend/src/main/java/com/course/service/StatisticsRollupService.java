@@ -0,0 +1,40 @@
+package com.course.service;
+
+import com.course.entity.DailyStatistics;
+import com.course.entity.SemesterStatistics;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 统计汇总服务接口
+ * 后台维护每日和学期统计汇总表，统计接口读取汇总行而不扫描原始表
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface StatisticsRollupService {
+
+    /**
+     * 增量刷新汇总表：重新聚合上次水位之后有变更的记录所影响的日期和学期，首次执行时全量汇总
+     */
+    void refresh();
+
+    /**
+     * 查询日期范围内的每日汇总
+     *
+     * @param startDate 开始日期（含）
+     * @param endDate 结束日期（含）
+     * @return 按日期升序的汇总行，没有业务数据的日期不返回
+     */
+    List<DailyStatistics> getDailyStatistics(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 查询学期汇总
+     *
+     * @param semester 学期
+     * @return 学期汇总，学期不存在或尚未汇总时为 null
+     */
+    SemesterStatistics getSemesterStatistics(String semester);
+}
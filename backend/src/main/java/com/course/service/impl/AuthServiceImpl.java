@@ -3,9 +3,12 @@ package com.course.service.impl;
 import com.course.dto.auth.LoginRequest;
 import com.course.dto.auth.LoginResponse;
 import com.course.dto.auth.RefreshTokenRequest;
+import com.course.security.CustomUserDetailsService;
 import com.course.security.JwtTokenUtil;
+import com.course.security.TokenRevocationStore;
 import com.course.security.UserPrincipal;
 import com.course.service.AuthService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -31,6 +34,8 @@ public class AuthServiceImpl implements AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final JwtTokenUtil jwtTokenUtil;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @Value("${jwt.expiration:86400}")
     private Long jwtExpiration;
@@ -90,16 +95,19 @@ public class AuthServiceImpl implements AuthService {
         log.info("刷新令牌");
         
         try {
-            // 验证刷新令牌
-            if (!jwtTokenUtil.validateToken(refreshToken)) {
+            // 验证刷新令牌：必须是刷新令牌类型，且未被登出吊销
+            Claims claims = jwtTokenUtil.parseToken(refreshToken);
+            if (claims == null || !jwtTokenUtil.isRefreshToken(claims)) {
                 throw new RuntimeException("刷新令牌无效");
             }
+            if (tokenRevocationStore.isRevoked(jwtTokenUtil.getTokenId(refreshToken, claims))) {
+                throw new RuntimeException("刷新令牌已吊销");
+            }
             
-            // 从刷新令牌中获取用户名
-            String username = jwtTokenUtil.getUsernameFromToken(refreshToken);
+            String username = claims.getSubject();
             
             // 生成新的访问令牌
-            String newAccessToken = jwtTokenUtil.refreshToken(refreshToken);
+            String newAccessToken = jwtTokenUtil.refreshToken(claims);
             
             // 构建响应
             LoginResponse response = new LoginResponse();
@@ -116,16 +124,25 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    public boolean logout(String token) {
+    public boolean logout(String token, String refreshToken) {
         try {
+            Claims claims = jwtTokenUtil.parseToken(token);
+            if (claims == null) {
+                return false;
+            }
+            
             // 获取当前用户
-            String username = jwtTokenUtil.getUsernameFromToken(token);
+            String username = claims.getSubject();
             log.info("用户登出: {}", username);
             
             // 清除安全上下文
             SecurityContextHolder.clearContext();
             
-            // TODO: 可以将token加入黑名单，防止被继续使用
+            // 吊销令牌，有效期内不能再被使用
+            tokenRevocationStore.revoke(jwtTokenUtil.getTokenId(token, claims),
+                    jwtTokenUtil.getUserId(claims), claims.getExpiration());
+            jwtTokenUtil.evictVerifiedToken(token);
+            revokeRefreshToken(refreshToken, username, jwtTokenUtil.getUserId(claims));
             
             log.info("用户登出成功: {}", username);
             return true;
@@ -135,6 +152,24 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
+    /**
+     * 吊销刷新令牌，不是同一用户的刷新令牌时忽略
+     */
+    private void revokeRefreshToken(String refreshToken, String username, Long userId) {
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            return;
+        }
+        
+        Claims claims = jwtTokenUtil.parseToken(refreshToken);
+        if (claims == null || !jwtTokenUtil.isRefreshToken(claims) || !username.equals(claims.getSubject())) {
+            log.warn("登出时提供的刷新令牌无效，忽略: {}", username);
+            return;
+        }
+        
+        tokenRevocationStore.revoke(jwtTokenUtil.getTokenId(refreshToken, claims), userId, claims.getExpiration());
+        jwtTokenUtil.evictVerifiedToken(refreshToken);
+    }
+
     @Override
     public LoginResponse.UserInfo getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -144,6 +179,11 @@ public class AuthServiceImpl implements AuthService {
         
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         
+        // 无状态模式下主体仅包含令牌声明，补充加载完整的用户信息
+        if (userPrincipal.getRoles() == null) {
+            userPrincipal = (UserPrincipal) userDetailsService.loadUserById(userPrincipal.getId());
+        }
+        
         LoginResponse.UserInfo userInfo = new LoginResponse.UserInfo();
         userInfo.setId(userPrincipal.getId());
         userInfo.setUsername(userPrincipal.getUsername());
@@ -8,13 +8,20 @@ import com.course.entity.CourseSelection;
 import com.course.mapper.CourseSelectionMapper;
 import com.course.service.CourseSelectionService;
 import com.course.service.CourseService;
+import com.course.service.LeaderboardService;
+import com.course.service.ScheduleService;
+import com.course.service.SeatAllocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 选课服务实现类
@@ -28,8 +35,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CourseSelectionServiceImpl implements CourseSelectionService {
 
+    /**
+     * 批量退课时每条 SQL 携带的最大学生数
+     */
+    private static final int BATCH_DROP_CHUNK_SIZE = 1000;
+
     private final CourseSelectionMapper courseSelectionMapper;
     private final CourseService courseService;
+    private final SeatAllocationService seatAllocationService;
+    private final LeaderboardService leaderboardService;
+    private final ScheduleService scheduleService;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -41,31 +56,43 @@ public class CourseSelectionServiceImpl implements CourseSelectionService {
             throw new IllegalArgumentException("学生ID和课程ID不能为空");
         }
         
-        // 检查是否可以选课
-        if (!canSelectCourse(studentId, courseId)) {
-            throw new IllegalArgumentException("无法选择该课程");
+        // 上课时间冲突由内存课表索引检查，不访问数据库
+        if (scheduleService.hasStudentConflict(studentId, courseId)) {
+            throw new IllegalArgumentException("与已选课程上课时间冲突");
+        }
+        
+        // 选课高峰期由内存名额分配准入，选课记录异步批量落库
+        if (seatAllocationService.isEnabled()) {
+            CourseSelection selection = seatAllocationService.reserve(studentId, courseId);
+            scheduleService.onSelectionChanged(studentId, courseId, true);
+            log.info("选课名额预占成功，等待落库: studentId={}, courseId={}", studentId, courseId);
+            return selection;
         }
         
         // 检查是否已经选过该课程
         CourseSelection existing = getSelectionByStudentAndCourse(studentId, courseId);
+        if (existing != null && existing.getStatus() == 1) {
+            throw new IllegalArgumentException("已经选择过该课程");
+        }
+        
+        // 条件更新占用名额，课程不可选或已满时抛出异常，并发下不会超卖
+        courseService.updateCurrentStudents(courseId, 1);
+        
         if (existing != null) {
-            if (existing.getStatus() == 1) {
+            // 如果之前退过课，重新选课；并发重复选课时条件更新不命中，事务回滚归还名额
+            LocalDateTime selectionTime = LocalDateTime.now();
+            if (courseSelectionMapper.reselect(existing.getId(), selectionTime) == 0) {
                 throw new IllegalArgumentException("已经选择过该课程");
-            } else {
-                // 如果之前退过课，重新选课
-                existing.setStatus(1);
-                existing.setSelectionTime(LocalDateTime.now());
-                courseSelectionMapper.updateById(existing);
-                
-                // 更新课程选课人数
-                courseService.updateCurrentStudents(courseId, 1);
-                
-                log.info("重新选课成功: {}", existing.getId());
-                return existing;
             }
+            existing.setStatus(1);
+            existing.setSelectionTime(selectionTime);
+            scheduleService.onSelectionChanged(studentId, courseId, true);
+            
+            log.info("重新选课成功: {}", existing.getId());
+            return existing;
         }
         
-        // 创建新的选课记录
+        // 创建新的选课记录，并发重复选课由唯一索引拦截
         CourseSelection selection = new CourseSelection();
         selection.setStudentId(studentId);
         selection.setCourseId(courseId);
@@ -73,9 +100,7 @@ public class CourseSelectionServiceImpl implements CourseSelectionService {
         selection.setStatus(1); // 已选课
         
         courseSelectionMapper.insert(selection);
-        
-        // 更新课程选课人数
-        courseService.updateCurrentStudents(courseId, 1);
+        scheduleService.onSelectionChanged(studentId, courseId, true);
         
         log.info("选课成功: {}", selection.getId());
         return selection;
@@ -91,24 +116,25 @@ public class CourseSelectionServiceImpl implements CourseSelectionService {
             throw new IllegalArgumentException("学生ID和课程ID不能为空");
         }
         
-        // 查找选课记录
-        CourseSelection selection = getSelectionByStudentAndCourse(studentId, courseId);
-        if (selection == null || selection.getStatus() != 1) {
-            throw new IllegalArgumentException("未找到有效的选课记录");
+        // 待落库的选课记录需先写入数据库
+        if (seatAllocationService.isEnabled()) {
+            seatAllocationService.flush();
         }
         
-        // 更新选课状态为已退课
-        selection.setStatus(0);
-        int result = courseSelectionMapper.updateById(selection);
+        // 条件更新选课状态为已退课，影响行数为0表示没有有效的选课记录
+        if (courseSelectionMapper.drop(studentId, courseId) == 0) {
+            throw new IllegalArgumentException("未找到有效的选课记录");
+        }
         
-        if (result > 0) {
-            // 更新课程选课人数
-            courseService.updateCurrentStudents(courseId, -1);
-            log.info("退课成功: {}", selection.getId());
-            return true;
+        // 更新课程选课人数
+        courseService.updateCurrentStudents(courseId, -1);
+        if (seatAllocationService.isEnabled()) {
+            seatAllocationService.release(studentId, courseId);
         }
+        scheduleService.onSelectionChanged(studentId, courseId, false);
         
-        return false;
+        log.info("退课成功: studentId={}, courseId={}", studentId, courseId);
+        return true;
     }
 
     @Override
@@ -163,9 +189,13 @@ public class CourseSelectionServiceImpl implements CourseSelectionService {
             return false;
         }
         
+        // 检查与已选课程的上课时间冲突
+        if (hasTimeConflict(studentId, courseId, null)) {
+            return false;
+        }
+        
         // 可以添加更多业务规则检查，如：
         // - 学生选课数量限制
-        // - 时间冲突检查
         // - 先修课程检查等
         
         return true;
@@ -177,9 +207,8 @@ public class CourseSelectionServiceImpl implements CourseSelectionService {
             return false;
         }
         
-        // 这里需要结合课程安排表来检查时间冲突
-        // 暂时返回false，后续可以完善
-        return false;
+        // 课表安排自带学期，只与同一学期的已选课程比较
+        return scheduleService.hasStudentConflict(studentId, courseId);
     }
 
     @Override
@@ -207,22 +236,99 @@ public class CourseSelectionServiceImpl implements CourseSelectionService {
             return 0;
         }
         
-        log.info("批量退课: studentId={}, semester={}", studentId, semester);
+        return batchDropCoursesBySemester(List.of(studentId), semester);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int batchDropCoursesBySemester(List<Long> studentIds, String semester) {
+        if (semester == null) {
+            return 0;
+        }
+        if (studentIds == null || studentIds.isEmpty()) {
+            throw new IllegalArgumentException("学生ID列表不能为空");
+        }
+        
+        log.info("批量退课: students={}, semester={}", studentIds.size(), semester);
         
-        // 获取该学期的所有选课记录
-        List<CourseSelection> selections = getStudentSelections(studentId, semester, 1);
+        // 待落库的选课记录需先写入数据库
+        if (seatAllocationService.isEnabled()) {
+            seatAllocationService.flush();
+        }
         
         int count = 0;
-        for (CourseSelection selection : selections) {
-            if (dropCourse(studentId, selection.getCourseId())) {
-                count++;
-            }
+        Set<Long> courseIds = new HashSet<>();
+        for (int from = 0; from < studentIds.size(); from += BATCH_DROP_CHUNK_SIZE) {
+            List<Long> chunk = studentIds.subList(from, Math.min(from + BATCH_DROP_CHUNK_SIZE, studentIds.size()));
+            count += dropBySemester(chunk, semester, courseIds);
+        }
+        
+        if (count > 0) {
+            scheduleService.onSelectionsDropped(studentIds);
+        }
+        afterSemesterDrop(count, courseIds);
+        
+        log.info("批量退课完成: 退课{}门次", count);
+        return count;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int dropAllCoursesBySemester(String semester) {
+        if (semester == null) {
+            return 0;
         }
         
-        log.info("批量退课完成: 退课{}门", count);
+        log.info("退选学期全部选课: semester={}", semester);
+        
+        if (seatAllocationService.isEnabled()) {
+            seatAllocationService.flush();
+        }
+        
+        Set<Long> courseIds = new HashSet<>();
+        int count = dropBySemester(null, semester, courseIds);
+        
+        if (count > 0) {
+            scheduleService.onSelectionsDropped(null);
+        }
+        afterSemesterDrop(count, courseIds);
+        
+        log.info("退选学期全部选课完成: 退课{}门次", count);
         return count;
     }
 
+    /**
+     * 集合式退课：先按课程汇总扣减选课人数，再一次性更新选课记录
+     *
+     * @param studentIds 学生ID列表，为 null 时表示该学期全部学生
+     * @param courseIds 启用内存名额分配时，收集受影响的课程ID
+     */
+    private int dropBySemester(List<Long> studentIds, String semester, Set<Long> courseIds) {
+        if (seatAllocationService.isEnabled()) {
+            courseIds.addAll(courseSelectionMapper.selectCourseIdsForSemesterDrop(studentIds, semester));
+        }
+        courseSelectionMapper.decreaseCurrentStudentsBySemester(studentIds, semester);
+        return courseSelectionMapper.dropBySemester(studentIds, semester);
+    }
+
+    /**
+     * 退课后刷新排行榜，并在事务提交后只失效受影响课程的内存名额，下次访问时按数据库重新加载
+     */
+    private void afterSemesterDrop(int count, Set<Long> courseIds) {
+        if (count == 0) {
+            return;
+        }
+        leaderboardService.onCoursesChanged();
+        if (!courseIds.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    courseIds.forEach(seatAllocationService::evictCourse);
+                }
+            });
+        }
+    }
+
     @Override
     public List<CourseSelection> getStudentSchedule(Long studentId, String semester) {
         if (studentId == null || semester == null) {
@@ -4,16 +4,25 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.course.dto.PageRequest;
+import com.course.dto.course.GradeWeightRequest;
 import com.course.entity.Course;
 import com.course.mapper.CourseMapper;
 import com.course.service.CourseService;
+import com.course.service.LeaderboardService;
+import com.course.service.ScheduleService;
+import com.course.service.SeatAllocationService;
+import com.course.utils.GradeScoring;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 课程服务实现类
@@ -28,6 +37,9 @@ import java.util.List;
 public class CourseServiceImpl implements CourseService {
 
     private final CourseMapper courseMapper;
+    private final SeatAllocationService seatAllocationService;
+    private final LeaderboardService leaderboardService;
+    private final ScheduleService scheduleService;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -51,6 +63,7 @@ public class CourseServiceImpl implements CourseService {
         }
         
         courseMapper.insert(course);
+        leaderboardService.onCourseChanged(course.getId());
         log.info("课程创建成功，ID: {}", course.getId());
         
         return course;
@@ -96,6 +109,9 @@ public class CourseServiceImpl implements CourseService {
         }
         
         courseMapper.updateById(course);
+        seatAllocationService.evictCourse(course.getId());
+        scheduleService.onCoursesChanged();
+        leaderboardService.onCourseChanged(course.getId());
         log.info("课程信息更新成功: {}", course.getId());
         
         return getCourseById(course.getId());
@@ -123,6 +139,9 @@ public class CourseServiceImpl implements CourseService {
         boolean success = result > 0;
         
         if (success) {
+            seatAllocationService.evictCourse(id);
+            scheduleService.onCoursesChanged();
+            leaderboardService.onCourseChanged(id);
             log.info("课程删除成功: {}", id);
         } else {
             log.warn("课程删除失败: {}", id);
@@ -191,33 +210,30 @@ public class CourseServiceImpl implements CourseService {
         
         log.info("更新课程选课人数: {} -> {}", courseId, increment);
         
-        // 验证课程是否存在
+        // 条件更新，影响行数决定成败
+        int result = courseMapper.updateCurrentStudents(courseId, increment);
+        if (result > 0) {
+            log.info("课程选课人数更新成功: {}", courseId);
+            leaderboardService.onCurrentStudentsChanged(courseId, increment);
+            return true;
+        }
+        
+        // 更新未命中时再查询失败原因
         Course course = courseMapper.selectById(courseId);
         if (course == null) {
             throw new IllegalArgumentException("课程不存在");
         }
-        
-        // 检查人数限制
         if (increment > 0) {
-            int newCount = course.getCurrentStudents() + increment;
-            if (newCount > course.getMaxStudents()) {
-                throw new IllegalArgumentException("选课人数超过限制");
-            }
-        } else {
-            int newCount = course.getCurrentStudents() + increment;
-            if (newCount < 0) {
-                throw new IllegalArgumentException("选课人数不能为负数");
+            if (course.getStatus() == null || course.getStatus() != 1) {
+                throw new IllegalArgumentException("课程未开放选课");
             }
+            throw new IllegalArgumentException("选课人数超过限制");
         }
-        
-        int result = courseMapper.updateCurrentStudents(courseId, increment);
-        boolean success = result > 0;
-        
-        if (success) {
-            log.info("课程选课人数更新成功: {}", courseId);
+        if (increment < 0) {
+            throw new IllegalArgumentException("选课人数不能为负数");
         }
         
-        return success;
+        return false;
     }
 
     @Override
@@ -267,6 +283,8 @@ public class CourseServiceImpl implements CourseService {
         
         boolean success = result > 0;
         if (success) {
+            seatAllocationService.evictCourse(id);
+            leaderboardService.onCourseChanged(id);
             log.info("课程状态更新成功: {} -> {}", id, status);
         }
         
@@ -326,6 +344,9 @@ public class CourseServiceImpl implements CourseService {
         newCourse.setDescription(originalCourse.getDescription());
         newCourse.setTeacherId(originalCourse.getTeacherId());
         newCourse.setMaxStudents(originalCourse.getMaxStudents());
+        newCourse.setUsualWeight(originalCourse.getUsualWeight());
+        newCourse.setMidtermWeight(originalCourse.getMidtermWeight());
+        newCourse.setFinalWeight(originalCourse.getFinalWeight());
         newCourse.setCurrentStudents(0); // 新学期选课人数重置为0
         newCourse.setSemester(newSemester);
         newCourse.setStatus(1);
@@ -339,8 +360,57 @@ public class CourseServiceImpl implements CourseService {
         }
         
         courseMapper.insert(newCourse);
+        leaderboardService.onCourseChanged(newCourse.getId());
         log.info("课程复制成功，新课程ID: {}", newCourse.getId());
         
         return newCourse;
     }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Course updateGradeWeights(Long id, GradeWeightRequest request, Long teacherId) {
+        if (id == null || request == null) {
+            throw new IllegalArgumentException("参数不能为空");
+        }
+        if (request.getUsualWeight() + request.getMidtermWeight() + request.getFinalWeight() != 100) {
+            throw new IllegalArgumentException("成绩权重之和必须为100");
+        }
+        
+        log.info("更新课程成绩权重: {} -> {}/{}/{}", id,
+                request.getUsualWeight(), request.getMidtermWeight(), request.getFinalWeight());
+        
+        Course course = courseMapper.selectById(id);
+        if (course == null) {
+            throw new IllegalArgumentException("课程不存在");
+        }
+        if (teacherId != null && !teacherId.equals(course.getTeacherId())) {
+            throw new IllegalArgumentException("无权限修改此课程的成绩权重");
+        }
+        
+        // 只写权重列，避免把读取时的选课人数写回而覆盖并发的选课、退课
+        if (courseMapper.updateGradeWeights(id, request.getUsualWeight(), request.getMidtermWeight(),
+                request.getFinalWeight()) == 0) {
+            throw new IllegalArgumentException("课程不存在");
+        }
+        course.setUsualWeight(request.getUsualWeight());
+        course.setMidtermWeight(request.getMidtermWeight());
+        course.setFinalWeight(request.getFinalWeight());
+        log.info("课程成绩权重更新成功: {}", id);
+        
+        return course;
+    }
+
+    @Override
+    public Map<Long, GradeScoring.Weights> getGradeWeights(Collection<Long> courseIds) {
+        if (courseIds == null || courseIds.isEmpty()) {
+            return Map.of();
+        }
+        
+        return courseMapper.selectList(new LambdaQueryWrapper<Course>()
+                        .select(Course::getId, Course::getUsualWeight, Course::getMidtermWeight, Course::getFinalWeight)
+                        .in(Course::getId, new HashSet<>(courseIds)))
+                .stream()
+                .collect(Collectors.toMap(Course::getId,
+                        course -> GradeScoring.Weights.of(course.getUsualWeight(), course.getMidtermWeight(), course.getFinalWeight())));
+    }
 }
@@ -0,0 +1,56 @@
+package com.course.service.impl;
+
+import com.course.dto.DashboardStats;
+import com.course.mapper.StatisticsMapper;
+import com.course.service.DashboardService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+
+/**
+ * 仪表盘服务实现类
+ * 全部计数由一条聚合SQL得到，结果缓存 dashboard.stats-cache-ttl 秒
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final String STATS_KEY = "stats";
+
+    private final StatisticsMapper statisticsMapper;
+
+    @Value("${dashboard.stats-cache-ttl:5}")
+    private long statsCacheTtlSeconds;
+
+    private LoadingCache<String, DashboardStats> statsCache;
+
+    @PostConstruct
+    public void init() {
+        statsCache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofSeconds(statsCacheTtlSeconds))
+                .build(key -> loadStats());
+    }
+
+    @Override
+    public DashboardStats getStats() {
+        return statsCache.get(STATS_KEY);
+    }
+
+    private DashboardStats loadStats() {
+        DashboardStats stats = statisticsMapper.selectDashboardStats();
+        log.debug("仪表盘计数已刷新: {}", stats);
+        return stats;
+    }
+}
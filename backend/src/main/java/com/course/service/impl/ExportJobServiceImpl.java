@@ -0,0 +1,323 @@
+package com.course.service.impl;
+
+import com.course.dto.ExportJob;
+import com.course.service.ExportJobService;
+import com.course.service.ExportService;
+import com.course.utils.ExportFormat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 导出任务服务实现类
+ * 任务由有界线程池执行，报表写入本地临时文件，进度以已写入字节数表示；
+ * 合并窗口内相同报表类型和参数的请求直接返回已有任务，完成的文件保留一段时间后清理
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportJobServiceImpl implements ExportJobService {
+
+    /**
+     * 支持的报表类型 -> 文件名前缀
+     */
+    private static final Map<String, String> REPORT_NAMES = Map.of(
+            "grades", "成绩明细",
+            "roster", "课程花名册",
+            "users", "用户列表");
+
+    private final ExportService exportService;
+    private final ThreadPoolTaskExecutor exportJobExecutor;
+
+    @Value("${export.job.dir:${java.io.tmpdir}/course-exports}")
+    private String jobDir;
+
+    /**
+     * 相同请求合并窗口，单位秒
+     */
+    @Value("${export.job.coalesce-window:60}")
+    private long coalesceWindowSeconds;
+
+    /**
+     * 已完成任务文件保留时间，单位分钟
+     */
+    @Value("${export.job.retention:60}")
+    private long retentionMinutes;
+
+    /**
+     * 任务ID -> 任务状态
+     */
+    private final Map<String, JobState> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 报表类型+参数 -> 最近一次的任务ID
+     */
+    private final Map<String, String> recentJobs = new ConcurrentHashMap<>();
+
+    private Path directory;
+
+    @PostConstruct
+    public void init() {
+        directory = Paths.get(jobDir);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("无法创建导出目录: " + directory, e);
+        }
+        log.info("导出任务目录: {}", directory.toAbsolutePath());
+    }
+
+    @Override
+    public ExportJob submit(String reportType, Map<String, Object> params, Long userId, Long teacherId) {
+        if (!REPORT_NAMES.containsKey(reportType)) {
+            throw new IllegalArgumentException("不支持的报表类型: " + reportType);
+        }
+
+        // 参数排序后作为合并键的一部分，忽略空值
+        Map<String, Object> normalizedParams = new TreeMap<>();
+        if (params != null) {
+            params.forEach((key, value) -> {
+                if (value != null && !"".equals(value)) {
+                    normalizedParams.put(key, value);
+                }
+            });
+        }
+        // 教师范围由调用方确定，不接受请求参数中的值；教师ID进入合并键，不同教师不会共用同一个文件
+        normalizedParams.remove("teacherId");
+        if (teacherId != null) {
+            exportService.checkCourseScope(toLong(normalizedParams.get("courseId")), teacherId);
+            normalizedParams.put("teacherId", teacherId);
+        }
+        ExportFormat format = ExportFormat.of(Objects.toString(normalizedParams.get("format"), null));
+        normalizedParams.put("format", format.getCode());
+        String coalesceKey = reportType + normalizedParams;
+
+        JobState[] created = new JobState[1];
+        String jobId = recentJobs.compute(coalesceKey, (key, existingId) -> {
+            JobState existing = existingId != null ? jobs.get(existingId) : null;
+            if (existing != null && existing.isCoalescible(coalesceWindowSeconds)) {
+                existing.owners.add(userId);
+                return existingId;
+            }
+
+            JobState job = new JobState(UUID.randomUUID().toString().replace("-", ""), reportType,
+                    format, normalizedParams, coalesceKey, userId);
+            jobs.put(job.jobId, job);
+            created[0] = job;
+            return job.jobId;
+        });
+
+        JobState job = jobs.get(jobId);
+        if (created[0] != null) {
+            try {
+                exportJobExecutor.execute(() -> run(job));
+            } catch (TaskRejectedException e) {
+                jobs.remove(jobId);
+                recentJobs.remove(coalesceKey, jobId);
+                throw new IllegalArgumentException("导出任务过多，请稍后重试");
+            }
+            log.info("导出任务已提交: jobId={}, reportType={}, params={}", jobId, reportType, normalizedParams);
+        } else {
+            log.info("导出请求合并到已有任务: jobId={}, reportType={}", jobId, reportType);
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public ExportJob getJob(String jobId, Long userId, boolean admin) {
+        return findJob(jobId, userId, admin).toDto();
+    }
+
+    @Override
+    public Path getFile(String jobId, Long userId, boolean admin) {
+        JobState job = findJob(jobId, userId, admin);
+        if (job.status != ExportJob.STATUS_COMPLETED) {
+            throw new IllegalArgumentException("导出任务尚未完成");
+        }
+        return job.file;
+    }
+
+    /**
+     * 定时清理过期任务及其文件
+     */
+    @Scheduled(fixedDelayString = "${export.job.purge-interval:300000}")
+    public void purgeExpired() {
+        LocalDateTime expireBefore = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> {
+            if (job.finishTime == null || job.finishTime.isAfter(expireBefore)) {
+                return false;
+            }
+
+            recentJobs.remove(job.coalesceKey, job.jobId);
+            deleteQuietly(job.file);
+            log.debug("导出任务已清理: {}", job.jobId);
+            return true;
+        });
+    }
+
+    private JobState findJob(String jobId, Long userId, boolean admin) {
+        JobState job = jobs.get(jobId);
+        if (job == null || (!admin && !job.owners.contains(userId))) {
+            throw new IllegalArgumentException("导出任务不存在");
+        }
+        return job;
+    }
+
+    private void run(JobState job) {
+        job.status = ExportJob.STATUS_RUNNING;
+        Path file = directory.resolve(job.format.filename(job.jobId));
+        long start = System.currentTimeMillis();
+
+        try (OutputStream outputStream = new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)), job.bytesWritten)) {
+            exportService.exportComprehensiveReport(job.reportType, job.params, outputStream);
+        } catch (Exception e) {
+            log.error("导出任务失败: jobId={}", job.jobId, e);
+            deleteQuietly(file);
+            job.errorMessage = e.getMessage();
+            job.finishTime = LocalDateTime.now();
+            job.status = ExportJob.STATUS_FAILED;
+            return;
+        }
+
+        job.file = file;
+        job.finishTime = LocalDateTime.now();
+        job.status = ExportJob.STATUS_COMPLETED;
+        log.info("导出任务完成: jobId={}, bytes={}, 耗时={}ms",
+                job.jobId, job.bytesWritten.get(), System.currentTimeMillis() - start);
+    }
+
+    private Long toLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value instanceof Number ? ((Number) value).longValue() : Long.valueOf(value.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("课程ID格式错误: " + value);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导出文件失败: {}", file, e);
+        }
+    }
+
+    /**
+     * 单个导出任务的运行状态
+     */
+    private static final class JobState {
+
+        private final String jobId;
+
+        private final String reportType;
+
+        private final ExportFormat format;
+
+        private final Map<String, Object> params;
+
+        private final String coalesceKey;
+
+        private final LocalDateTime submitTime = LocalDateTime.now();
+
+        /**
+         * 可访问该任务的用户（提交人及被合并请求的提交人）
+         */
+        private final Set<Long> owners = ConcurrentHashMap.newKeySet();
+
+        private final AtomicLong bytesWritten = new AtomicLong();
+
+        private volatile int status = ExportJob.STATUS_PENDING;
+
+        private volatile Path file;
+
+        private volatile String errorMessage;
+
+        private volatile LocalDateTime finishTime;
+
+        private JobState(String jobId, String reportType, ExportFormat format, Map<String, Object> params,
+                         String coalesceKey, Long userId) {
+            this.jobId = jobId;
+            this.reportType = reportType;
+            this.format = format;
+            this.params = params;
+            this.coalesceKey = coalesceKey;
+            owners.add(userId);
+        }
+
+        private boolean isCoalescible(long windowSeconds) {
+            return status != ExportJob.STATUS_FAILED
+                    && submitTime.plusSeconds(windowSeconds).isAfter(LocalDateTime.now());
+        }
+
+        private ExportJob toDto() {
+            ExportJob dto = new ExportJob();
+            dto.setJobId(jobId);
+            dto.setReportType(reportType);
+            dto.setStatus(status);
+            dto.setBytesWritten(bytesWritten.get());
+            dto.setFormat(format.getCode());
+            dto.setFilename(format.filename(REPORT_NAMES.get(reportType) + "_" + submitTime.toLocalDate()));
+            dto.setErrorMessage(errorMessage);
+            dto.setSubmitTime(submitTime);
+            dto.setFinishTime(finishTime);
+            return dto;
+        }
+    }
+
+    /**
+     * 统计已写入字节数的输出流
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private final AtomicLong counter;
+
+        private CountingOutputStream(OutputStream out, AtomicLong counter) {
+            super(out);
+            this.counter = counter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            counter.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            counter.addAndGet(len);
+        }
+    }
+}
@@ -1,24 +1,36 @@
 package com.course.service.impl;
 
 import com.course.dto.StatisticsOverview;
+import com.course.entity.Course;
+import com.course.entity.CourseSelection;
+import com.course.entity.Grade;
+import com.course.entity.User;
+import com.course.mapper.CourseMapper;
+import com.course.mapper.CourseSelectionMapper;
+import com.course.mapper.GradeMapper;
+import com.course.mapper.UserMapper;
 import com.course.service.ExportService;
+import com.course.service.GradeService;
 import com.course.service.StatisticsService;
+import com.course.utils.ExportFormat;
+import com.course.utils.GradeAnalytics;
+import com.course.utils.TabularWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * 报表导出服务实现类
- * 
+ * 按导出格式创建 TabularWriter，流式生成报表并直接写入输出流；
+ * 明细导出通过 MyBatis ResultHandler 按 fetchSize 逐批读取，读一行写一行
+ *
  * @author 课程管理系统开发团队
  * @version 1.0.0
  * @since 2024-01-01
@@ -28,486 +40,414 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ExportServiceImpl implements ExportService {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 统计项报表列宽：统计项目、数值、说明
+     */
+    private static final int[] SUMMARY_COLUMN_WIDTHS = {24, 16, 36};
+
+    private static final String[] SUMMARY_HEADERS = {"统计项目", "数值", "说明"};
+
     private final StatisticsService statisticsService;
+    private final GradeService gradeService;
+    private final GradeMapper gradeMapper;
+    private final CourseMapper courseMapper;
+    private final CourseSelectionMapper courseSelectionMapper;
+    private final UserMapper userMapper;
 
     @Override
-    public byte[] exportStatisticsOverview() {
+    public void exportStatisticsOverview(ExportFormat format, OutputStream outputStream) throws IOException {
         log.info("导出统计概览报表");
-        
-        try (Workbook workbook = new XSSFWorkbook()) {
-            // 获取统计数据
-            StatisticsOverview overview = statisticsService.getStatisticsOverview();
-            
-            // 创建工作表
-            Sheet sheet = workbook.createSheet("统计概览");
-            
-            // 创建样式
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
-            
-            int rowNum = 0;
-            
-            // 创建标题
-            Row titleRow = sheet.createRow(rowNum++);
-            Cell titleCell = titleRow.createCell(0);
-            titleCell.setCellValue("课程管理系统统计概览报表");
-            titleCell.setCellStyle(headerStyle);
-            
-            // 生成时间
-            Row dateRow = sheet.createRow(rowNum++);
-            Cell dateCell = dateRow.createCell(0);
-            dateCell.setCellValue("生成时间：" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-            dateCell.setCellStyle(dataStyle);
-            
-            rowNum++; // 空行
-            
+
+        // 获取统计数据
+        StatisticsOverview overview = statisticsService.getStatisticsOverview();
+
+        try (TabularWriter writer = format.open(outputStream, "统计概览", 28, 16, 16, 16)) {
+            writer.title("课程管理系统统计概览报表")
+                    .line("生成时间：" + LocalDate.now().format(DATE_FORMATTER))
+                    .blankRow();
+
             // 用户统计
-            rowNum = addUserStatistics(sheet, overview.getUserStatistics(), rowNum, headerStyle, dataStyle);
-            rowNum++; // 空行
-            
+            addUserStatistics(writer, overview.getUserStatistics());
+            writer.blankRow();
+
             // 课程统计
-            rowNum = addCourseStatistics(sheet, overview.getCourseStatistics(), rowNum, headerStyle, dataStyle);
-            rowNum++; // 空行
-            
+            addCourseStatistics(writer, overview.getCourseStatistics());
+            writer.blankRow();
+
             // 成绩统计
-            rowNum = addGradeStatistics(sheet, overview.getGradeStatistics(), rowNum, headerStyle, dataStyle);
-            rowNum++; // 空行
-            
+            addGradeStatistics(writer, overview.getGradeStatistics());
+            writer.blankRow();
+
             // 公告统计
-            addAnnouncementStatistics(sheet, overview.getAnnouncementStatistics(), rowNum, headerStyle, dataStyle);
-            
-            // 自动调整列宽
-            for (int i = 0; i < 4; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            // 转换为字节数组
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
-            
-        } catch (IOException e) {
-            log.error("导出统计概览报表失败", e);
-            throw new RuntimeException("导出报表失败", e);
+            addAnnouncementStatistics(writer, overview.getAnnouncementStatistics());
+
+            writer.finish();
         }
     }
 
     @Override
-    public byte[] exportUserStatistics(LocalDate startDate, LocalDate endDate) {
+    public void exportUserStatistics(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream outputStream) throws IOException {
         log.info("导出用户统计报表: startDate={}, endDate={}", startDate, endDate);
-        
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("用户统计");
-            
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
-            
-            int rowNum = 0;
-            
-            // 标题
-            Row titleRow = sheet.createRow(rowNum++);
-            Cell titleCell = titleRow.createCell(0);
-            titleCell.setCellValue("用户统计报表");
-            titleCell.setCellStyle(headerStyle);
-            
-            // 时间范围
-            Row dateRow = sheet.createRow(rowNum++);
-            Cell dateCell = dateRow.createCell(0);
-            dateCell.setCellValue(String.format("统计时间：%s 至 %s", 
-                startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
-                endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"))));
-            dateCell.setCellStyle(dataStyle);
-            
-            rowNum++; // 空行
-            
-            // 获取用户统计数据
-            StatisticsOverview.UserStatistics userStats = statisticsService.getUserStatistics();
-            
-            // 表头
-            Row headerRow = sheet.createRow(rowNum++);
-            String[] headers = {"统计项目", "数值", "说明"};
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-            
+
+        // 获取用户统计数据
+        StatisticsOverview.UserStatistics userStats = statisticsService.getUserStatistics();
+
+        try (TabularWriter writer = format.open(outputStream, "用户统计", SUMMARY_COLUMN_WIDTHS)) {
+            writer.title("用户统计报表")
+                    .line(String.format("统计时间：%s 至 %s",
+                            startDate.format(DATE_FORMATTER), endDate.format(DATE_FORMATTER)))
+                    .blankRow()
+                    .header(SUMMARY_HEADERS);
+
             // 数据行
-            addDataRow(sheet, rowNum++, "总用户数", userStats.getTotalUsers(), "系统注册用户总数", dataStyle);
-            addDataRow(sheet, rowNum++, "学生数量", userStats.getStudentCount(), "学生角色用户数量", dataStyle);
-            addDataRow(sheet, rowNum++, "教师数量", userStats.getTeacherCount(), "教师角色用户数量", dataStyle);
-            addDataRow(sheet, rowNum++, "管理员数量", userStats.getAdminCount(), "管理员角色用户数量", dataStyle);
-            addDataRow(sheet, rowNum++, "活跃用户", userStats.getActiveUsers(), "最近30天活跃用户", dataStyle);
-            addDataRow(sheet, rowNum++, "本月新增", userStats.getNewUsersThisMonth(), "本月新注册用户", dataStyle);
-            addDataRow(sheet, rowNum++, "活跃率", userStats.getActiveRate() + "%", "活跃用户占比", dataStyle);
-            
-            // 自动调整列宽
-            for (int i = 0; i < 3; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
-            
-        } catch (IOException e) {
-            log.error("导出用户统计报表失败", e);
-            throw new RuntimeException("导出报表失败", e);
+            addDataRow(writer, "总用户数", userStats.getTotalUsers(), "系统注册用户总数");
+            addDataRow(writer, "学生数量", userStats.getStudentCount(), "学生角色用户数量");
+            addDataRow(writer, "教师数量", userStats.getTeacherCount(), "教师角色用户数量");
+            addDataRow(writer, "管理员数量", userStats.getAdminCount(), "管理员角色用户数量");
+            addDataRow(writer, "活跃用户", userStats.getActiveUsers(), "最近30天活跃用户");
+            addDataRow(writer, "本月新增", userStats.getNewUsersThisMonth(), "本月新注册用户");
+            addDataRow(writer, "活跃率", userStats.getActiveRate() + "%", "活跃用户占比");
+
+            writer.finish();
         }
     }
 
     @Override
-    public byte[] exportCourseStatistics(String semester) {
+    public void exportCourseStatistics(String semester, ExportFormat format, OutputStream outputStream) throws IOException {
         log.info("导出课程统计报表: semester={}", semester);
-        
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("课程统计");
-            
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
-            
-            int rowNum = 0;
-            
-            // 标题
-            Row titleRow = sheet.createRow(rowNum++);
-            Cell titleCell = titleRow.createCell(0);
-            titleCell.setCellValue("课程统计报表");
-            titleCell.setCellStyle(headerStyle);
-            
+
+        // 获取课程统计数据
+        StatisticsOverview.CourseStatistics courseStats = statisticsService.getCourseStatistics();
+
+        try (TabularWriter writer = format.open(outputStream, "课程统计", SUMMARY_COLUMN_WIDTHS)) {
+            writer.title("课程统计报表");
+
             // 学期信息
             if (semester != null && !semester.isEmpty()) {
-                Row semesterRow = sheet.createRow(rowNum++);
-                Cell semesterCell = semesterRow.createCell(0);
-                semesterCell.setCellValue("学期：" + semester);
-                semesterCell.setCellStyle(dataStyle);
+                writer.line("学期：" + semester);
             }
-            
-            rowNum++; // 空行
-            
-            // 获取课程统计数据
-            StatisticsOverview.CourseStatistics courseStats = statisticsService.getCourseStatistics();
-            
-            // 表头
-            Row headerRow = sheet.createRow(rowNum++);
-            String[] headers = {"统计项目", "数值", "说明"};
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-            
+            writer.blankRow().header(SUMMARY_HEADERS);
+
             // 数据行
-            addDataRow(sheet, rowNum++, "总课程数", courseStats.getTotalCourses(), "系统中所有课程", dataStyle);
-            addDataRow(sheet, rowNum++, "开放课程", courseStats.getOpenCourses(), "当前开放选课的课程", dataStyle);
-            addDataRow(sheet, rowNum++, "关闭课程", courseStats.getClosedCourses(), "已关闭选课的课程", dataStyle);
-            addDataRow(sheet, rowNum++, "必修课程", courseStats.getRequiredCourses(), "必修课程数量", dataStyle);
-            addDataRow(sheet, rowNum++, "选修课程", courseStats.getElectiveCourses(), "选修课程数量", dataStyle);
-            addDataRow(sheet, rowNum++, "总选课次数", courseStats.getTotalSelections(), "所有学生选课总次数", dataStyle);
-            addDataRow(sheet, rowNum++, "平均选课人数", courseStats.getAvgStudentsPerCourse(), "每门课程平均选课人数", dataStyle);
-            addDataRow(sheet, rowNum++, "本学期新增", courseStats.getNewCoursesThisSemester(), "本学期新开设课程", dataStyle);
-            
-            // 自动调整列宽
-            for (int i = 0; i < 3; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
-            
-        } catch (IOException e) {
-            log.error("导出课程统计报表失败", e);
-            throw new RuntimeException("导出报表失败", e);
+            addDataRow(writer, "总课程数", courseStats.getTotalCourses(), "系统中所有课程");
+            addDataRow(writer, "开放课程", courseStats.getOpenCourses(), "当前开放选课的课程");
+            addDataRow(writer, "关闭课程", courseStats.getClosedCourses(), "已关闭选课的课程");
+            addDataRow(writer, "必修课程", courseStats.getRequiredCourses(), "必修课程数量");
+            addDataRow(writer, "选修课程", courseStats.getElectiveCourses(), "选修课程数量");
+            addDataRow(writer, "总选课次数", courseStats.getTotalSelections(), "所有学生选课总次数");
+            addDataRow(writer, "平均选课人数", courseStats.getAvgStudentsPerCourse(), "每门课程平均选课人数");
+            addDataRow(writer, "本学期新增", courseStats.getNewCoursesThisSemester(), "本学期新开设课程");
+
+            writer.finish();
         }
     }
 
     @Override
-    public byte[] exportGradeStatistics(Long courseId, String semester) {
+    public void exportGradeStatistics(Long courseId, String semester, ExportFormat format, OutputStream outputStream) throws IOException {
         log.info("导出成绩统计报表: courseId={}, semester={}", courseId, semester);
-        
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("成绩统计");
-            
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
-            
-            int rowNum = 0;
-            
-            // 标题
-            Row titleRow = sheet.createRow(rowNum++);
-            Cell titleCell = titleRow.createCell(0);
-            titleCell.setCellValue("成绩统计报表");
-            titleCell.setCellStyle(headerStyle);
-            
+
+        // 获取成绩统计数据
+        StatisticsOverview.GradeStatistics gradeStats = statisticsService.getGradeStatistics();
+
+        try (TabularWriter writer = format.open(outputStream, "成绩统计", SUMMARY_COLUMN_WIDTHS)) {
+            writer.title("成绩统计报表");
+
             // 筛选条件
             if (courseId != null) {
-                Row courseRow = sheet.createRow(rowNum++);
-                Cell courseCell = courseRow.createCell(0);
-                courseCell.setCellValue("课程ID：" + courseId);
-                courseCell.setCellStyle(dataStyle);
+                writer.line("课程ID：" + courseId);
             }
-            
             if (semester != null && !semester.isEmpty()) {
-                Row semesterRow = sheet.createRow(rowNum++);
-                Cell semesterCell = semesterRow.createCell(0);
-                semesterCell.setCellValue("学期：" + semester);
-                semesterCell.setCellStyle(dataStyle);
-            }
-            
-            rowNum++; // 空行
-            
-            // 获取成绩统计数据
-            StatisticsOverview.GradeStatistics gradeStats = statisticsService.getGradeStatistics();
-            
-            // 表头
-            Row headerRow = sheet.createRow(rowNum++);
-            String[] headers = {"统计项目", "数值", "说明"};
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
+                writer.line("学期：" + semester);
             }
-            
+            writer.blankRow().header(SUMMARY_HEADERS);
+
             // 数据行
-            addDataRow(sheet, rowNum++, "总成绩记录", gradeStats.getTotalGrades(), "所有成绩记录数", dataStyle);
-            addDataRow(sheet, rowNum++, "已录入成绩", gradeStats.getGradedCount(), "已录入成绩的记录数", dataStyle);
-            addDataRow(sheet, rowNum++, "未录入成绩", gradeStats.getUngradedCount(), "未录入成绩的记录数", dataStyle);
-            addDataRow(sheet, rowNum++, "平均成绩", gradeStats.getAverageScore(), "所有已录入成绩的平均值", dataStyle);
-            addDataRow(sheet, rowNum++, "及格人数", gradeStats.getPassedCount(), "成绩≥60分的人数", dataStyle);
-            addDataRow(sheet, rowNum++, "不及格人数", gradeStats.getFailedCount(), "成绩<60分的人数", dataStyle);
-            addDataRow(sheet, rowNum++, "及格率", gradeStats.getPassRate() + "%", "及格人数占比", dataStyle);
-            addDataRow(sheet, rowNum++, "优秀率", gradeStats.getExcellentRate() + "%", "成绩≥90分的人数占比", dataStyle);
-            
-            // 自动调整列宽
-            for (int i = 0; i < 3; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
-            
-        } catch (IOException e) {
-            log.error("导出成绩统计报表失败", e);
-            throw new RuntimeException("导出报表失败", e);
+            addDataRow(writer, "总成绩记录", gradeStats.getTotalGrades(), "所有成绩记录数");
+            addDataRow(writer, "已录入成绩", gradeStats.getGradedCount(), "已录入成绩的记录数");
+            addDataRow(writer, "未录入成绩", gradeStats.getUngradedCount(), "未录入成绩的记录数");
+            addDataRow(writer, "平均成绩", gradeStats.getAverageScore(), "所有已录入成绩的平均值");
+            addDataRow(writer, "及格人数", gradeStats.getPassedCount(), "成绩≥60分的人数");
+            addDataRow(writer, "不及格人数", gradeStats.getFailedCount(), "成绩<60分的人数");
+            addDataRow(writer, "及格率", gradeStats.getPassRate() + "%", "及格人数占比");
+            addDataRow(writer, "优秀率", gradeStats.getExcellentRate() + "%", "成绩≥90分的人数占比");
+
+            // 筛选范围内的成绩分布
+            addScoreDistribution(writer, gradeService.analyzeScores(courseId, semester));
+
+            writer.finish();
         }
     }
 
     @Override
-    public byte[] exportAnnouncementStatistics(LocalDate startDate, LocalDate endDate) {
+    public void exportAnnouncementStatistics(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream outputStream) throws IOException {
         log.info("导出公告统计报表: startDate={}, endDate={}", startDate, endDate);
-        
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("公告统计");
-            
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
-            
-            int rowNum = 0;
-            
-            // 标题
-            Row titleRow = sheet.createRow(rowNum++);
-            Cell titleCell = titleRow.createCell(0);
-            titleCell.setCellValue("公告统计报表");
-            titleCell.setCellStyle(headerStyle);
-            
-            // 时间范围
-            Row dateRow = sheet.createRow(rowNum++);
-            Cell dateCell = dateRow.createCell(0);
-            dateCell.setCellValue(String.format("统计时间：%s 至 %s", 
-                startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
-                endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"))));
-            dateCell.setCellStyle(dataStyle);
-            
-            rowNum++; // 空行
-            
-            // 获取公告统计数据
-            StatisticsOverview.AnnouncementStatistics announcementStats = statisticsService.getAnnouncementStatistics();
-            
-            // 表头
-            Row headerRow = sheet.createRow(rowNum++);
-            String[] headers = {"统计项目", "数值", "说明"};
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-            
+
+        // 获取公告统计数据
+        StatisticsOverview.AnnouncementStatistics announcementStats = statisticsService.getAnnouncementStatistics();
+
+        try (TabularWriter writer = format.open(outputStream, "公告统计", SUMMARY_COLUMN_WIDTHS)) {
+            writer.title("公告统计报表")
+                    .line(String.format("统计时间：%s 至 %s",
+                            startDate.format(DATE_FORMATTER), endDate.format(DATE_FORMATTER)))
+                    .blankRow()
+                    .header(SUMMARY_HEADERS);
+
             // 数据行
-            addDataRow(sheet, rowNum++, "总公告数", announcementStats.getTotalAnnouncements(), "系统中所有公告", dataStyle);
-            addDataRow(sheet, rowNum++, "已发布公告", announcementStats.getPublishedCount(), "已发布状态的公告", dataStyle);
-            addDataRow(sheet, rowNum++, "草稿公告", announcementStats.getDraftCount(), "草稿状态的公告", dataStyle);
-            addDataRow(sheet, rowNum++, "置顶公告", announcementStats.getTopCount(), "设置为置顶的公告", dataStyle);
-            addDataRow(sheet, rowNum++, "本月发布", announcementStats.getPublishedThisMonth(), "本月发布的公告数", dataStyle);
-            addDataRow(sheet, rowNum++, "总阅读次数", announcementStats.getTotalReadCount(), "所有公告的总阅读次数", dataStyle);
-            addDataRow(sheet, rowNum++, "平均阅读次数", announcementStats.getAvgReadCount(), "每条公告的平均阅读次数", dataStyle);
-            
-            // 自动调整列宽
-            for (int i = 0; i < 3; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
-            
-        } catch (IOException e) {
-            log.error("导出公告统计报表失败", e);
-            throw new RuntimeException("导出报表失败", e);
+            addDataRow(writer, "总公告数", announcementStats.getTotalAnnouncements(), "系统中所有公告");
+            addDataRow(writer, "已发布公告", announcementStats.getPublishedCount(), "已发布状态的公告");
+            addDataRow(writer, "草稿公告", announcementStats.getDraftCount(), "草稿状态的公告");
+            addDataRow(writer, "置顶公告", announcementStats.getTopCount(), "设置为置顶的公告");
+            addDataRow(writer, "本月发布", announcementStats.getPublishedThisMonth(), "本月发布的公告数");
+            addDataRow(writer, "总阅读次数", announcementStats.getTotalReadCount(), "所有公告的总阅读次数");
+            addDataRow(writer, "平均阅读次数", announcementStats.getAvgReadCount(), "每条公告的平均阅读次数");
+
+            writer.finish();
+        }
+    }
+
+    @Override
+    public void checkCourseScope(Long courseId, Long teacherId) {
+        if (teacherId == null) {
+            return;
+        }
+        if (courseId == null) {
+            throw new IllegalArgumentException("请指定要导出的课程");
+        }
+        Course course = courseMapper.selectById(courseId);
+        if (course == null) {
+            throw new IllegalArgumentException("课程不存在");
+        }
+        if (!teacherId.equals(course.getTeacherId())) {
+            throw new IllegalArgumentException("无权限导出此课程的数据");
         }
     }
 
     @Override
-    public byte[] exportPopularCourses(Integer limit) {
-        // 实现热门课程排行导出
-        return new byte[0]; // 简化实现
+    public void exportGradeDetails(String semester, Long courseId, Long teacherId, ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("导出成绩明细: semester={}, courseId={}, teacherId={}", semester, courseId, teacherId);
+
+        try (TabularWriter writer = format.open(outputStream, "成绩明细", 16, 12, 14, 28, 14, 10, 10, 10, 10, 8)) {
+            writer.header("学号", "姓名", "课程编码", "课程名称", "学期",
+                    "平时成绩", "期中成绩", "期末成绩", "总成绩", "等级");
+
+            // 逐行写入，结果集不在内存中保留
+            gradeMapper.streamGradeDetails(semester, courseId, teacherId, context -> {
+                Grade grade = context.getResultObject();
+                writer.row(grade.getStudentNumber(), grade.getStudentName(),
+                        grade.getCourseCode(), grade.getCourseName(), grade.getSemester(),
+                        grade.getUsualScore(), grade.getMidtermScore(), grade.getFinalScore(),
+                        grade.getTotalScore(), grade.getGradeLevel());
+            });
+
+            writer.finish();
+            log.info("成绩明细导出完成: {} 行", writer.getRowCount() - 1);
+        }
     }
 
     @Override
-    public byte[] exportTopStudents(String semester, Integer limit) {
-        // 实现优秀学生排行导出
-        return new byte[0]; // 简化实现
+    public void exportCourseRoster(Long courseId, Long teacherId, ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("导出课程花名册: courseId={}, teacherId={}", courseId, teacherId);
+
+        try (TabularWriter writer = format.open(outputStream, "课程花名册", 14, 28, 16, 12, 20)) {
+            writer.header("课程编码", "课程名称", "学号", "姓名", "选课时间");
+
+            courseSelectionMapper.streamRoster(courseId, teacherId, context -> {
+                CourseSelection selection = context.getResultObject();
+                writer.row(selection.getCourseCode(), selection.getCourseName(),
+                        selection.getStudentNumber(), selection.getStudentName(),
+                        selection.getSelectionTime() != null ? selection.getSelectionTime().format(DATE_TIME_FORMATTER) : null);
+            });
+
+            writer.finish();
+            log.info("课程花名册导出完成: {} 行", writer.getRowCount() - 1);
+        }
     }
 
     @Override
-    public byte[] exportComprehensiveReport(String reportType, Map<String, Object> params) {
-        // 实现综合报表导出
-        return new byte[0]; // 简化实现
+    public void exportUserList(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("导出用户列表");
+
+        try (TabularWriter writer = format.open(outputStream, "用户列表", 10, 16, 12, 28, 16, 6, 8, 20)) {
+            writer.header("用户ID", "用户名", "姓名", "邮箱", "手机号", "性别", "状态", "创建时间");
+
+            userMapper.streamUsers(context -> {
+                User user = context.getResultObject();
+                writer.row(user.getId(), user.getUsername(), user.getRealName(), user.getEmail(), user.getPhone(),
+                        genderName(user.getGender()),
+                        user.getStatus() != null && user.getStatus() == 1 ? "启用" : "禁用",
+                        user.getCreateTime() != null ? user.getCreateTime().format(DATE_TIME_FORMATTER) : null);
+            });
+
+            writer.finish();
+            log.info("用户列表导出完成: {} 行", writer.getRowCount() - 1);
+        }
     }
 
-    // 辅助方法
-    private CellStyle createHeaderStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        font.setFontHeightInPoints((short) 12);
-        style.setFont(font);
-        style.setAlignment(HorizontalAlignment.CENTER);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
+    @Override
+    public void exportPopularCourses(Integer limit, ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("导出热门课程排行: limit={}", limit);
+
+        try (TabularWriter writer = format.open(outputStream, "热门课程排行", 8, 14, 28, 12, 10, 10, 10)) {
+            writer.header("排名", "课程编码", "课程名称", "授课教师", "选课人数", "课程容量", "满员率(%)");
+
+            for (Map<String, Object> course : statisticsService.getPopularCourses(limit)) {
+                writer.row(course.get("rank"), course.get("courseCode"), course.get("courseName"),
+                        course.get("teacherName"), course.get("currentStudents"), course.get("maxStudents"),
+                        course.get("fillRate"));
+            }
+
+            writer.finish();
+        }
+    }
+
+    @Override
+    public void exportTopStudents(String semester, Integer limit, ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("导出优秀学生排行: semester={}, limit={}", semester, limit);
+
+        try (TabularWriter writer = format.open(outputStream, "优秀学生排行", 8, 16, 12, 14, 10, 10)) {
+            writer.header("排名", "学号", "姓名", "学期", "平均成绩", "课程数");
+
+            for (Map<String, Object> student : statisticsService.getTopStudents(semester, limit)) {
+                writer.row(student.get("rank"), student.get("studentNumber"), student.get("studentName"),
+                        semester != null ? semester : "全部", student.get("averageScore"), student.get("courseCount"));
+            }
+
+            writer.finish();
+        }
     }
 
-    private CellStyle createDataStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        style.setAlignment(HorizontalAlignment.LEFT);
-        style.setVerticalAlignment(VerticalAlignment.CENTER);
-        style.setBorderTop(BorderStyle.THIN);
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBorderLeft(BorderStyle.THIN);
-        style.setBorderRight(BorderStyle.THIN);
-        return style;
+    @Override
+    public void exportComprehensiveReport(String reportType, Map<String, Object> params, OutputStream outputStream) throws IOException {
+        Map<String, Object> reportParams = params != null ? params : Map.of();
+        ExportFormat format = ExportFormat.of(Objects.toString(reportParams.get("format"), null));
+        Long teacherId = toLong(reportParams.get("teacherId"));
+        switch (reportType) {
+            case "grades":
+                exportGradeDetails((String) reportParams.get("semester"), toLong(reportParams.get("courseId")),
+                        teacherId, format, outputStream);
+                break;
+            case "roster":
+                exportCourseRoster(toLong(reportParams.get("courseId")), teacherId, format, outputStream);
+                break;
+            case "users":
+                exportUserList(format, outputStream);
+                break;
+            default:
+                throw new IllegalArgumentException("不支持的报表类型: " + reportType);
+        }
     }
 
-    private int addUserStatistics(Sheet sheet, StatisticsOverview.UserStatistics userStats, int startRow, 
-                                  CellStyle headerStyle, CellStyle dataStyle) {
-        int rowNum = startRow;
-        
+    // 辅助方法
+    private void addUserStatistics(TabularWriter writer, StatisticsOverview.UserStatistics userStats) {
         // 用户统计标题
-        Row titleRow = sheet.createRow(rowNum++);
-        Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("用户统计");
-        titleCell.setCellStyle(headerStyle);
-        
+        writer.title("用户统计");
+
         // 用户统计数据
-        addDataRow(sheet, rowNum++, "总用户数", userStats.getTotalUsers(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "学生数量", userStats.getStudentCount(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "教师数量", userStats.getTeacherCount(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "管理员数量", userStats.getAdminCount(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "活跃用户", userStats.getActiveUsers(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "本月新增", userStats.getNewUsersThisMonth(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "活跃率", userStats.getActiveRate() + "%", "", dataStyle);
-        
-        return rowNum;
+        addDataRow(writer, "总用户数", userStats.getTotalUsers(), null);
+        addDataRow(writer, "学生数量", userStats.getStudentCount(), null);
+        addDataRow(writer, "教师数量", userStats.getTeacherCount(), null);
+        addDataRow(writer, "管理员数量", userStats.getAdminCount(), null);
+        addDataRow(writer, "活跃用户", userStats.getActiveUsers(), null);
+        addDataRow(writer, "本月新增", userStats.getNewUsersThisMonth(), null);
+        addDataRow(writer, "活跃率", userStats.getActiveRate() + "%", null);
     }
 
-    private int addCourseStatistics(Sheet sheet, StatisticsOverview.CourseStatistics courseStats, int startRow,
-                                   CellStyle headerStyle, CellStyle dataStyle) {
-        int rowNum = startRow;
-        
+    private void addCourseStatistics(TabularWriter writer, StatisticsOverview.CourseStatistics courseStats) {
         // 课程统计标题
-        Row titleRow = sheet.createRow(rowNum++);
-        Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("课程统计");
-        titleCell.setCellStyle(headerStyle);
-        
+        writer.title("课程统计");
+
         // 课程统计数据
-        addDataRow(sheet, rowNum++, "总课程数", courseStats.getTotalCourses(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "开放课程", courseStats.getOpenCourses(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "关闭课程", courseStats.getClosedCourses(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "必修课程", courseStats.getRequiredCourses(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "选修课程", courseStats.getElectiveCourses(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "总选课次数", courseStats.getTotalSelections(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "平均选课人数", courseStats.getAvgStudentsPerCourse(), "", dataStyle);
-        
-        return rowNum;
+        addDataRow(writer, "总课程数", courseStats.getTotalCourses(), null);
+        addDataRow(writer, "开放课程", courseStats.getOpenCourses(), null);
+        addDataRow(writer, "关闭课程", courseStats.getClosedCourses(), null);
+        addDataRow(writer, "必修课程", courseStats.getRequiredCourses(), null);
+        addDataRow(writer, "选修课程", courseStats.getElectiveCourses(), null);
+        addDataRow(writer, "总选课次数", courseStats.getTotalSelections(), null);
+        addDataRow(writer, "平均选课人数", courseStats.getAvgStudentsPerCourse(), null);
     }
 
-    private int addGradeStatistics(Sheet sheet, StatisticsOverview.GradeStatistics gradeStats, int startRow,
-                                  CellStyle headerStyle, CellStyle dataStyle) {
-        int rowNum = startRow;
-        
+    private void addGradeStatistics(TabularWriter writer, StatisticsOverview.GradeStatistics gradeStats) {
         // 成绩统计标题
-        Row titleRow = sheet.createRow(rowNum++);
-        Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("成绩统计");
-        titleCell.setCellStyle(headerStyle);
-        
+        writer.title("成绩统计");
+
         // 成绩统计数据
-        addDataRow(sheet, rowNum++, "总成绩记录", gradeStats.getTotalGrades(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "已录入成绩", gradeStats.getGradedCount(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "未录入成绩", gradeStats.getUngradedCount(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "平均成绩", gradeStats.getAverageScore(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "及格人数", gradeStats.getPassedCount(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "不及格人数", gradeStats.getFailedCount(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "及格率", gradeStats.getPassRate() + "%", "", dataStyle);
-        addDataRow(sheet, rowNum++, "优秀率", gradeStats.getExcellentRate() + "%", "", dataStyle);
-        
-        return rowNum;
+        addDataRow(writer, "总成绩记录", gradeStats.getTotalGrades(), null);
+        addDataRow(writer, "已录入成绩", gradeStats.getGradedCount(), null);
+        addDataRow(writer, "未录入成绩", gradeStats.getUngradedCount(), null);
+        addDataRow(writer, "平均成绩", gradeStats.getAverageScore(), null);
+        addDataRow(writer, "及格人数", gradeStats.getPassedCount(), null);
+        addDataRow(writer, "不及格人数", gradeStats.getFailedCount(), null);
+        addDataRow(writer, "及格率", gradeStats.getPassRate() + "%", null);
+        addDataRow(writer, "优秀率", gradeStats.getExcellentRate() + "%", null);
     }
 
-    private int addAnnouncementStatistics(Sheet sheet, StatisticsOverview.AnnouncementStatistics announcementStats, 
-                                         int startRow, CellStyle headerStyle, CellStyle dataStyle) {
-        int rowNum = startRow;
-        
+    private void addAnnouncementStatistics(TabularWriter writer,
+                                           StatisticsOverview.AnnouncementStatistics announcementStats) {
         // 公告统计标题
-        Row titleRow = sheet.createRow(rowNum++);
-        Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("公告统计");
-        titleCell.setCellStyle(headerStyle);
-        
+        writer.title("公告统计");
+
         // 公告统计数据
-        addDataRow(sheet, rowNum++, "总公告数", announcementStats.getTotalAnnouncements(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "已发布公告", announcementStats.getPublishedCount(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "草稿公告", announcementStats.getDraftCount(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "置顶公告", announcementStats.getTopCount(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "本月发布", announcementStats.getPublishedThisMonth(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "总阅读次数", announcementStats.getTotalReadCount(), "", dataStyle);
-        addDataRow(sheet, rowNum++, "平均阅读次数", announcementStats.getAvgReadCount(), "", dataStyle);
-        
-        return rowNum;
+        addDataRow(writer, "总公告数", announcementStats.getTotalAnnouncements(), null);
+        addDataRow(writer, "已发布公告", announcementStats.getPublishedCount(), null);
+        addDataRow(writer, "草稿公告", announcementStats.getDraftCount(), null);
+        addDataRow(writer, "置顶公告", announcementStats.getTopCount(), null);
+        addDataRow(writer, "本月发布", announcementStats.getPublishedThisMonth(), null);
+        addDataRow(writer, "总阅读次数", announcementStats.getTotalReadCount(), null);
+        addDataRow(writer, "平均阅读次数", announcementStats.getAvgReadCount(), null);
+    }
+
+    private void addScoreDistribution(TabularWriter writer, GradeAnalytics analytics) {
+        writer.blankRow().title("成绩分布").header(SUMMARY_HEADERS);
+        addDataRow(writer, "统计人数", analytics.getCount(), "筛选范围内已录入总成绩的记录数");
+        if (analytics.isEmpty()) {
+            return;
+        }
+        addDataRow(writer, "平均成绩", analytics.getMean(), null);
+        addDataRow(writer, "中位数", analytics.getMedian(), null);
+        addDataRow(writer, "标准差", analytics.getStandardDeviation(), "总体标准差");
+        addDataRow(writer, "最高分", analytics.getMax(), null);
+        addDataRow(writer, "最低分", analytics.getMin(), null);
+        addDataRow(writer, "25分位数", analytics.getPercentile(25), null);
+        addDataRow(writer, "75分位数", analytics.getPercentile(75), null);
+
+        int[] histogram = analytics.getHistogram(10);
+        for (int i = 6; i < histogram.length; i++) {
+            addDataRow(writer, (i * 10) + "-" + (i == histogram.length - 1 ? 100 : i * 10 + 9) + "分",
+                    histogram[i], null);
+        }
+        int failed = 0;
+        for (int i = 0; i < 6; i++) {
+            failed += histogram[i];
+        }
+        addDataRow(writer, "60分以下", failed, null);
+    }
+
+    private void addDataRow(TabularWriter writer, String label, Object value, String description) {
+        writer.row(label, value != null ? value.toString() : "0", description);
+    }
+
+    private String genderName(Integer gender) {
+        if (gender == null) {
+            return "未知";
+        }
+        switch (gender) {
+            case 1:
+                return "男";
+            case 2:
+                return "女";
+            default:
+                return "未知";
+        }
     }
 
-    private void addDataRow(Sheet sheet, int rowNum, String label, Object value, String description, CellStyle style) {
-        Row row = sheet.createRow(rowNum);
-        
-        Cell labelCell = row.createCell(0);
-        labelCell.setCellValue(label);
-        labelCell.setCellStyle(style);
-        
-        Cell valueCell = row.createCell(1);
-        valueCell.setCellValue(value != null ? value.toString() : "0");
-        valueCell.setCellStyle(style);
-        
-        if (description != null && !description.isEmpty()) {
-            Cell descCell = row.createCell(2);
-            descCell.setCellValue(description);
-            descCell.setCellStyle(style);
+    private Long toLong(Object value) {
+        if (value == null) {
+            return null;
         }
+        return value instanceof Number ? ((Number) value).longValue() : Long.valueOf(value.toString());
     }
 }
@@ -0,0 +1,384 @@
+package com.course.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.course.dto.GradeImportResult;
+import com.course.entity.Course;
+import com.course.entity.CourseSelection;
+import com.course.entity.Grade;
+import com.course.entity.User;
+import com.course.mapper.CourseMapper;
+import com.course.mapper.CourseSelectionMapper;
+import com.course.mapper.GradeMapper;
+import com.course.mapper.UserMapper;
+import com.course.service.GradeImportService;
+import com.course.service.LeaderboardService;
+import com.course.service.SemesterRankingService;
+import com.course.utils.DelimitedReader;
+import com.course.utils.ExcelStreamReader;
+import com.course.utils.GradeScoring;
+import com.course.utils.TabularReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 成绩导入服务实现类
+ * 解析、校验、计算、写入组成流水线：读取器逐行回调，行校验后进入批次缓冲，
+ * 每满 chunk-size 行批量解析学号和课程编码、校验选课关系，按定点数计算总成绩后通过 batchUpsert 写入；
+ * 内存中只保留一个批次和有上限的错误列表，每个批次独立提交，失败行不影响其他行
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GradeImportServiceImpl implements GradeImportService {
+
+    private static final String COLUMN_STUDENT_NUMBER = "学号";
+    private static final String COLUMN_COURSE_CODE = "课程编码";
+    private static final String COLUMN_SEMESTER = "学期";
+    private static final String COLUMN_USUAL_SCORE = "平时成绩";
+    private static final String COLUMN_MIDTERM_SCORE = "期中成绩";
+    private static final String COLUMN_FINAL_SCORE = "期末成绩";
+
+    private static final int MAX_SEMESTER_LENGTH = 20;
+
+    private static final BigDecimal MAX_SCORE = BigDecimal.valueOf(100);
+
+    private final GradeMapper gradeMapper;
+    private final UserMapper userMapper;
+    private final CourseMapper courseMapper;
+    private final CourseSelectionMapper courseSelectionMapper;
+    private final LeaderboardService leaderboardService;
+    private final SemesterRankingService semesterRankingService;
+
+    @Value("${grade.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${grade.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Override
+    public GradeImportResult importGrades(MultipartFile file, Long teacherId) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("导入文件不能为空");
+        }
+        String filename = Objects.requireNonNullElse(file.getOriginalFilename(), "").toLowerCase(Locale.ROOT);
+        log.info("导入成绩: file={}, size={}, teacherId={}", filename, file.getSize(), teacherId);
+
+        long start = System.currentTimeMillis();
+        ImportSession session = new ImportSession(teacherId);
+        try {
+            if (filename.endsWith(".xlsx")) {
+                // xlsx 需要随机访问 zip 条目，先落到临时文件再按文件打开
+                Path temp = Files.createTempFile("grade-import-", ".xlsx");
+                try {
+                    file.transferTo(temp);
+                    try (TabularReader reader = new ExcelStreamReader(temp)) {
+                        reader.read(session);
+                    }
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            } else if (filename.endsWith(".csv") || filename.endsWith(".tsv")) {
+                try (InputStream inputStream = file.getInputStream();
+                     TabularReader reader = new DelimitedReader(inputStream, filename.endsWith(".csv") ? ',' : '\t')) {
+                    reader.read(session);
+                }
+            } else {
+                throw new IllegalArgumentException("不支持的文件格式，请上传 xlsx、csv 或 tsv 文件");
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("读取导入文件失败: " + e.getMessage(), e);
+        }
+        session.finish();
+
+        GradeImportResult result = session.result;
+        log.info("成绩导入完成: 共{}行, 成功{}行, 失败{}行, 耗时={}ms", result.getTotalRows(),
+                result.getSuccessCount(), result.getFailureCount(), System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * 单次导入的状态：表头列位置、当前批次和导入结果
+     */
+    private final class ImportSession implements TabularReader.RowHandler {
+
+        private final Long teacherId;
+
+        private final GradeImportResult result = new GradeImportResult();
+
+        private final List<ImportRow> chunk = new ArrayList<>();
+
+        private Map<String, Integer> columns;
+
+        private ImportSession(Long teacherId) {
+            this.teacherId = teacherId;
+        }
+
+        @Override
+        public void row(int rowNumber, List<String> cells) {
+            if (isBlank(cells)) {
+                return;
+            }
+            if (columns == null) {
+                columns = parseHeader(cells);
+                return;
+            }
+
+            result.setTotalRows(result.getTotalRows() + 1);
+            ImportRow row = new ImportRow(rowNumber);
+            try {
+                row.studentNumber = required(cells, COLUMN_STUDENT_NUMBER);
+                row.courseCode = required(cells, COLUMN_COURSE_CODE);
+                row.semester = required(cells, COLUMN_SEMESTER);
+                if (row.semester.length() > MAX_SEMESTER_LENGTH) {
+                    throw new IllegalArgumentException("学期长度不能超过" + MAX_SEMESTER_LENGTH + "个字符");
+                }
+                row.usualScore = score(cells, COLUMN_USUAL_SCORE);
+                row.midtermScore = score(cells, COLUMN_MIDTERM_SCORE);
+                row.finalScore = score(cells, COLUMN_FINAL_SCORE);
+                if (row.usualScore == null && row.midtermScore == null && row.finalScore == null) {
+                    throw new IllegalArgumentException("至少填写一项成绩");
+                }
+            } catch (IllegalArgumentException e) {
+                addError(rowNumber, e.getMessage());
+                return;
+            }
+
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void finish() {
+            if (columns == null) {
+                throw new IllegalArgumentException("导入文件没有表头");
+            }
+            flush();
+        }
+
+        /**
+         * 批量解析当前批次的学号、课程编码和选课关系，计算总成绩后写入
+         */
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            Map<String, Long> studentIds = userMapper.selectList(new LambdaQueryWrapper<User>()
+                            .select(User::getId, User::getUsername)
+                            .in(User::getUsername, distinct(ImportRow::getStudentNumber)))
+                    .stream()
+                    .collect(Collectors.toMap(User::getUsername, User::getId));
+            Map<String, Course> courses = courseMapper.selectList(new LambdaQueryWrapper<Course>()
+                            .select(Course::getId, Course::getCourseCode, Course::getTeacherId, Course::getSemester,
+                                    Course::getUsualWeight, Course::getMidtermWeight, Course::getFinalWeight)
+                            .in(Course::getCourseCode, distinct(ImportRow::getCourseCode)))
+                    .stream()
+                    .collect(Collectors.toMap(Course::getCourseCode, Function.identity()));
+            Set<String> selections = loadSelections(studentIds.values(), courses.values());
+
+            List<Grade> grades = new ArrayList<>(chunk.size());
+            List<ImportRow> accepted = new ArrayList<>(chunk.size());
+            for (ImportRow row : chunk) {
+                Long studentId = studentIds.get(row.studentNumber);
+                Course course = courses.get(row.courseCode);
+                if (studentId == null) {
+                    addError(row.rowNumber, "学号不存在: " + row.studentNumber);
+                } else if (course == null) {
+                    addError(row.rowNumber, "课程编码不存在: " + row.courseCode);
+                } else if (teacherId != null && !teacherId.equals(course.getTeacherId())) {
+                    addError(row.rowNumber, "无权录入该课程成绩: " + row.courseCode);
+                } else if (course.getSemester() != null && !course.getSemester().equals(row.semester)) {
+                    addError(row.rowNumber, "学期与课程开课学期不一致: " + row.semester + "（课程学期: " + course.getSemester() + "）");
+                } else if (!selections.contains(selectionKey(studentId, course.getId()))) {
+                    addError(row.rowNumber, "该学生未选择此课程，无法录入成绩");
+                } else {
+                    grades.add(toGrade(row, studentId, course));
+                    accepted.add(row);
+                }
+            }
+            chunk.clear();
+
+            if (grades.isEmpty()) {
+                return;
+            }
+            try {
+                gradeMapper.batchUpsert(grades);
+            } catch (DataAccessException e) {
+                log.warn("成绩导入批次写入失败: {}", e.getMessage());
+                accepted.forEach(row -> addError(row.rowNumber, "写入数据库失败"));
+                return;
+            }
+            result.setSuccessCount(result.getSuccessCount() + grades.size());
+            leaderboardService.onGradesChanged(grades.stream().map(Grade::getStudentId).collect(Collectors.toList()));
+            semesterRankingService.onGradesChanged(grades.stream().map(Grade::getSemester).collect(Collectors.toSet()));
+        }
+
+        private Set<String> loadSelections(Collection<Long> studentIds, Collection<Course> courses) {
+            if (studentIds.isEmpty() || courses.isEmpty()) {
+                return Set.of();
+            }
+            return courseSelectionMapper.selectList(new LambdaQueryWrapper<CourseSelection>()
+                            .select(CourseSelection::getStudentId, CourseSelection::getCourseId)
+                            .in(CourseSelection::getStudentId, new HashSet<>(studentIds))
+                            .in(CourseSelection::getCourseId, courses.stream().map(Course::getId).collect(Collectors.toSet()))
+                            .eq(CourseSelection::getStatus, 1))
+                    .stream()
+                    .map(selection -> selectionKey(selection.getStudentId(), selection.getCourseId()))
+                    .collect(Collectors.toSet());
+        }
+
+        private Grade toGrade(ImportRow row, Long studentId, Course course) {
+            Grade grade = new Grade();
+            grade.setStudentId(studentId);
+            grade.setCourseId(course.getId());
+            grade.setSemester(row.semester);
+            grade.setUsualScore(row.usualScore);
+            grade.setMidtermScore(row.midtermScore);
+            grade.setFinalScore(row.finalScore);
+
+            GradeScoring.Weights weights = GradeScoring.Weights.of(
+                    course.getUsualWeight(), course.getMidtermWeight(), course.getFinalWeight());
+            int totalScore = weights.totalScore(GradeScoring.toFixed(row.usualScore),
+                    GradeScoring.toFixed(row.midtermScore), GradeScoring.toFixed(row.finalScore));
+            grade.setTotalScore(GradeScoring.toDecimal(totalScore));
+            grade.setGradeLevel(GradeScoring.level(totalScore));
+            return grade;
+        }
+
+        private Map<String, Integer> parseHeader(List<String> cells) {
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                String name = trim(cells.get(i));
+                if (name != null) {
+                    header.putIfAbsent(name, i);
+                }
+            }
+
+            for (String column : List.of(COLUMN_STUDENT_NUMBER, COLUMN_COURSE_CODE, COLUMN_SEMESTER)) {
+                if (!header.containsKey(column)) {
+                    throw new IllegalArgumentException("导入文件缺少必需列: " + column);
+                }
+            }
+            if (!header.containsKey(COLUMN_USUAL_SCORE) && !header.containsKey(COLUMN_MIDTERM_SCORE)
+                    && !header.containsKey(COLUMN_FINAL_SCORE)) {
+                throw new IllegalArgumentException("导入文件缺少成绩列：平时成绩、期中成绩、期末成绩至少一列");
+            }
+            return header;
+        }
+
+        private String cell(List<String> cells, String column) {
+            Integer index = columns.get(column);
+            return index != null && index < cells.size() ? trim(cells.get(index)) : null;
+        }
+
+        private String required(List<String> cells, String column) {
+            String value = cell(cells, column);
+            if (value == null) {
+                throw new IllegalArgumentException(column + "不能为空");
+            }
+            return value;
+        }
+
+        private BigDecimal score(List<String> cells, String column) {
+            String value = cell(cells, column);
+            if (value == null) {
+                return null;
+            }
+
+            BigDecimal score;
+            try {
+                score = new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + "格式错误: " + value);
+            }
+            if (score.signum() < 0 || score.compareTo(MAX_SCORE) > 0) {
+                throw new IllegalArgumentException(column + "超出范围(0-100): " + value);
+            }
+            return score;
+        }
+
+        private Set<String> distinct(Function<ImportRow, String> getter) {
+            return chunk.stream().map(getter).collect(Collectors.toSet());
+        }
+
+        private void addError(int rowNumber, String message) {
+            result.setFailureCount(result.getFailureCount() + 1);
+            if (result.getErrors().size() < maxErrors) {
+                result.getErrors().add(new GradeImportResult.RowError(rowNumber, message));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    private static String selectionKey(Long studentId, Long courseId) {
+        return studentId + ":" + courseId;
+    }
+
+    private static boolean isBlank(List<String> cells) {
+        for (String cell : cells) {
+            if (trim(cell) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String trim(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * 校验通过、等待批量写入的行
+     */
+    private static final class ImportRow {
+
+        private final int rowNumber;
+
+        private String studentNumber;
+
+        private String courseCode;
+
+        private String semester;
+
+        private BigDecimal usualScore;
+
+        private BigDecimal midtermScore;
+
+        private BigDecimal finalScore;
+
+        private ImportRow(int rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+
+        private String getStudentNumber() {
+            return studentNumber;
+        }
+
+        private String getCourseCode() {
+            return courseCode;
+        }
+    }
+}
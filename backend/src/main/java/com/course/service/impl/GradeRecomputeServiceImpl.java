@@ -0,0 +1,349 @@
+package com.course.service.impl;
+
+import com.course.dto.GradeRecomputeJob;
+import com.course.entity.Grade;
+import com.course.mapper.GradeMapper;
+import com.course.service.CourseService;
+import com.course.service.GradeRecomputeService;
+import com.course.service.LeaderboardService;
+import com.course.service.SemesterRankingService;
+import com.course.utils.GradeScoring;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 总成绩重新计算服务实现类
+ * 每门课程为一个分区，分区在有界线程池中并行处理：分区内按主键分页读取分项成绩，用课程权重做定点数计算，
+ * 只写回总成绩或等级有变化的记录；每页一个短事务并对本页加行锁，期间录入的同一成绩只需等待本页提交，
+ * 不会被过期的计算结果覆盖
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GradeRecomputeServiceImpl implements GradeRecomputeService {
+
+    private final GradeMapper gradeMapper;
+    private final CourseService courseService;
+    private final LeaderboardService leaderboardService;
+    private final SemesterRankingService semesterRankingService;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolTaskExecutor gradeRecomputeExecutor;
+
+    /**
+     * 每页读取和写回的成绩数量
+     */
+    @Value("${grade.recompute.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * 已结束任务保留时间，单位分钟
+     */
+    @Value("${grade.recompute.retention:60}")
+    private long retentionMinutes;
+
+    /**
+     * 任务ID -> 任务状态
+     */
+    private final Map<String, JobState> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 学期或课程 -> 尚未开始执行的任务ID
+     */
+    private final Map<String, String> pendingJobs = new ConcurrentHashMap<>();
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public GradeRecomputeJob submitSemester(String semester, Long userId) {
+        if (semester == null || semester.isEmpty()) {
+            throw new IllegalArgumentException("学期不能为空");
+        }
+        return submit("semester:" + semester, semester, null, userId);
+    }
+
+    @Override
+    public GradeRecomputeJob submitCourse(Long courseId, Long userId) {
+        if (courseId == null) {
+            throw new IllegalArgumentException("课程ID不能为空");
+        }
+        return submit("course:" + courseId, null, courseId, userId);
+    }
+
+    @Override
+    public GradeRecomputeJob getJob(String jobId, Long userId, boolean admin) {
+        JobState job = jobs.get(jobId);
+        if (job == null || (!admin && !job.owners.contains(userId))) {
+            throw new IllegalArgumentException("重新计算任务不存在");
+        }
+        return job.toDto();
+    }
+
+    /**
+     * 定时清理已结束的任务
+     */
+    @Scheduled(fixedDelayString = "${grade.recompute.purge-interval:300000}")
+    public void purgeExpired() {
+        LocalDateTime expireBefore = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.finishTime != null && job.finishTime.isBefore(expireBefore));
+    }
+
+    private GradeRecomputeJob submit(String key, String semester, Long courseId, Long userId) {
+        // 尚未开始的任务执行时才读取权重，已能反映本次变化，直接合并
+        JobState[] created = new JobState[1];
+        String jobId = pendingJobs.compute(key, (k, existingId) -> {
+            JobState existing = existingId != null ? jobs.get(existingId) : null;
+            if (existing != null && existing.status == GradeRecomputeJob.STATUS_PENDING) {
+                existing.owners.add(userId);
+                return existingId;
+            }
+
+            JobState job = new JobState(UUID.randomUUID().toString().replace("-", ""), key, semester, courseId, userId);
+            jobs.put(job.jobId, job);
+            created[0] = job;
+            return job.jobId;
+        });
+
+        JobState job = jobs.get(jobId);
+        if (created[0] != null) {
+            try {
+                gradeRecomputeExecutor.execute(() -> start(job));
+            } catch (TaskRejectedException e) {
+                jobs.remove(jobId);
+                pendingJobs.remove(key, jobId);
+                throw new IllegalArgumentException("重新计算任务过多，请稍后重试");
+            }
+            log.info("总成绩重新计算任务已提交: jobId={}, key={}", jobId, key);
+        } else {
+            log.info("重新计算请求合并到未开始的任务: jobId={}, key={}", jobId, key);
+        }
+        return job.toDto();
+    }
+
+    /**
+     * 列出分区并分派给工作线程，当前线程作为第一个工作线程
+     */
+    private void start(JobState job) {
+        pendingJobs.remove(job.key, job.jobId);
+        job.status = GradeRecomputeJob.STATUS_RUNNING;
+        job.startMillis = System.currentTimeMillis();
+
+        List<Long> partitions;
+        try {
+            partitions = job.courseId != null ? List.of(job.courseId) : gradeMapper.selectCourseIdsBySemester(job.semester);
+            job.totalRows = gradeMapper.countScoreRows(job.courseId, job.semester);
+        } catch (RuntimeException e) {
+            log.error("总成绩重新计算任务启动失败: jobId={}", job.jobId, e);
+            job.errorMessage = e.getMessage();
+            job.finishTime = LocalDateTime.now();
+            job.status = GradeRecomputeJob.STATUS_FAILED;
+            return;
+        }
+        job.partitions = partitions.size();
+        job.queue.addAll(partitions);
+
+        int workers = Math.max(1, Math.min(gradeRecomputeExecutor.getMaxPoolSize(), partitions.size()));
+        job.activeWorkers.set(workers);
+        for (int i = 1; i < workers; i++) {
+            try {
+                gradeRecomputeExecutor.execute(() -> work(job));
+            } catch (TaskRejectedException e) {
+                // 线程池繁忙时由已启动的工作线程处理剩余分区
+                job.activeWorkers.decrementAndGet();
+            }
+        }
+        work(job);
+    }
+
+    /**
+     * 工作线程：依次领取分区直到队列为空，最后一个结束的线程完成任务
+     */
+    private void work(JobState job) {
+        try {
+            Long courseId;
+            while ((courseId = job.queue.poll()) != null) {
+                try {
+                    recomputeCourse(job, courseId);
+                } catch (RuntimeException e) {
+                    log.error("课程总成绩重新计算失败: jobId={}, courseId={}", job.jobId, courseId, e);
+                    job.failedPartitions.incrementAndGet();
+                    job.errorMessage = "课程" + courseId + ": " + e.getMessage();
+                }
+                job.completedPartitions.incrementAndGet();
+            }
+        } finally {
+            if (job.activeWorkers.decrementAndGet() == 0) {
+                finish(job);
+            }
+        }
+    }
+
+    private void recomputeCourse(JobState job, Long courseId) {
+        GradeScoring.Weights weights = courseService.getGradeWeights(List.of(courseId))
+                .getOrDefault(courseId, GradeScoring.Weights.DEFAULT);
+
+        long afterId = 0;
+        int size;
+        do {
+            long from = afterId;
+            List<Grade> page = transactionTemplate.execute(status -> recomputePage(job, courseId, weights, from));
+            size = page.size();
+            if (size > 0) {
+                afterId = page.get(size - 1).getId();
+            }
+            job.processedRows.addAndGet(size);
+        } while (size == chunkSize);
+    }
+
+    /**
+     * 读取并锁定一页成绩，写回总成绩或等级有变化的记录
+     *
+     * @return 本页读取的成绩
+     */
+    private List<Grade> recomputePage(JobState job, Long courseId, GradeScoring.Weights weights, long afterId) {
+        List<Grade> page = gradeMapper.selectScorePage(courseId, job.semester, afterId, chunkSize);
+        List<Grade> changed = new ArrayList<>();
+        for (Grade grade : page) {
+            int totalScore = weights.totalScore(
+                    GradeScoring.toFixed(grade.getUsualScore()),
+                    GradeScoring.toFixed(grade.getMidtermScore()),
+                    GradeScoring.toFixed(grade.getFinalScore()));
+            if (totalScore == GradeScoring.NONE) {
+                continue;
+            }
+
+            String level = GradeScoring.level(totalScore);
+            if (grade.getTotalScore() == null || GradeScoring.toFixed(grade.getTotalScore()) != totalScore
+                    || !level.equals(grade.getGradeLevel())) {
+                grade.setTotalScore(GradeScoring.toDecimal(totalScore));
+                grade.setGradeLevel(level);
+                changed.add(grade);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            gradeMapper.updateTotalScores(changed);
+            leaderboardService.onGradesChanged(changed.stream().map(Grade::getStudentId).collect(Collectors.toList()));
+            changed.forEach(grade -> job.semesters.add(grade.getSemester()));
+            job.updatedRows.addAndGet(changed.size());
+        }
+        return page;
+    }
+
+    private void finish(JobState job) {
+        if (!job.semesters.isEmpty()) {
+            semesterRankingService.onGradesChanged(job.semesters);
+        }
+        job.finishTime = LocalDateTime.now();
+        job.status = job.failedPartitions.get() > 0 ? GradeRecomputeJob.STATUS_FAILED : GradeRecomputeJob.STATUS_COMPLETED;
+        log.info("总成绩重新计算任务结束: jobId={}, 分区{}个（失败{}个）, 扫描{}条, 更新{}条, 耗时={}ms",
+                job.jobId, job.partitions, job.failedPartitions.get(), job.processedRows.get(), job.updatedRows.get(),
+                System.currentTimeMillis() - job.startMillis);
+    }
+
+    /**
+     * 单个重新计算任务的运行状态
+     */
+    private static final class JobState {
+
+        private final String jobId;
+
+        private final String key;
+
+        private final String semester;
+
+        private final Long courseId;
+
+        private final LocalDateTime submitTime = LocalDateTime.now();
+
+        /**
+         * 可访问该任务的用户（提交人及被合并请求的提交人）
+         */
+        private final Set<Long> owners = ConcurrentHashMap.newKeySet();
+
+        /**
+         * 待处理的课程分区
+         */
+        private final ConcurrentLinkedQueue<Long> queue = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger activeWorkers = new AtomicInteger();
+
+        private final AtomicInteger completedPartitions = new AtomicInteger();
+
+        private final AtomicInteger failedPartitions = new AtomicInteger();
+
+        private final AtomicLong processedRows = new AtomicLong();
+
+        private final AtomicLong updatedRows = new AtomicLong();
+
+        /**
+         * 有成绩变化的学期，任务结束后刷新学期排名
+         */
+        private final Set<String> semesters = ConcurrentHashMap.newKeySet();
+
+        private volatile int status = GradeRecomputeJob.STATUS_PENDING;
+
+        private volatile long totalRows;
+
+        private volatile int partitions;
+
+        private volatile long startMillis;
+
+        private volatile String errorMessage;
+
+        private volatile LocalDateTime finishTime;
+
+        private JobState(String jobId, String key, String semester, Long courseId, Long userId) {
+            this.jobId = jobId;
+            this.key = key;
+            this.semester = semester;
+            this.courseId = courseId;
+            owners.add(userId);
+        }
+
+        private GradeRecomputeJob toDto() {
+            GradeRecomputeJob dto = new GradeRecomputeJob();
+            dto.setJobId(jobId);
+            dto.setSemester(semester);
+            dto.setCourseId(courseId);
+            dto.setStatus(status);
+            dto.setTotalRows(totalRows);
+            dto.setProcessedRows(processedRows.get());
+            dto.setUpdatedRows(updatedRows.get());
+            dto.setPartitions(partitions);
+            dto.setCompletedPartitions(completedPartitions.get());
+            dto.setErrorMessage(errorMessage);
+            dto.setSubmitTime(submitTime);
+            dto.setFinishTime(finishTime);
+            return dto;
+        }
+    }
+}
@@ -8,18 +8,28 @@ import com.course.dto.PageRequest;
 import com.course.entity.Grade;
 import com.course.mapper.GradeMapper;
 import com.course.service.CourseSelectionService;
+import com.course.service.CourseService;
 import com.course.service.GradeService;
+import com.course.service.LeaderboardService;
+import com.course.service.SemesterRankingService;
+import com.course.utils.GradeAnalytics;
+import com.course.utils.GradeScoring;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * 成绩服务实现类
@@ -35,6 +45,12 @@ public class GradeServiceImpl implements GradeService {
 
     private final GradeMapper gradeMapper;
     private final CourseSelectionService courseSelectionService;
+    private final CourseService courseService;
+    private final LeaderboardService leaderboardService;
+    private final SemesterRankingService semesterRankingService;
+
+    @Value("${grade.batch.chunk-size:500}")
+    private int batchChunkSize;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -78,21 +94,9 @@ public class GradeServiceImpl implements GradeService {
         // 更新成绩信息
         BeanUtils.copyProperties(gradeRequest, grade, "id");
         
-        // 计算总成绩
-        if (gradeRequest.getUsualScore() != null || gradeRequest.getMidtermScore() != null || gradeRequest.getFinalScore() != null) {
-            Double totalScore = calculateTotalScore(
-                gradeRequest.getUsualScore() != null ? gradeRequest.getUsualScore().doubleValue() : null,
-                gradeRequest.getMidtermScore() != null ? gradeRequest.getMidtermScore().doubleValue() : null,
-                gradeRequest.getFinalScore() != null ? gradeRequest.getFinalScore().doubleValue() : null
-            );
-            
-            if (totalScore != null) {
-                grade.setTotalScore(BigDecimal.valueOf(totalScore));
-                // 计算等级
-                String gradeLevel = calculateGradeLevel(totalScore);
-                grade.setGradeLevel(gradeLevel);
-            }
-        }
+        // 按课程权重计算总成绩和等级
+        Map<Long, GradeScoring.Weights> weights = courseService.getGradeWeights(List.of(grade.getCourseId()));
+        applyTotalScore(grade, weights.getOrDefault(grade.getCourseId(), GradeScoring.Weights.DEFAULT));
         
         // 保存或更新
         if (grade.getId() == null) {
@@ -102,6 +106,8 @@ public class GradeServiceImpl implements GradeService {
             gradeMapper.updateById(grade);
             log.info("成绩更新成功: {}", grade.getId());
         }
+        leaderboardService.onGradesChanged(List.of(grade.getStudentId()));
+        semesterRankingService.onGradesChanged(Collections.singletonList(grade.getSemester()));
         
         return grade;
     }
@@ -109,32 +115,34 @@ public class GradeServiceImpl implements GradeService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public int batchSaveGrades(List<GradeRequest> gradeRequests) {
+        if (gradeRequests == null || gradeRequests.isEmpty()) {
+            return 0;
+        }
         log.info("批量录入成绩: 数量={}", gradeRequests.size());
         
+        // 一次查出涉及课程的成绩权重
+        Map<Long, GradeScoring.Weights> weights = courseService.getGradeWeights(
+            gradeRequests.stream().map(GradeRequest::getCourseId).filter(Objects::nonNull).collect(Collectors.toSet())
+        );
+        
         List<Grade> grades = new ArrayList<>();
         for (GradeRequest request : gradeRequests) {
             Grade grade = new Grade();
             BeanUtils.copyProperties(request, grade);
             
-            // 计算总成绩和等级
-            if (request.getUsualScore() != null || request.getMidtermScore() != null || request.getFinalScore() != null) {
-                Double totalScore = calculateTotalScore(
-                    request.getUsualScore() != null ? request.getUsualScore().doubleValue() : null,
-                    request.getMidtermScore() != null ? request.getMidtermScore().doubleValue() : null,
-                    request.getFinalScore() != null ? request.getFinalScore().doubleValue() : null
-                );
-                
-                if (totalScore != null) {
-                    grade.setTotalScore(BigDecimal.valueOf(totalScore));
-                    grade.setGradeLevel(calculateGradeLevel(totalScore));
-                }
-            }
+            // 按课程权重计算总成绩和等级
+            applyTotalScore(grade, weights.getOrDefault(grade.getCourseId(), GradeScoring.Weights.DEFAULT));
             
             grades.add(grade);
         }
         
-        // 批量插入
-        int result = gradeMapper.batchInsert(grades);
+        // 分批写入，已有成绩（如重复导入同一份成绩表）按唯一键更新
+        for (int from = 0; from < grades.size(); from += batchChunkSize) {
+            gradeMapper.batchUpsert(grades.subList(from, Math.min(from + batchChunkSize, grades.size())));
+        }
+        int result = grades.size();
+        leaderboardService.onGradesChanged(grades.stream().map(Grade::getStudentId).collect(Collectors.toList()));
+        semesterRankingService.onGradesChanged(grades.stream().map(Grade::getSemester).collect(Collectors.toSet()));
         log.info("批量录入成绩完成: 成功{}条", result);
         return result;
     }
@@ -148,10 +156,13 @@ public class GradeServiceImpl implements GradeService {
             throw new IllegalArgumentException("成绩ID不能为空");
         }
         
+        Grade grade = gradeMapper.selectById(id);
         int result = gradeMapper.deleteById(id);
         boolean success = result > 0;
         
         if (success) {
+            leaderboardService.onGradesChanged(List.of(grade.getStudentId()));
+            semesterRankingService.onGradesChanged(Collections.singletonList(grade.getSemester()));
             log.info("删除成绩成功: {}", id);
         } else {
             log.warn("删除成绩失败: {}", id);
@@ -207,8 +218,8 @@ public class GradeServiceImpl implements GradeService {
             return null;
         }
         
-        Map<String, Object> stats = gradeMapper.getCourseGradeStatistics(courseId, semester);
-        if (stats == null || stats.isEmpty()) {
+        GradeAnalytics analytics = analyzeScores(courseId, semester);
+        if (analytics.isEmpty()) {
             return null;
         }
         
@@ -217,17 +228,21 @@ public class GradeServiceImpl implements GradeService {
         statistics.setSemester(semester);
         
         // 设置基本统计信息
-        statistics.setTotalStudents(((Number) stats.get("total_count")).intValue());
-        statistics.setAvgScore(new BigDecimal(stats.get("avg_score").toString()));
-        statistics.setMaxScore(new BigDecimal(stats.get("max_score").toString()));
-        statistics.setMinScore(new BigDecimal(stats.get("min_score").toString()));
+        statistics.setTotalStudents(analytics.getCount());
+        statistics.setGradedStudents(analytics.getCount());
+        statistics.setAvgScore(analytics.getMean());
+        statistics.setMaxScore(analytics.getMax());
+        statistics.setMinScore(analytics.getMin());
+        statistics.setMedianScore(analytics.getMedian());
+        statistics.setStandardDeviation(analytics.getStandardDeviation());
         
-        // 设置等级统计
-        statistics.setGradeACount(((Number) stats.get("excellent_count")).intValue());
-        statistics.setGradeBCount(((Number) stats.get("good_count")).intValue());
-        statistics.setGradeCCount(((Number) stats.get("medium_count")).intValue());
-        statistics.setGradeDCount(((Number) stats.get("pass_count")).intValue());
-        statistics.setGradeFCount(((Number) stats.get("fail_count")).intValue());
+        // 设置等级统计（优秀、良好、中等、及格、不及格）
+        int[] bands = analytics.getBandCounts();
+        statistics.setGradeACount(bands[0]);
+        statistics.setGradeBCount(bands[1]);
+        statistics.setGradeCCount(bands[2]);
+        statistics.setGradeDCount(bands[3]);
+        statistics.setGradeFCount(bands[4]);
         
         // 计算及格人数和及格率
         int passedStudents = statistics.getTotalStudents() - statistics.getGradeFCount();
@@ -255,6 +270,13 @@ public class GradeServiceImpl implements GradeService {
         return statistics;
     }
 
+    @Override
+    public GradeAnalytics analyzeScores(Long courseId, String semester) {
+        GradeAnalytics.Column column = new GradeAnalytics.Column();
+        gradeMapper.streamTotalScores(courseId, semester, context -> column.add(context.getResultObject()));
+        return column.analyze();
+    }
+
     @Override
     public Double calculateStudentAverage(Long studentId, String semester) {
         if (studentId == null) {
@@ -280,7 +302,20 @@ public class GradeServiceImpl implements GradeService {
         if (courseId == null || semester == null) {
             return List.of();
         }
-        return gradeMapper.getGradeDistribution(courseId, semester);
+        
+        GradeAnalytics analytics = analyzeScores(courseId, semester);
+        List<Map<String, Object>> distribution = new ArrayList<>();
+        analytics.getLevelCounts().forEach((level, count) -> {
+            if (count > 0) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("grade_level", level);
+                item.put("count", count);
+                item.put("percentage", BigDecimal.valueOf(count * 100L)
+                        .divide(BigDecimal.valueOf(analytics.getCount()), 2, RoundingMode.HALF_UP));
+                distribution.add(item);
+            }
+        });
+        return distribution;
     }
 
     @Override
@@ -288,7 +323,22 @@ public class GradeServiceImpl implements GradeService {
         if (courseId == null || semester == null) {
             return Map.of();
         }
-        return gradeMapper.getCourseGradeStatistics(courseId, semester);
+        
+        GradeAnalytics analytics = analyzeScores(courseId, semester);
+        int[] bands = analytics.getBandCounts();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total_count", analytics.getCount());
+        stats.put("avg_score", analytics.getMean());
+        stats.put("max_score", analytics.getMax());
+        stats.put("min_score", analytics.getMin());
+        stats.put("median_score", analytics.getMedian());
+        stats.put("std_deviation", analytics.getStandardDeviation());
+        stats.put("excellent_count", bands[0]);
+        stats.put("good_count", bands[1]);
+        stats.put("medium_count", bands[2]);
+        stats.put("pass_count", bands[3]);
+        stats.put("fail_count", bands[4]);
+        return stats;
     }
 
     @Override
@@ -296,71 +346,36 @@ public class GradeServiceImpl implements GradeService {
         if (studentId == null || semester == null) {
             return Map.of();
         }
-        return gradeMapper.getStudentRanking(studentId, semester);
+        return semesterRankingService.getStudentRanking(studentId, semester);
     }
 
     @Override
     public Double calculateTotalScore(Double usualScore, Double midtermScore, Double finalScore) {
-        // 成绩计算权重：平时成绩30%，期中成绩30%，期末成绩40%
-        double total = 0.0;
-        double weightSum = 0.0;
-        
-        if (usualScore != null) {
-            total += usualScore * 0.3;
-            weightSum += 0.3;
-        }
-        
-        if (midtermScore != null) {
-            total += midtermScore * 0.3;
-            weightSum += 0.3;
-        }
-        
-        if (finalScore != null) {
-            total += finalScore * 0.4;
-            weightSum += 0.4;
-        }
-        
-        if (weightSum == 0) {
-            return null;
-        }
-        
-        // 如果不是所有成绩都有，按比例调整
-        if (weightSum < 1.0) {
-            total = total / weightSum;
-        }
-        
-        return Math.round(total * 100.0) / 100.0; // 保留两位小数
+        // 成绩计算权重：平时成绩30%，期中成绩30%，期末成绩40%；缺少分项时按已有分项的权重比例折算
+        int totalScore = GradeScoring.totalScore(
+            GradeScoring.toFixed(usualScore),
+            GradeScoring.toFixed(midtermScore),
+            GradeScoring.toFixed(finalScore)
+        );
+        return totalScore == GradeScoring.NONE ? null : totalScore / (double) GradeScoring.SCALE;
     }
 
     @Override
     public String calculateGradeLevel(Double totalScore) {
-        if (totalScore == null) {
-            return null;
-        }
-        
-        if (totalScore >= 95) {
-            return "A+";
-        } else if (totalScore >= 90) {
-            return "A";
-        } else if (totalScore >= 85) {
-            return "A-";
-        } else if (totalScore >= 82) {
-            return "B+";
-        } else if (totalScore >= 78) {
-            return "B";
-        } else if (totalScore >= 75) {
-            return "B-";
-        } else if (totalScore >= 72) {
-            return "C+";
-        } else if (totalScore >= 68) {
-            return "C";
-        } else if (totalScore >= 65) {
-            return "C-";
-        } else if (totalScore >= 60) {
-            return "D";
-        } else {
-            return "F";
-        }
+        return GradeScoring.level(GradeScoring.toFixed(totalScore));
+    }
+
+    /**
+     * 按平时、期中、期末成绩和课程权重计算总成绩和等级（定点数计算）
+     */
+    private void applyTotalScore(Grade grade, GradeScoring.Weights weights) {
+        int totalScore = weights.totalScore(
+            GradeScoring.toFixed(grade.getUsualScore()),
+            GradeScoring.toFixed(grade.getMidtermScore()),
+            GradeScoring.toFixed(grade.getFinalScore())
+        );
+        grade.setTotalScore(GradeScoring.toDecimal(totalScore));
+        grade.setGradeLevel(GradeScoring.level(totalScore));
     }
 
     @Override
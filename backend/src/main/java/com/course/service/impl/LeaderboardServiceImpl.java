@@ -0,0 +1,348 @@
+package com.course.service.impl;
+
+import com.course.dto.StudentScoreSummary;
+import com.course.entity.Course;
+import com.course.mapper.StatisticsMapper;
+import com.course.service.LeaderboardService;
+import com.course.utils.RankedIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 排行榜服务实现类
+ * 课程按选课人数、学生按学期平均分各维护一个 RankedIndex，查询前 K 名只遍历 K 个条目；
+ * 选课人数按增量更新，成绩变更时只重新查询相关学生的汇总；
+ * 课程信息变更时只重新加载该课程；定时对账从数据库整体重建，修正漏掉的变更（如直接修改数据库）
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    /**
+     * 全部学期排行的键
+     */
+    private static final String ALL_SEMESTERS = "";
+
+    private static final int STUDENT_QUERY_CHUNK_SIZE = 1000;
+
+    private static final Comparator<CourseEntry> COURSE_ORDER =
+            Comparator.comparingInt((CourseEntry entry) -> entry.currentStudents).reversed()
+                    .thenComparing(entry -> entry.courseId);
+
+    private static final Comparator<StudentEntry> STUDENT_ORDER =
+            Comparator.comparing((StudentEntry entry) -> entry.average).reversed()
+                    .thenComparing(entry -> entry.studentId);
+
+    private final StatisticsMapper statisticsMapper;
+
+    private volatile RankedIndex<Long, CourseEntry> courses;
+
+    /**
+     * 学期 -> 学生排行
+     */
+    private volatile Map<String, RankedIndex<Long, StudentEntry>> students;
+
+    @Override
+    public List<Map<String, Object>> getPopularCourses(int limit) {
+        ensureLoaded();
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (CourseEntry entry : courses.top(limit)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("rank", result.size() + 1);
+            item.put("courseId", entry.courseId);
+            item.put("courseCode", entry.courseCode);
+            item.put("courseName", entry.courseName);
+            item.put("teacherName", entry.teacherName);
+            item.put("currentStudents", entry.currentStudents);
+            item.put("maxStudents", entry.maxStudents);
+            item.put("fillRate", entry.maxStudents > 0
+                    ? BigDecimal.valueOf(entry.currentStudents * 100L)
+                            .divide(BigDecimal.valueOf(entry.maxStudents), 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO);
+            result.add(item);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Map<String, Object>> getTopStudents(String semester, int limit) {
+        ensureLoaded();
+
+        RankedIndex<Long, StudentEntry> index = students.get(semesterKey(semester));
+        if (index == null) {
+            return new ArrayList<>();
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (StudentEntry entry : index.top(limit)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("rank", result.size() + 1);
+            item.put("studentId", entry.studentId);
+            item.put("studentNumber", entry.studentNumber);
+            item.put("studentName", entry.studentName);
+            item.put("semester", semester);
+            item.put("averageScore", entry.average);
+            item.put("courseCount", entry.courseCount);
+            result.add(item);
+        }
+        return result;
+    }
+
+    @Override
+    public void onCurrentStudentsChanged(Long courseId, int delta) {
+        afterCommit(() -> {
+            RankedIndex<Long, CourseEntry> index = courses;
+            if (index == null) {
+                return;
+            }
+
+            if (index.get(courseId) == null) {
+                // 对账之后新建的课程，从数据库加载（已包含本次变化）
+                for (Course course : statisticsMapper.selectCourseRanking(courseId)) {
+                    index.put(course.getId(), new CourseEntry(course));
+                }
+                return;
+            }
+            index.compute(courseId, (id, old) -> old == null ? null : old.withCurrentStudents(old.currentStudents + delta));
+        });
+    }
+
+    @Override
+    public void onCourseChanged(Long courseId) {
+        if (courseId == null) {
+            return;
+        }
+
+        afterCommit(() -> {
+            RankedIndex<Long, CourseEntry> index = courses;
+            if (index == null) {
+                return;
+            }
+
+            List<Course> loaded = statisticsMapper.selectCourseRanking(courseId);
+            if (loaded.isEmpty()) {
+                // 课程已删除
+                index.remove(courseId);
+                return;
+            }
+            // 选课人数由增量维护，只替换课程信息，避免与并发的选课、退课增量相互覆盖
+            CourseEntry refreshed = new CourseEntry(loaded.get(0));
+            index.compute(courseId, (id, old) -> old == null ? refreshed : refreshed.withCurrentStudents(old.currentStudents));
+        });
+    }
+
+    @Override
+    public void onCoursesChanged() {
+        afterCommit(() -> {
+            if (courses != null) {
+                courses = loadCourses();
+            }
+        });
+    }
+
+    @Override
+    public void onGradesChanged(Collection<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        afterCommit(() -> {
+            if (students == null) {
+                return;
+            }
+            for (int from = 0; from < ids.size(); from += STUDENT_QUERY_CHUNK_SIZE) {
+                refreshStudents(ids.subList(from, Math.min(from + STUDENT_QUERY_CHUNK_SIZE, ids.size())));
+            }
+        });
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${statistics.leaderboard.reconcile-interval:300000}",
+            fixedDelayString = "${statistics.leaderboard.reconcile-interval:300000}")
+    public synchronized void reconcile() {
+        long start = System.currentTimeMillis();
+
+        RankedIndex<Long, CourseEntry> courseIndex = loadCourses();
+
+        Map<String, RankedIndex<Long, StudentEntry>> studentIndexes = new ConcurrentHashMap<>();
+        Map<Long, List<StudentScoreSummary>> summariesByStudent = new HashMap<>();
+        for (StudentScoreSummary summary : statisticsMapper.selectStudentScoreSummaries(null)) {
+            summariesByStudent.computeIfAbsent(summary.getStudentId(), id -> new ArrayList<>()).add(summary);
+        }
+        summariesByStudent.forEach((studentId, summaries) -> applyStudent(studentIndexes, studentId, summaries));
+
+        courses = courseIndex;
+        students = studentIndexes;
+        log.info("排行榜对账完成: 课程{}门, 学生{}人, 耗时={}ms", courseIndex.size(), summariesByStudent.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    private void ensureLoaded() {
+        if (courses == null || students == null) {
+            synchronized (this) {
+                if (courses == null || students == null) {
+                    reconcile();
+                }
+            }
+        }
+    }
+
+    private RankedIndex<Long, CourseEntry> loadCourses() {
+        RankedIndex<Long, CourseEntry> index = new RankedIndex<>(COURSE_ORDER);
+        for (Course course : statisticsMapper.selectCourseRanking(null)) {
+            index.put(course.getId(), new CourseEntry(course));
+        }
+        return index;
+    }
+
+    private void refreshStudents(List<Long> studentIds) {
+        Map<String, RankedIndex<Long, StudentEntry>> indexes = students;
+        Map<Long, List<StudentScoreSummary>> summariesByStudent = new HashMap<>();
+        for (Long studentId : studentIds) {
+            summariesByStudent.put(studentId, new ArrayList<>());
+        }
+        for (StudentScoreSummary summary : statisticsMapper.selectStudentScoreSummaries(studentIds)) {
+            summariesByStudent.get(summary.getStudentId()).add(summary);
+        }
+        summariesByStudent.forEach((studentId, summaries) -> applyStudent(indexes, studentId, summaries));
+    }
+
+    /**
+     * 用学生的全部学期汇总更新各学期排行和全部学期排行，没有成绩的学期中移除该学生
+     */
+    private void applyStudent(Map<String, RankedIndex<Long, StudentEntry>> indexes, Long studentId,
+                              List<StudentScoreSummary> summaries) {
+        Set<String> semesters = new HashSet<>();
+        BigDecimal totalSum = BigDecimal.ZERO;
+        int totalCount = 0;
+        StudentScoreSummary any = null;
+        for (StudentScoreSummary summary : summaries) {
+            String key = semesterKey(summary.getSemester());
+            semesters.add(key);
+            indexes.computeIfAbsent(key, k -> new RankedIndex<>(STUDENT_ORDER))
+                    .put(studentId, new StudentEntry(summary, summary.getScoreSum(), summary.getCourseCount()));
+            totalSum = totalSum.add(summary.getScoreSum());
+            totalCount += summary.getCourseCount();
+            any = summary;
+        }
+
+        indexes.forEach((key, index) -> {
+            if (!ALL_SEMESTERS.equals(key) && !semesters.contains(key)) {
+                index.remove(studentId);
+            }
+        });
+
+        RankedIndex<Long, StudentEntry> overall = indexes.computeIfAbsent(ALL_SEMESTERS, k -> new RankedIndex<>(STUDENT_ORDER));
+        if (any == null) {
+            overall.remove(studentId);
+        } else {
+            overall.put(studentId, new StudentEntry(any, totalSum, totalCount));
+        }
+    }
+
+    private String semesterKey(String semester) {
+        return semester == null ? ALL_SEMESTERS : semester;
+    }
+
+    /**
+     * 事务提交后执行，不在事务中时立即执行；排行更新失败不影响业务操作，等待下次对账修正
+     */
+    private void afterCommit(Runnable action) {
+        Runnable safeAction = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.warn("排行榜增量更新失败，等待对账修正: {}", e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeAction.run();
+                }
+            });
+        } else {
+            safeAction.run();
+        }
+    }
+
+    /**
+     * 课程排行条目（不可变）
+     */
+    private static final class CourseEntry {
+
+        private final Long courseId;
+
+        private final String courseCode;
+
+        private final String courseName;
+
+        private final String teacherName;
+
+        private final int currentStudents;
+
+        private final int maxStudents;
+
+        private CourseEntry(Course course) {
+            this(course.getId(), course.getCourseCode(), course.getCourseName(), course.getTeacherName(),
+                    course.getCurrentStudents() != null ? course.getCurrentStudents() : 0,
+                    course.getMaxStudents() != null ? course.getMaxStudents() : 0);
+        }
+
+        private CourseEntry(Long courseId, String courseCode, String courseName, String teacherName,
+                            int currentStudents, int maxStudents) {
+            this.courseId = courseId;
+            this.courseCode = courseCode;
+            this.courseName = courseName;
+            this.teacherName = teacherName;
+            this.currentStudents = currentStudents;
+            this.maxStudents = maxStudents;
+        }
+
+        private CourseEntry withCurrentStudents(int value) {
+            return new CourseEntry(courseId, courseCode, courseName, teacherName, Math.max(0, value), maxStudents);
+        }
+    }
+
+    /**
+     * 学生排行条目（不可变）
+     */
+    private static final class StudentEntry {
+
+        private final Long studentId;
+
+        private final String studentNumber;
+
+        private final String studentName;
+
+        private final BigDecimal average;
+
+        private final int courseCount;
+
+        private StudentEntry(StudentScoreSummary summary, BigDecimal scoreSum, int courseCount) {
+            this.studentId = summary.getStudentId();
+            this.studentNumber = summary.getStudentNumber();
+            this.studentName = summary.getStudentName();
+            this.courseCount = courseCount;
+            this.average = scoreSum.divide(BigDecimal.valueOf(courseCount), 2, RoundingMode.HALF_UP);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.course.dto.PageRequest;
 import com.course.entity.Role;
 import com.course.mapper.RoleMapper;
+import com.course.security.UserPrincipalCache;
 import com.course.service.RoleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +29,7 @@ import java.util.List;
 public class RoleServiceImpl implements RoleService {
 
     private final RoleMapper roleMapper;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -101,6 +103,7 @@ public class RoleServiceImpl implements RoleService {
         }
         
         roleMapper.updateById(role);
+        userPrincipalCache.evictAll();
         log.info("角色信息更新成功: {}", role.getId());
         
         return getRoleById(role.getId());
@@ -128,6 +131,7 @@ public class RoleServiceImpl implements RoleService {
         boolean success = result > 0;
         
         if (success) {
+            userPrincipalCache.evictAll();
             log.info("角色删除成功: {}", id);
         } else {
             log.warn("角色删除失败: {}", id);
@@ -231,6 +235,7 @@ public class RoleServiceImpl implements RoleService {
         
         boolean success = result > 0;
         if (success) {
+            userPrincipalCache.evictAll();
             log.info("角色状态更新成功: {} -> {}", id, status);
         }
         
@@ -0,0 +1,308 @@
+package com.course.service.impl;
+
+import com.course.entity.Classroom;
+import com.course.entity.Course;
+import com.course.entity.Schedule;
+import com.course.mapper.ClassroomMapper;
+import com.course.mapper.CourseMapper;
+import com.course.mapper.CourseSelectionMapper;
+import com.course.mapper.ScheduleMapper;
+import com.course.service.ScheduleService;
+import com.course.utils.ClassroomOccupancy;
+import com.course.utils.ScheduleIndex;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 课表服务实现类
+ * 全部有效课表安排构建为不可变的 ScheduleIndex（冲突检查）和 ClassroomOccupancy（空闲教室查询），
+ * 课表或课程变更提交后整体重建，定时与数据库对账；教室没有写入接口，教室状态、容量变化只通过定时对账反映；
+ * 学生已选课程缓存在内存中，选课、退课时增量更新，未命中时按学生查询一次
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduleServiceImpl implements ScheduleService {
+
+    private final ScheduleMapper scheduleMapper;
+    private final CourseMapper courseMapper;
+    private final CourseSelectionMapper courseSelectionMapper;
+    private final ClassroomMapper classroomMapper;
+
+    @Value("${schedule.index.student-cache-size:100000}")
+    private long studentCacheSize;
+
+    /**
+     * 学生已选课程缓存的访问过期时间，单位分钟
+     */
+    @Value("${schedule.index.student-cache-ttl:30}")
+    private long studentCacheTtlMinutes;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 学生ID -> 已选课程ID（不可变集合）
+     */
+    private LoadingCache<Long, Set<Long>> studentCourses;
+
+    @PostConstruct
+    public void init() {
+        studentCourses = Caffeine.newBuilder()
+                .maximumSize(studentCacheSize)
+                .expireAfterAccess(Duration.ofMinutes(studentCacheTtlMinutes))
+                .build(studentId -> Set.copyOf(courseSelectionMapper.selectSelectedCourseIds(studentId)));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Schedule createSchedule(Schedule schedule) {
+        log.info("新增课表安排: courseId={}, classroomId={}", schedule.getCourseId(), schedule.getClassroomId());
+
+        schedule.setId(null);
+        checkConflicts(schedule);
+
+        scheduleMapper.insert(schedule);
+        afterCommit(this::rebuild);
+        log.info("课表安排新增成功: {}", schedule.getId());
+
+        return schedule;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Schedule updateSchedule(Schedule schedule) {
+        if (schedule.getId() == null) {
+            throw new IllegalArgumentException("课表安排ID不能为空");
+        }
+
+        log.info("更新课表安排: {}", schedule.getId());
+
+        if (scheduleMapper.selectById(schedule.getId()) == null) {
+            throw new IllegalArgumentException("课表安排不存在");
+        }
+        checkConflicts(schedule);
+
+        scheduleMapper.updateById(schedule);
+        afterCommit(this::rebuild);
+        log.info("课表安排更新成功: {}", schedule.getId());
+
+        return schedule;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean deleteSchedule(Long id) {
+        if (id == null) {
+            return false;
+        }
+
+        log.info("删除课表安排: {}", id);
+
+        boolean success = scheduleMapper.deleteById(id) > 0;
+        if (success) {
+            afterCommit(this::rebuild);
+            log.info("课表安排删除成功: {}", id);
+        }
+
+        return success;
+    }
+
+    @Override
+    public boolean hasStudentConflict(Long studentId, Long courseId) {
+        if (studentId == null || courseId == null) {
+            return false;
+        }
+
+        ScheduleIndex current = getSnapshot().index;
+        if (current.getCourseMeetings(courseId).length == 0) {
+            return false;
+        }
+        for (Long selectedCourseId : studentCourses.get(studentId)) {
+            if (!selectedCourseId.equals(courseId) && current.hasCourseConflict(courseId, selectedCourseId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<Classroom> findAvailableClassrooms(String semester, Integer dayOfWeek, LocalTime startTime, LocalTime endTime,
+                                                   Integer weekStart, Integer weekEnd, Integer minCapacity, String building) {
+        if (semester == null || semester.isEmpty()) {
+            throw new IllegalArgumentException("学期不能为空");
+        }
+        if (dayOfWeek == null || dayOfWeek < 1 || dayOfWeek > 7) {
+            throw new IllegalArgumentException("星期几必须在1-7之间");
+        }
+        if (startTime == null || endTime == null || !startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("开始时间必须早于结束时间");
+        }
+        if (weekStart != null && weekEnd != null && weekStart > weekEnd) {
+            throw new IllegalArgumentException("开始周次不能大于结束周次");
+        }
+
+        return getSnapshot().occupancy.findFree(semester, dayOfWeek, startTime, endTime,
+                weekStart, weekEnd, minCapacity, building);
+    }
+
+    @Override
+    public void onSelectionChanged(Long studentId, Long courseId, boolean selected) {
+        afterCommit(() -> studentCourses.asMap().computeIfPresent(studentId, (id, courseIds) -> {
+            Set<Long> updated = new HashSet<>(courseIds);
+            if (selected) {
+                updated.add(courseId);
+            } else {
+                updated.remove(courseId);
+            }
+            return Set.copyOf(updated);
+        }));
+    }
+
+    @Override
+    public void onSelectionsDropped(Collection<Long> studentIds) {
+        afterCommit(() -> {
+            if (studentIds == null || studentIds.isEmpty()) {
+                studentCourses.invalidateAll();
+            } else {
+                studentCourses.invalidateAll(studentIds);
+            }
+        });
+    }
+
+    @Override
+    public void onCoursesChanged() {
+        afterCommit(this::rebuild);
+    }
+
+    /**
+     * 定时从数据库重建课表索引，修正漏掉的变更（如直接修改数据库）
+     */
+    @Scheduled(initialDelayString = "${schedule.index.reconcile-interval:300000}",
+            fixedDelayString = "${schedule.index.reconcile-interval:300000}")
+    public void reconcile() {
+        if (snapshot != null) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 按课程补全教师和学期，检查教师、教室时间冲突
+     */
+    private void checkConflicts(Schedule schedule) {
+        if (!schedule.getStartTime().isBefore(schedule.getEndTime())) {
+            throw new IllegalArgumentException("开始时间必须早于结束时间");
+        }
+        if (schedule.getWeekStart() != null && schedule.getWeekEnd() != null
+                && schedule.getWeekStart() > schedule.getWeekEnd()) {
+            throw new IllegalArgumentException("开始周次不能大于结束周次");
+        }
+
+        Course course = courseMapper.selectById(schedule.getCourseId());
+        if (course == null) {
+            throw new IllegalArgumentException("课程不存在");
+        }
+        // 课表学期与课程学期保持一致，冲突按课程学期判断
+        if (course.getSemester() != null) {
+            schedule.setSemester(course.getSemester());
+        }
+        schedule.setTeacherId(course.getTeacherId());
+        ScheduleIndex.Meeting meeting = ScheduleIndex.Meeting.of(schedule);
+
+        ScheduleIndex current = getSnapshot().index;
+        if (current.findClassroomConflict(meeting) != null) {
+            throw new IllegalArgumentException("该教室在此时间段已有课程安排");
+        }
+        if (current.findTeacherConflict(meeting) != null) {
+            throw new IllegalArgumentException("该教师在此时间段已有课程安排");
+        }
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized void rebuild() {
+        snapshot = load();
+    }
+
+    private Snapshot load() {
+        long start = System.currentTimeMillis();
+        List<Schedule> schedules = scheduleMapper.selectActiveSchedules();
+        Snapshot loaded = new Snapshot(ScheduleIndex.build(schedules),
+                ClassroomOccupancy.build(classroomMapper.findAllAvailable(), schedules));
+        log.info("课表索引已构建: 课表安排{}条, 可用教室{}间, 耗时={}ms", loaded.index.size(),
+                loaded.occupancy.getRoomCount(), System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    /**
+     * 事务提交后执行，不在事务中时立即执行；失败时清空索引，下次访问重新加载
+     */
+    private void afterCommit(Runnable action) {
+        Runnable safeAction = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.warn("课表索引更新失败，下次访问时重新加载: {}", e.getMessage());
+                snapshot = null;
+                studentCourses.invalidateAll();
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeAction.run();
+                }
+            });
+        } else {
+            safeAction.run();
+        }
+    }
+
+    /**
+     * 同一次加载得到的课表索引和教室占用位图，整体替换
+     */
+    private static final class Snapshot {
+
+        private final ScheduleIndex index;
+
+        private final ClassroomOccupancy occupancy;
+
+        private Snapshot(ScheduleIndex index, ClassroomOccupancy occupancy) {
+            this.index = index;
+            this.occupancy = occupancy;
+        }
+    }
+}
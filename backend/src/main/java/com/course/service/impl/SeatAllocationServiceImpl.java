@@ -0,0 +1,310 @@
+package com.course.service.impl;
+
+import com.course.entity.Course;
+import com.course.entity.CourseSelection;
+import com.course.mapper.CourseMapper;
+import com.course.mapper.CourseSelectionMapper;
+import com.course.service.LeaderboardService;
+import com.course.service.SeatAllocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 选课名额分配服务实现类
+ * 每门课程的剩余名额由原子计数器维护（首次访问时根据 max_students - current_students 初始化），
+ * 选课请求在内存中完成准入判断后进入待落库队列，由专用的落库线程定时批量写入选课记录并按课程汇总更新选课人数；
+ * 落库线程不使用公共调度线程池，不会排在统计汇总、排行榜对账等耗时的定时任务之后
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatAllocationServiceImpl implements SeatAllocationService {
+
+    private final CourseMapper courseMapper;
+    private final CourseSelectionMapper courseSelectionMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final LeaderboardService leaderboardService;
+
+    @Value("${course-selection.seat-engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${course-selection.seat-engine.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 落库间隔，单位毫秒
+     */
+    @Value("${course-selection.seat-engine.flush-interval:200}")
+    private long flushInterval;
+
+    /**
+     * 课程ID -> 名额状态
+     */
+    private final Map<Long, CourseSeats> seats = new ConcurrentHashMap<>();
+
+    /**
+     * 已准入、待落库的选课记录
+     */
+    private final ConcurrentLinkedQueue<CourseSelection> pending = new ConcurrentLinkedQueue<>();
+
+    private final Object flushLock = new Object();
+
+    private TransactionTemplate transactionTemplate;
+
+    private ScheduledExecutorService flushExecutor;
+
+    @PostConstruct
+    public void init() {
+        // 落库使用独立事务，避免被调用方（如退课）的事务回滚连带丢弃已出队的记录
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (enabled) {
+            flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "seat-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flushExecutor.scheduleWithFixedDelay(this::scheduledFlush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+            log.info("选课名额内存分配已启用: batchSize={}, flushInterval={}ms", batchSize, flushInterval);
+        }
+    }
+
+    /**
+     * 停止落库线程，并将剩余的待落库记录写入数据库
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+            flush();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public CourseSelection reserve(Long studentId, Long courseId) {
+        if (studentId == null || courseId == null) {
+            throw new IllegalArgumentException("学生ID和课程ID不能为空");
+        }
+
+        CourseSeats courseSeats = seats.computeIfAbsent(courseId, this::loadSeats);
+        if (!courseSeats.open) {
+            throw new IllegalArgumentException("无法选择该课程");
+        }
+
+        // 先占学生位，防止同一学生并发重复选课
+        if (!courseSeats.students.add(studentId)) {
+            throw new IllegalArgumentException("已经选择过该课程");
+        }
+
+        if (!courseSeats.tryAcquire()) {
+            courseSeats.students.remove(studentId);
+            throw new IllegalArgumentException("课程名额已满");
+        }
+
+        CourseSelection selection = new CourseSelection();
+        selection.setStudentId(studentId);
+        selection.setCourseId(courseId);
+        selection.setSelectionTime(LocalDateTime.now());
+        selection.setStatus(1);
+        pending.offer(selection);
+
+        log.debug("选课名额预占成功: studentId={}, courseId={}, remaining={}",
+                studentId, courseId, courseSeats.remaining.get());
+        return selection;
+    }
+
+    @Override
+    public void release(Long studentId, Long courseId) {
+        if (studentId == null || courseId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doRelease(studentId, courseId);
+                }
+            });
+        } else {
+            doRelease(studentId, courseId);
+        }
+    }
+
+    /**
+     * 定时将待落库的选课记录写入数据库，异常不能抛出，否则落库线程停止调度
+     */
+    private void scheduledFlush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("选课记录定时落库失败: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int flush() {
+        synchronized (flushLock) {
+            int total = 0;
+            List<CourseSelection> batch = drain();
+            while (!batch.isEmpty()) {
+                persist(batch);
+                total += batch.size();
+                batch = drain();
+            }
+            if (total > 0) {
+                log.debug("选课记录批量落库完成: {} 条", total);
+            }
+            return total;
+        }
+    }
+
+    @Override
+    public void evictCourse(Long courseId) {
+        if (courseId == null || !seats.containsKey(courseId)) {
+            return;
+        }
+
+        // 先落库再失效，保证重新加载时数据库中的人数包含已准入的记录
+        flush();
+        seats.remove(courseId);
+        log.debug("课程名额缓存已失效: {}", courseId);
+    }
+
+    /**
+     * 从数据库加载课程名额状态
+     */
+    private CourseSeats loadSeats(Long courseId) {
+        Course course = courseMapper.selectById(courseId);
+        if (course == null) {
+            throw new IllegalArgumentException("课程不存在");
+        }
+
+        int maxStudents = course.getMaxStudents() != null ? course.getMaxStudents() : 0;
+        int currentStudents = course.getCurrentStudents() != null ? course.getCurrentStudents() : 0;
+        boolean open = course.getStatus() != null && course.getStatus() == 1;
+
+        CourseSeats courseSeats = new CourseSeats(open, Math.max(0, maxStudents - currentStudents));
+        courseSeats.students.addAll(courseSelectionMapper.findSelectedStudentIds(courseId));
+
+        log.info("加载课程名额: courseId={}, remaining={}, selected={}",
+                courseId, courseSeats.remaining.get(), courseSeats.students.size());
+        return courseSeats;
+    }
+
+    private void doRelease(Long studentId, Long courseId) {
+        CourseSeats courseSeats = seats.get(courseId);
+        if (courseSeats != null && courseSeats.students.remove(studentId)) {
+            courseSeats.remaining.incrementAndGet();
+        }
+    }
+
+    private List<CourseSelection> drain() {
+        List<CourseSelection> batch = new ArrayList<>(Math.min(batchSize, 64));
+        CourseSelection selection;
+        while (batch.size() < batchSize && (selection = pending.poll()) != null) {
+            batch.add(selection);
+        }
+        return batch;
+    }
+
+    /**
+     * 批量写入选课记录，并按课程汇总更新选课人数
+     * 整批失败时逐条重试，仍失败的记录回滚内存中的名额
+     */
+    private void persist(List<CourseSelection> batch) {
+        try {
+            writeBatch(batch);
+        } catch (RuntimeException e) {
+            log.error("选课记录批量落库失败，逐条重试: size={}, error={}", batch.size(), e.getMessage());
+            for (CourseSelection selection : batch) {
+                try {
+                    writeBatch(Collections.singletonList(selection));
+                } catch (RuntimeException ex) {
+                    log.error("选课记录落库失败，撤销名额: studentId={}, courseId={}, error={}",
+                            selection.getStudentId(), selection.getCourseId(), ex.getMessage());
+                    doRelease(selection.getStudentId(), selection.getCourseId());
+                }
+            }
+        }
+    }
+
+    private void writeBatch(List<CourseSelection> batch) {
+        Map<Long, Integer> increments = batch.stream()
+                .collect(Collectors.groupingBy(CourseSelection::getCourseId, Collectors.summingInt(s -> 1)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            courseSelectionMapper.batchUpsertSelected(batch);
+            increments.forEach((courseId, count) -> {
+                // 数据库条件更新兜底，名额与数据库不一致时整批回滚
+                if (courseMapper.updateCurrentStudents(courseId, count) == 0) {
+                    throw new IllegalStateException("课程名额不足: " + courseId);
+                }
+            });
+        });
+        increments.forEach(leaderboardService::onCurrentStudentsChanged);
+    }
+
+    /**
+     * 单门课程的名额状态
+     */
+    private static final class CourseSeats {
+
+        private final boolean open;
+
+        private final AtomicInteger remaining;
+
+        private final Set<Long> students = ConcurrentHashMap.newKeySet();
+
+        private CourseSeats(boolean open, int remaining) {
+            this.open = open;
+            this.remaining = new AtomicInteger(remaining);
+        }
+
+        private boolean tryAcquire() {
+            int current;
+            do {
+                current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            return true;
+        }
+    }
+}
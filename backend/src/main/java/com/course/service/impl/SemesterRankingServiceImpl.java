@@ -0,0 +1,217 @@
+package com.course.service.impl;
+
+import com.course.dto.StudentScoreSummary;
+import com.course.mapper.GradeMapper;
+import com.course.service.SemesterRankingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 学期排名服务实现类
+ * 首次查询某学期时按平均成绩排序整个学期并保存为基本类型数组（学生ID -> 排名、平均分），之后的查询为 O(1)；
+ * 成绩变更后在 debounce 时间内合并为一次重算，重算完成前继续使用旧排名
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SemesterRankingServiceImpl implements SemesterRankingService {
+
+    private final GradeMapper gradeMapper;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${grade.ranking.debounce:2000}")
+    private long debounce;
+
+    /**
+     * 学期 -> 排名快照
+     */
+    private final Map<String, RankingSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 已安排重算的学期
+     */
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 学期 -> 成绩变更次数，首次加载据此判断加载期间是否有成绩提交
+     */
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, Object> getStudentRanking(Long studentId, String semester) {
+        RankingSnapshot snapshot = snapshots.get(semester);
+        if (snapshot == null) {
+            long version = versions.getOrDefault(semester, 0L);
+            snapshot = load(semester);
+            RankingSnapshot existing = snapshots.putIfAbsent(semester, snapshot);
+            if (existing != null) {
+                snapshot = existing;
+            } else if (versions.getOrDefault(semester, 0L) != version) {
+                // 加载期间有成绩提交，查询可能读到旧数据；提交方此前没有快照可重算，由这里安排
+                scheduleRecompute(semester);
+            }
+        }
+
+        int slot = snapshot.find(studentId);
+        if (slot < 0) {
+            return Map.of();
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("student_rank", snapshot.ranks[slot]);
+        result.put("total_students", snapshot.totalStudents);
+        result.put("avg_score", BigDecimal.valueOf(snapshot.averages[slot], 2));
+        return result;
+    }
+
+    @Override
+    public void onGradesChanged(Collection<String> semesters) {
+        Set<String> changed = new HashSet<>(semesters);
+        changed.remove(null);
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed.forEach(SemesterRankingServiceImpl.this::markChanged);
+                }
+            });
+        } else {
+            changed.forEach(this::markChanged);
+        }
+    }
+
+    /**
+     * 记录学期成绩变更并安排重算
+     * 先递增变更次数再检查快照：与首次加载的“先发布快照再检查变更次数”配合，两者至少有一方会安排重算
+     */
+    private void markChanged(String semester) {
+        versions.merge(semester, 1L, Long::sum);
+        scheduleRecompute(semester);
+    }
+
+    /**
+     * 安排重算，已安排的学期不重复安排；未加载过的学期在下次查询时直接加载最新数据
+     */
+    private void scheduleRecompute(String semester) {
+        if (!snapshots.containsKey(semester) || !scheduled.add(semester)) {
+            return;
+        }
+        taskScheduler.schedule(() -> recompute(semester), Instant.now().plusMillis(debounce));
+    }
+
+    private void recompute(String semester) {
+        // 先移除标记，重算期间的新变更会再安排一次
+        scheduled.remove(semester);
+        try {
+            snapshots.put(semester, load(semester));
+        } catch (RuntimeException e) {
+            log.warn("学期排名重算失败: semester={}, {}", semester, e.getMessage());
+        }
+    }
+
+    private RankingSnapshot load(String semester) {
+        long start = System.currentTimeMillis();
+        RankingSnapshot snapshot = new RankingSnapshot(gradeMapper.selectSemesterScoreSums(semester));
+        log.debug("学期排名计算完成: semester={}, 学生{}人, 耗时={}ms", semester, snapshot.totalStudents,
+                System.currentTimeMillis() - start);
+        return snapshot;
+    }
+
+    /**
+     * 学期排名快照（不可变）
+     * 开放寻址哈希表，keys 为学生ID（0 表示空槽），ranks、averages 为同一槽位的排名和平均分（百分之一分）
+     */
+    private static final class RankingSnapshot {
+
+        private final long[] keys;
+
+        private final int[] ranks;
+
+        private final int[] averages;
+
+        private final int mask;
+
+        private final int totalStudents;
+
+        private RankingSnapshot(List<StudentScoreSummary> summaries) {
+            int size = summaries.size();
+            long[] studentIds = new long[size];
+            int[] averageScores = new int[size];
+            double[] exactAverages = new double[size];
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                StudentScoreSummary summary = summaries.get(i);
+                studentIds[i] = summary.getStudentId();
+                exactAverages[i] = summary.getScoreSum().doubleValue() / summary.getCourseCount();
+                averageScores[i] = summary.getScoreSum()
+                        .divide(BigDecimal.valueOf(summary.getCourseCount()), 2, RoundingMode.HALF_UP)
+                        .unscaledValue().intValue();
+                order[i] = i;
+            }
+            // 平均分降序，相同时按学生ID升序，保证排名稳定
+            Arrays.sort(order, (a, b) -> {
+                int compare = Double.compare(exactAverages[b], exactAverages[a]);
+                return compare != 0 ? compare : Long.compare(studentIds[a], studentIds[b]);
+            });
+
+            int capacity = Integer.highestOneBit(Math.max(4, size * 2) - 1) << 1;
+            this.keys = new long[capacity];
+            this.ranks = new int[capacity];
+            this.averages = new int[capacity];
+            this.mask = capacity - 1;
+            this.totalStudents = size;
+
+            for (int rank = 1; rank <= size; rank++) {
+                int index = order[rank - 1];
+                int slot = hash(studentIds[index]) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = studentIds[index];
+                ranks[slot] = rank;
+                averages[slot] = averageScores[index];
+            }
+        }
+
+        /**
+         * 查找学生所在槽位，不存在时返回 -1
+         */
+        private int find(Long studentId) {
+            if (studentId == null || studentId == 0) {
+                return -1;
+            }
+            int slot = hash(studentId) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == studentId) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int hash(long key) {
+            int h = Long.hashCode(key) * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
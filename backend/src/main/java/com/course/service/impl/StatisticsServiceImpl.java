@@ -6,21 +6,31 @@ import com.course.dto.StatisticsOverview;
 import com.course.dto.TrendData;
 import com.course.entity.*;
 import com.course.mapper.*;
+import com.course.service.GradeService;
+import com.course.service.LeaderboardService;
+import com.course.service.StatisticsRollupService;
 import com.course.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 统计服务实现类
+ * 概览类统计使用聚合查询，趋势、使用情况和学期对比读取统计汇总表，排行由排行榜服务在内存中维护
  * 
  * @author 课程管理系统开发团队
  * @version 1.0.0
@@ -31,106 +41,72 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class StatisticsServiceImpl implements StatisticsService {
 
+    private static final int MAX_RANKING_SIZE = 100;
+
+    private static final DateTimeFormatter DAY_LABEL_FORMATTER = DateTimeFormatter.ofPattern("MM-dd");
+
+    private static final DateTimeFormatter MONTH_LABEL_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
     private final UserMapper userMapper;
     private final CourseMapper courseMapper;
-    private final CourseSelectionMapper courseSelectionMapper;
-    private final GradeMapper gradeMapper;
     private final AnnouncementMapper announcementMapper;
+    private final StatisticsMapper statisticsMapper;
+    private final StatisticsRollupService statisticsRollupService;
+    private final LeaderboardService leaderboardService;
+    private final GradeService gradeService;
+    private final ThreadPoolTaskExecutor statisticsExecutor;
 
     @Override
     public StatisticsOverview getStatisticsOverview() {
         log.info("获取统计概览数据");
         
+        // 四个统计分区互不依赖，并行查询
+        CompletableFuture<StatisticsOverview.UserStatistics> userFuture =
+                CompletableFuture.supplyAsync(this::getUserStatistics, statisticsExecutor);
+        CompletableFuture<StatisticsOverview.CourseStatistics> courseFuture =
+                CompletableFuture.supplyAsync(this::getCourseStatistics, statisticsExecutor);
+        CompletableFuture<StatisticsOverview.GradeStatistics> gradeFuture =
+                CompletableFuture.supplyAsync(this::getGradeStatistics, statisticsExecutor);
+        CompletableFuture<StatisticsOverview.AnnouncementStatistics> announcementFuture =
+                CompletableFuture.supplyAsync(this::getAnnouncementStatistics, statisticsExecutor);
+        
         StatisticsOverview overview = new StatisticsOverview();
-        overview.setUserStatistics(getUserStatistics());
-        overview.setCourseStatistics(getCourseStatistics());
-        overview.setGradeStatistics(getGradeStatistics());
-        overview.setAnnouncementStatistics(getAnnouncementStatistics());
+        overview.setUserStatistics(join(userFuture));
+        overview.setCourseStatistics(join(courseFuture));
+        overview.setGradeStatistics(join(gradeFuture));
+        overview.setAnnouncementStatistics(join(announcementFuture));
         
         return overview;
     }
 
     @Override
     public StatisticsOverview.UserStatistics getUserStatistics() {
-        StatisticsOverview.UserStatistics userStats = new StatisticsOverview.UserStatistics();
-        
-        // 总用户数
-        Long totalUsers = userMapper.selectCount(new LambdaQueryWrapper<User>().eq(User::getDeleted, 0));
-        userStats.setTotalUsers(totalUsers.intValue());
-        
-        // 按角色统计 - 这里需要通过用户角色关联表查询，暂时使用示例数据
-        // TODO: 实现正确的角色统计逻辑
-        userStats.setStudentCount(Math.round(totalUsers.intValue() * 0.8f)); // 假设80%是学生
-        userStats.setTeacherCount(Math.round(totalUsers.intValue() * 0.15f)); // 假设15%是教师
-        userStats.setAdminCount(Math.round(totalUsers.intValue() * 0.05f)); // 假设5%是管理员
-        
-        // 活跃用户数（最近30天有登录的用户）
+        // 活跃用户（最近30天有更新的用户）与本月新增用户在同一条聚合查询中统计
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        Long activeUsers = userMapper.selectCount(new LambdaQueryWrapper<User>()
-                .eq(User::getDeleted, 0)
-                .ge(User::getUpdateTime, thirtyDaysAgo));
-        userStats.setActiveUsers(activeUsers.intValue());
-        
-        // 本月新增用户
         LocalDateTime monthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-        Long newUsersThisMonth = userMapper.selectCount(new LambdaQueryWrapper<User>()
-                .eq(User::getDeleted, 0)
-                .ge(User::getCreateTime, monthStart));
-        userStats.setNewUsersThisMonth(newUsersThisMonth.intValue());
+        StatisticsOverview.UserStatistics userStats = statisticsMapper.selectUserStatistics(thirtyDaysAgo, monthStart);
         
         // 用户活跃率
-        if (totalUsers > 0) {
-            BigDecimal activeRate = BigDecimal.valueOf(activeUsers)
-                    .divide(BigDecimal.valueOf(totalUsers), 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-            userStats.setActiveRate(activeRate);
-        } else {
-            userStats.setActiveRate(BigDecimal.ZERO);
-        }
+        userStats.setActiveRate(percentage(userStats.getActiveUsers(), userStats.getTotalUsers()));
         
         return userStats;
     }
 
     @Override
     public StatisticsOverview.CourseStatistics getCourseStatistics() {
-        StatisticsOverview.CourseStatistics courseStats = new StatisticsOverview.CourseStatistics();
-        
-        // 总课程数
-        Long totalCourses = courseMapper.selectCount(new LambdaQueryWrapper<Course>().eq(Course::getDeleted, 0));
-        courseStats.setTotalCourses(totalCourses.intValue());
-        
-        // 开放/关闭课程数
-        Long openCourses = courseMapper.selectCount(new LambdaQueryWrapper<Course>()
-                .eq(Course::getStatus, 1).eq(Course::getDeleted, 0));
-        courseStats.setOpenCourses(openCourses.intValue());
-        courseStats.setClosedCourses(totalCourses.intValue() - openCourses.intValue());
-        
-        // 按类别统计
-        Long requiredCourses = courseMapper.selectCount(new LambdaQueryWrapper<Course>()
-                .eq(Course::getCategory, "必修课").eq(Course::getDeleted, 0));
-        courseStats.setRequiredCourses(requiredCourses.intValue());
-        
-        Long electiveCourses = courseMapper.selectCount(new LambdaQueryWrapper<Course>()
-                .eq(Course::getCategory, "选修课").eq(Course::getDeleted, 0));
-        courseStats.setElectiveCourses(electiveCourses.intValue());
-        
-        // 总选课次数
-        Long totalSelections = courseSelectionMapper.selectCount(new LambdaQueryWrapper<CourseSelection>()
-                .eq(CourseSelection::getStatus, 1).eq(CourseSelection::getDeleted, 0));
-        courseStats.setTotalSelections(totalSelections.intValue());
+        StatisticsOverview.CourseStatistics courseStats = statisticsMapper.selectCourseStatistics();
+        courseStats.setClosedCourses(courseStats.getTotalCourses() - courseStats.getOpenCourses());
         
         // 平均选课人数
-        if (totalCourses > 0) {
-            BigDecimal avgStudents = BigDecimal.valueOf(totalSelections)
-                    .divide(BigDecimal.valueOf(totalCourses), 2, RoundingMode.HALF_UP);
+        if (courseStats.getTotalCourses() > 0) {
+            BigDecimal avgStudents = BigDecimal.valueOf(courseStats.getTotalSelections())
+                    .divide(BigDecimal.valueOf(courseStats.getTotalCourses()), 2, RoundingMode.HALF_UP);
             courseStats.setAvgStudentsPerCourse(avgStudents);
         } else {
             courseStats.setAvgStudentsPerCourse(BigDecimal.ZERO);
         }
         
         // 本学期新增课程（假设当前学期为2025春季）
-        String currentSemester = "2025春季";
-        // 这里可以根据实际需求调整查询逻辑
         courseStats.setNewCoursesThisSemester(5); // 示例数据
         
         return courseStats;
@@ -138,114 +114,32 @@ public class StatisticsServiceImpl implements StatisticsService {
 
     @Override
     public StatisticsOverview.GradeStatistics getGradeStatistics() {
-        StatisticsOverview.GradeStatistics gradeStats = new StatisticsOverview.GradeStatistics();
-        
-        // 总成绩记录数
-        Long totalGrades = gradeMapper.selectCount(new LambdaQueryWrapper<Grade>().eq(Grade::getDeleted, 0));
-        gradeStats.setTotalGrades(totalGrades.intValue());
-        
-        // 已录入成绩数（有总成绩的记录）
-        Long gradedCount = gradeMapper.selectCount(new LambdaQueryWrapper<Grade>()
-                .eq(Grade::getDeleted, 0)
-                .isNotNull(Grade::getTotalScore));
-        gradeStats.setGradedCount(gradedCount.intValue());
-        gradeStats.setUngradedCount(totalGrades.intValue() - gradedCount.intValue());
-        
-        // 及格/不及格统计
-        Long passedCount = gradeMapper.selectCount(new LambdaQueryWrapper<Grade>()
-                .eq(Grade::getDeleted, 0)
-                .ge(Grade::getTotalScore, 60));
-        gradeStats.setPassedCount(passedCount.intValue());
-        gradeStats.setFailedCount(gradedCount.intValue() - passedCount.intValue());
-        
-        // 及格率
-        if (gradedCount > 0) {
-            BigDecimal passRate = BigDecimal.valueOf(passedCount)
-                    .divide(BigDecimal.valueOf(gradedCount), 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-            gradeStats.setPassRate(passRate);
-        } else {
-            gradeStats.setPassRate(BigDecimal.ZERO);
-        }
+        StatisticsOverview.GradeStatistics gradeStats = statisticsMapper.selectGradeStatistics();
+        gradeStats.setUngradedCount(gradeStats.getTotalGrades() - gradeStats.getGradedCount());
+        gradeStats.setFailedCount(gradeStats.getGradedCount() - gradeStats.getPassedCount());
         
-        // 优秀率（90分以上）
-        Long excellentCount = gradeMapper.selectCount(new LambdaQueryWrapper<Grade>()
-                .eq(Grade::getDeleted, 0)
-                .ge(Grade::getTotalScore, 90));
-        if (gradedCount > 0) {
-            BigDecimal excellentRate = BigDecimal.valueOf(excellentCount)
-                    .divide(BigDecimal.valueOf(gradedCount), 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-            gradeStats.setExcellentRate(excellentRate);
-        } else {
-            gradeStats.setExcellentRate(BigDecimal.ZERO);
-        }
+        // 及格率、优秀率（90分以上）
+        gradeStats.setPassRate(percentage(gradeStats.getPassedCount(), gradeStats.getGradedCount()));
+        gradeStats.setExcellentRate(percentage(gradeStats.getExcellentCount(), gradeStats.getGradedCount()));
         
-        // 平均成绩
-        List<Grade> allGrades = gradeMapper.selectList(new LambdaQueryWrapper<Grade>()
-                .eq(Grade::getDeleted, 0)
-                .isNotNull(Grade::getTotalScore));
-        if (!allGrades.isEmpty()) {
-            double avgScore = allGrades.stream()
-                    .mapToDouble(grade -> grade.getTotalScore().doubleValue())
-                    .average()
-                    .orElse(0.0);
-            gradeStats.setAverageScore(BigDecimal.valueOf(avgScore).setScale(2, RoundingMode.HALF_UP));
-        } else {
-            gradeStats.setAverageScore(BigDecimal.ZERO);
-        }
+        // 平均成绩（SQL中计算，无成绩时为NULL）
+        gradeStats.setAverageScore(gradeStats.getAverageScore() != null
+                ? gradeStats.getAverageScore().setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
         
         return gradeStats;
     }
 
     @Override
     public StatisticsOverview.AnnouncementStatistics getAnnouncementStatistics() {
-        StatisticsOverview.AnnouncementStatistics announcementStats = new StatisticsOverview.AnnouncementStatistics();
-        
-        // 总公告数
-        Long totalAnnouncements = announcementMapper.selectCount(new LambdaQueryWrapper<Announcement>()
-                .eq(Announcement::getDeleted, 0));
-        announcementStats.setTotalAnnouncements(totalAnnouncements.intValue());
-        
-        // 已发布公告数
-        Long publishedCount = announcementMapper.selectCount(new LambdaQueryWrapper<Announcement>()
-                .eq(Announcement::getDeleted, 0)
-                .eq(Announcement::getStatus, 1));
-        announcementStats.setPublishedCount(publishedCount.intValue());
-        
-        // 草稿公告数
-        Long draftCount = announcementMapper.selectCount(new LambdaQueryWrapper<Announcement>()
-                .eq(Announcement::getDeleted, 0)
-                .eq(Announcement::getStatus, 0));
-        announcementStats.setDraftCount(draftCount.intValue());
-        
-        // 置顶公告数
-        Long topCount = announcementMapper.selectCount(new LambdaQueryWrapper<Announcement>()
-                .eq(Announcement::getDeleted, 0)
-                .eq(Announcement::getIsTop, 1));
-        announcementStats.setTopCount(topCount.intValue());
-        
-        // 本月发布公告数
         LocalDateTime monthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-        Long publishedThisMonth = announcementMapper.selectCount(new LambdaQueryWrapper<Announcement>()
-                .eq(Announcement::getDeleted, 0)
-                .eq(Announcement::getStatus, 1)
-                .ge(Announcement::getPublishTime, monthStart));
-        announcementStats.setPublishedThisMonth(publishedThisMonth.intValue());
-        
-        // 总阅读次数
-        List<Announcement> allAnnouncements = announcementMapper.selectList(new LambdaQueryWrapper<Announcement>()
-                .eq(Announcement::getDeleted, 0)
-                .eq(Announcement::getStatus, 1));
-        int totalReadCount = allAnnouncements.stream()
-                .mapToInt(announcement -> announcement.getReadCount() != null ? announcement.getReadCount() : 0)
-                .sum();
-        announcementStats.setTotalReadCount(totalReadCount);
+        StatisticsOverview.AnnouncementStatistics announcementStats =
+                statisticsMapper.selectAnnouncementStatistics(monthStart);
         
         // 平均阅读次数
-        if (publishedCount > 0) {
-            BigDecimal avgReadCount = BigDecimal.valueOf(totalReadCount)
-                    .divide(BigDecimal.valueOf(publishedCount), 2, RoundingMode.HALF_UP);
+        if (announcementStats.getPublishedCount() > 0) {
+            BigDecimal avgReadCount = BigDecimal.valueOf(announcementStats.getTotalReadCount())
+                    .divide(BigDecimal.valueOf(announcementStats.getPublishedCount()), 2, RoundingMode.HALF_UP);
             announcementStats.setAvgReadCount(avgReadCount);
         } else {
             announcementStats.setAvgReadCount(BigDecimal.ZERO);
@@ -254,57 +148,126 @@ public class StatisticsServiceImpl implements StatisticsService {
         return announcementStats;
     }
 
+    /**
+     * 计算百分比，保留与原实现一致的精度
+     */
+    private BigDecimal percentage(Integer count, Integer total) {
+        if (total == null || total == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(count)
+                .divide(BigDecimal.valueOf(total), 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+    }
+
+    /**
+     * 等待并行查询结果，还原原始异常
+     */
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     @Override
     public TrendData getUserGrowthTrend(LocalDate startDate, LocalDate endDate, String timeRange) {
-        // 这里实现用户增长趋势的具体逻辑
-        // 由于篇幅限制，这里返回示例数据
-        TrendData trendData = new TrendData();
-        trendData.setDataType("user");
-        trendData.setTimeRange(timeRange);
-        trendData.setGrowthRate(BigDecimal.valueOf(15.5));
-        trendData.setTrendDirection("up");
-        
-        // 示例数据点
-        List<TrendData.TrendPoint> points = new ArrayList<>();
-        for (int i = 0; i < 6; i++) {
-            TrendData.TrendPoint point = new TrendData.TrendPoint();
-            point.setDate(startDate.plusMonths(i));
-            point.setValue(100 + i * 10);
-            point.setGrowth(i == 0 ? 0 : 10);
-            point.setGrowthRate(i == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(10.0));
-            point.setLabel((i + 1) + "月");
-            points.add(point);
-        }
-        trendData.setPoints(points);
-        
-        return trendData;
+        return buildTrend("user", startDate, endDate, timeRange, DailyStatistics::getNewUsers);
     }
 
     @Override
     public TrendData getCourseSelectionTrend(LocalDate startDate, LocalDate endDate, String timeRange) {
-        // 实现课程选课趋势逻辑
-        TrendData trendData = new TrendData();
-        trendData.setDataType("course");
-        trendData.setTimeRange(timeRange);
-        trendData.setGrowthRate(BigDecimal.valueOf(8.2));
-        trendData.setTrendDirection("up");
-        
-        // 示例数据
-        List<TrendData.TrendPoint> points = new ArrayList<>();
-        for (int i = 0; i < 6; i++) {
+        return buildTrend("course", startDate, endDate, timeRange, DailyStatistics::getNewSelections);
+    }
+
+    /**
+     * 由每日汇总按时间粒度分桶生成趋势数据，没有数据的时间段补0
+     */
+    private TrendData buildTrend(String dataType, LocalDate startDate, LocalDate endDate, String timeRange,
+                                 Function<DailyStatistics, Integer> metric) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("结束日期不能早于开始日期");
+        }
+
+        Map<LocalDate, Integer> buckets = new LinkedHashMap<>();
+        for (LocalDate bucket = bucketStart(startDate, timeRange); !bucket.isAfter(endDate);
+             bucket = nextBucket(bucket, timeRange)) {
+            buckets.put(bucket, 0);
+        }
+        for (DailyStatistics daily : statisticsRollupService.getDailyStatistics(startDate, endDate)) {
+            buckets.merge(bucketStart(daily.getStatDate(), timeRange), metric.apply(daily), Integer::sum);
+        }
+
+        List<TrendData.TrendPoint> points = new ArrayList<>(buckets.size());
+        Integer previous = null;
+        for (Map.Entry<LocalDate, Integer> entry : buckets.entrySet()) {
+            int value = entry.getValue();
             TrendData.TrendPoint point = new TrendData.TrendPoint();
-            point.setDate(startDate.plusMonths(i));
-            point.setValue(200 + i * 15);
-            point.setGrowth(i == 0 ? 0 : 15);
-            point.setGrowthRate(i == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(7.5));
-            point.setLabel((i + 1) + "月");
+            point.setDate(entry.getKey());
+            point.setValue(value);
+            point.setGrowth(previous == null ? 0 : value - previous);
+            point.setGrowthRate(previous == null ? BigDecimal.ZERO : percentage(value - previous, previous));
+            point.setLabel(bucketLabel(entry.getKey(), timeRange));
             points.add(point);
+            previous = value;
         }
+
+        // 总体增长率：最后一个时间段相比第一个时间段
+        int first = points.get(0).getValue();
+        int last = points.get(points.size() - 1).getValue();
+        TrendData trendData = new TrendData();
+        trendData.setDataType(dataType);
+        trendData.setTimeRange(timeRange);
         trendData.setPoints(points);
-        
+        trendData.setGrowthRate(percentage(last - first, first));
+        trendData.setTrendDirection(last > first ? "up" : last < first ? "down" : "stable");
+
         return trendData;
     }
 
+    private LocalDate bucketStart(LocalDate date, String timeRange) {
+        switch (timeRange) {
+            case "day":
+                return date;
+            case "week":
+                return date.with(DayOfWeek.MONDAY);
+            case "month":
+                return date.withDayOfMonth(1);
+            case "year":
+                return date.withDayOfYear(1);
+            default:
+                throw new IllegalArgumentException("不支持的时间范围: " + timeRange);
+        }
+    }
+
+    private LocalDate nextBucket(LocalDate bucket, String timeRange) {
+        switch (timeRange) {
+            case "day":
+                return bucket.plusDays(1);
+            case "week":
+                return bucket.plusWeeks(1);
+            case "month":
+                return bucket.plusMonths(1);
+            default:
+                return bucket.plusYears(1);
+        }
+    }
+
+    private String bucketLabel(LocalDate bucket, String timeRange) {
+        switch (timeRange) {
+            case "month":
+                return bucket.format(MONTH_LABEL_FORMATTER);
+            case "year":
+                return String.valueOf(bucket.getYear());
+            default:
+                return bucket.format(DAY_LABEL_FORMATTER);
+        }
+    }
+
     @Override
     public ChartData getGradeDistributionChart(Long courseId, String semester) {
         ChartData chartData = new ChartData();
@@ -314,26 +277,8 @@ public class StatisticsServiceImpl implements StatisticsService {
         // 成绩等级标签
         chartData.setLabels(Arrays.asList("A", "B", "C", "D", "F"));
         
-        // 查询成绩分布数据
-        LambdaQueryWrapper<Grade> queryWrapper = new LambdaQueryWrapper<Grade>()
-                .eq(Grade::getDeleted, 0)
-                .isNotNull(Grade::getGradeLevel);
-        
-        if (courseId != null) {
-            queryWrapper.eq(Grade::getCourseId, courseId);
-        }
-        if (semester != null) {
-            queryWrapper.eq(Grade::getSemester, semester);
-        }
-        
-        List<Grade> grades = gradeMapper.selectList(queryWrapper);
-        
-        // 统计各等级人数
-        Map<String, Long> gradeCount = grades.stream()
-                .collect(Collectors.groupingBy(
-                        grade -> grade.getGradeLevel().substring(0, 1), // 取等级的第一个字符
-                        Collectors.counting()
-                ));
+        // 只读取总成绩列，按等级首字母统计人数
+        Map<String, Integer> gradeCount = gradeService.analyzeScores(courseId, semester).getLetterCounts();
         
         // 构建数据系列
         ChartData.DataSeries series = new ChartData.DataSeries();
@@ -342,7 +287,7 @@ public class StatisticsServiceImpl implements StatisticsService {
         series.setColor("#409EFF");
         
         List<Object> data = Arrays.asList("A", "B", "C", "D", "F").stream()
-                .map(grade -> gradeCount.getOrDefault(grade, 0L))
+                .map(grade -> gradeCount.getOrDefault(grade, 0))
                 .collect(Collectors.toList());
         series.setData(data);
         
@@ -465,18 +410,28 @@ public class StatisticsServiceImpl implements StatisticsService {
                 "7月", "8月", "9月", "10月", "11月", "12月");
         chartData.setLabels(months);
         
-        // 示例数据 - 实际应该从数据库查询
+        // 按月累加每日汇总，最多读取366行
+        int[] newUsers = new int[12];
+        int[] newCourses = new int[12];
+        LocalDate yearStart = LocalDate.of(year, 1, 1);
+        LocalDate yearEnd = yearStart.plusYears(1).minusDays(1);
+        for (DailyStatistics daily : statisticsRollupService.getDailyStatistics(yearStart, yearEnd)) {
+            int month = daily.getStatDate().getMonthValue() - 1;
+            newUsers[month] += daily.getNewUsers();
+            newCourses[month] += daily.getNewCourses();
+        }
+        
         ChartData.DataSeries userSeries = new ChartData.DataSeries();
         userSeries.setName("新增用户");
         userSeries.setType("line");
         userSeries.setColor("#409EFF");
-        userSeries.setData(Arrays.asList(10, 15, 20, 25, 30, 35, 40, 35, 30, 25, 20, 15));
+        userSeries.setData(Arrays.stream(newUsers).boxed().collect(Collectors.<Object>toList()));
         
         ChartData.DataSeries courseSeries = new ChartData.DataSeries();
         courseSeries.setName("新增课程");
         courseSeries.setType("line");
         courseSeries.setColor("#67C23A");
-        courseSeries.setData(Arrays.asList(2, 3, 5, 4, 6, 8, 7, 5, 4, 3, 2, 1));
+        courseSeries.setData(Arrays.stream(newCourses).boxed().collect(Collectors.<Object>toList()));
         
         chartData.setSeries(Arrays.asList(userSeries, courseSeries));
         
@@ -489,14 +444,22 @@ public class StatisticsServiceImpl implements StatisticsService {
 
     @Override
     public List<Map<String, Object>> getPopularCourses(Integer limit) {
-        // 实现热门课程排行逻辑
-        return new ArrayList<>();
+        return leaderboardService.getPopularCourses(rankingLimit(limit));
     }
 
     @Override
     public List<Map<String, Object>> getTopStudents(String semester, Integer limit) {
-        // 实现优秀学生排行逻辑
-        return new ArrayList<>();
+        return leaderboardService.getTopStudents(semester, rankingLimit(limit));
+    }
+
+    /**
+     * 排行数量限制在 1 到 MAX_RANKING_SIZE 之间，未指定时为 10
+     */
+    private int rankingLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return 10;
+        }
+        return Math.min(limit, MAX_RANKING_SIZE);
     }
 
     @Override
@@ -507,14 +470,97 @@ public class StatisticsServiceImpl implements StatisticsService {
 
     @Override
     public Map<String, Object> getSemesterComparison(String semester1, String semester2) {
-        // 实现学期对比逻辑
-        return new HashMap<>();
+        Map<String, Object> first = semesterSummary(semester1);
+        Map<String, Object> second = semesterSummary(semester2);
+        
+        // 差值：学期2相对学期1
+        Map<String, Object> difference = new LinkedHashMap<>();
+        for (String key : Arrays.asList("courseCount", "selectionCount", "dropCount", "gradedCount")) {
+            difference.put(key, (Integer) second.get(key) - (Integer) first.get(key));
+        }
+        for (String key : Arrays.asList("averageScore", "passRate", "excellentRate")) {
+            difference.put(key, ((BigDecimal) second.get(key)).subtract((BigDecimal) first.get(key)));
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("semester1", first);
+        result.put("semester2", second);
+        result.put("difference", difference);
+        return result;
+    }
+
+    private Map<String, Object> semesterSummary(String semester) {
+        SemesterStatistics stats = statisticsRollupService.getSemesterStatistics(semester);
+        if (stats == null) {
+            stats = new SemesterStatistics();
+            stats.setSemester(semester);
+            stats.setCourseCount(0);
+            stats.setSelectionCount(0);
+            stats.setDropCount(0);
+            stats.setGradedCount(0);
+            stats.setPassCount(0);
+            stats.setExcellentCount(0);
+        }
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("semester", semester);
+        summary.put("courseCount", stats.getCourseCount());
+        summary.put("selectionCount", stats.getSelectionCount());
+        summary.put("dropCount", stats.getDropCount());
+        summary.put("gradedCount", stats.getGradedCount());
+        summary.put("averageScore", stats.getAverageScore() != null
+                ? stats.getAverageScore().setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+        summary.put("passRate", percentage(stats.getPassCount(), stats.getGradedCount()));
+        summary.put("excellentRate", percentage(stats.getExcellentCount(), stats.getGradedCount()));
+        summary.put("updateTime", stats.getUpdateTime());
+        return summary;
     }
 
     @Override
     public Map<String, Object> getSystemUsageStatistics(LocalDate startDate, LocalDate endDate) {
-        // 实现系统使用情况统计逻辑
-        return new HashMap<>();
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("结束日期不能早于开始日期");
+        }
+        
+        // 累加日期范围内的每日汇总
+        int newUsers = 0;
+        int newCourses = 0;
+        int selections = 0;
+        int drops = 0;
+        int gradesEntered = 0;
+        int announcementsPublished = 0;
+        int announcementReads = 0;
+        DailyStatistics peakDay = null;
+        for (DailyStatistics daily : statisticsRollupService.getDailyStatistics(startDate, endDate)) {
+            newUsers += daily.getNewUsers();
+            newCourses += daily.getNewCourses();
+            selections += daily.getNewSelections();
+            drops += daily.getDrops();
+            gradesEntered += daily.getGradesEntered();
+            announcementsPublished += daily.getAnnouncementsPublished();
+            announcementReads += daily.getAnnouncementReads();
+            if (peakDay == null || daily.getNewSelections() > peakDay.getNewSelections()) {
+                peakDay = daily;
+            }
+        }
+        
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("startDate", startDate);
+        usage.put("endDate", endDate);
+        usage.put("newUsers", newUsers);
+        usage.put("newCourses", newCourses);
+        usage.put("selections", selections);
+        usage.put("drops", drops);
+        usage.put("gradesEntered", gradesEntered);
+        usage.put("announcementsPublished", announcementsPublished);
+        usage.put("announcementReads", announcementReads);
+        usage.put("avgDailySelections", BigDecimal.valueOf(selections)
+                .divide(BigDecimal.valueOf(days), 2, RoundingMode.HALF_UP));
+        usage.put("peakSelectionDate", peakDay != null ? peakDay.getStatDate() : null);
+        usage.put("peakSelections", peakDay != null ? peakDay.getNewSelections() : 0);
+        return usage;
     }
 
     @Override
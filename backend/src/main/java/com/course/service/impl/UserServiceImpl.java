@@ -8,6 +8,7 @@ import com.course.entity.Role;
 import com.course.entity.User;
 import com.course.mapper.RoleMapper;
 import com.course.mapper.UserMapper;
+import com.course.security.UserPrincipalCache;
 import com.course.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 
@@ -33,6 +35,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserMapper userMapper;
     private final RoleMapper roleMapper;
+    private final UserPrincipalCache userPrincipalCache;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -160,6 +163,7 @@ public class UserServiceImpl implements UserService {
         user.setPassword(null);
         
         userMapper.updateById(user);
+        userPrincipalCache.evictUser(user.getId());
         log.info("用户信息更新成功: {}", user.getId());
         
         return getUserById(user.getId());
@@ -185,6 +189,7 @@ public class UserServiceImpl implements UserService {
         boolean success = result > 0;
         
         if (success) {
+            revokeIssuedTokens(id);
             log.info("用户删除成功: {}", id);
         } else {
             log.warn("用户删除失败: {}", id);
@@ -273,6 +278,7 @@ public class UserServiceImpl implements UserService {
         
         boolean success = result > 0;
         if (success) {
+            revokeIssuedTokens(id);
             log.info("用户密码重置成功: {}", id);
         }
         
@@ -303,6 +309,7 @@ public class UserServiceImpl implements UserService {
         
         boolean success = result > 0;
         if (success) {
+            revokeIssuedTokens(id);
             log.info("用户密码修改成功: {}", id);
         }
         
@@ -328,6 +335,7 @@ public class UserServiceImpl implements UserService {
         
         boolean success = result > 0;
         if (success) {
+            revokeIssuedTokens(id);
             log.info("用户状态更新成功: {} -> {}", id, status);
         }
         
@@ -351,6 +359,7 @@ public class UserServiceImpl implements UserService {
         
         // TODO: 实现用户角色分配逻辑
         // 这里需要操作user_roles表，暂时返回true
+        revokeIssuedTokens(userId);
         log.info("用户角色分配成功: {}", userId);
         return true;
     }
@@ -363,4 +372,14 @@ public class UserServiceImpl implements UserService {
         
         return userMapper.getUserRoleCodes(userId);
     }
+
+    /**
+     * 吊销用户此前签发的全部令牌
+     * 令牌生效起点写入数据库（随当前事务提交），无状态模式下在重启后和其他实例上同样生效；
+     * 按秒截断，与令牌签发时间的精度一致
+     */
+    private void revokeIssuedTokens(Long userId) {
+        userMapper.updateTokensValidAfter(userId, LocalDateTime.now().withNano(0));
+        userPrincipalCache.revokeIssuedTokens(userId);
+    }
 }
@@ -0,0 +1,191 @@
+package com.course.utils;
+
+import com.course.entity.Classroom;
+import com.course.entity.Schedule;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 教室占用位图
+ * 可用教室按楼栋、楼层、教室编号排序后编号，每个（学期, 周次, 星期, 时间槽）对应一个教室位集，第 i 位表示第 i 间教室被占用；
+ * 时间槽为 5 分钟，课表安排的起止时间向外取整到槽边界。查询空闲教室时，对查询范围内每个周次、时间槽的位集按位或，
+ * 再与候选教室位集按位与非，代价与教室数 / 64 成正比；没有课的周次、星期和时间槽不分配位集。构建后不可变，变更时整体替换
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public final class ClassroomOccupancy {
+
+    /**
+     * 时间槽长度（秒）
+     */
+    public static final int SLOT_SECONDS = 5 * 60;
+
+    public static final int SLOTS_PER_DAY = 24 * 60 * 60 / SLOT_SECONDS;
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    /**
+     * 可用教室，按编号排列
+     */
+    private final Classroom[] rooms;
+
+    /**
+     * 位集长度（long 个数）
+     */
+    private final int words;
+
+    /**
+     * 楼栋 -> 教室位集
+     */
+    private final Map<String, long[]> buildings;
+
+    /**
+     * 学期 -> [(周次 - 1) * 7 + 星期 - 1][时间槽] -> 被占用的教室位集
+     */
+    private final Map<String, long[][][]> semesters;
+
+    private ClassroomOccupancy(Classroom[] rooms, Map<String, long[]> buildings, Map<String, long[][][]> semesters) {
+        this.rooms = rooms;
+        this.words = (rooms.length + 63) >>> 6;
+        this.buildings = buildings;
+        this.semesters = semesters;
+    }
+
+    /**
+     * 由可用教室和课表安排构建占用位图
+     *
+     * @param classrooms 可用教室（按楼栋、楼层、教室编号排序）
+     * @param schedules 课表安排（需含学期），不在可用教室中的安排忽略
+     * @return 教室占用位图
+     */
+    public static ClassroomOccupancy build(List<Classroom> classrooms, List<Schedule> schedules) {
+        Classroom[] rooms = classrooms.toArray(new Classroom[0]);
+        int words = (rooms.length + 63) >>> 6;
+        Map<Long, Integer> positions = new HashMap<>(rooms.length * 2);
+        Map<String, long[]> buildings = new HashMap<>();
+        for (int i = 0; i < rooms.length; i++) {
+            positions.put(rooms[i].getId(), i);
+            if (rooms[i].getBuilding() != null) {
+                buildings.computeIfAbsent(rooms[i].getBuilding(), k -> new long[words])[i >>> 6] |= 1L << i;
+            }
+        }
+
+        Map<String, long[][][]> semesters = new HashMap<>();
+        for (Schedule schedule : schedules) {
+            Integer position = positions.get(schedule.getClassroomId());
+            if (position == null || schedule.getSemester() == null) {
+                continue;
+            }
+            long[][][] days = semesters.computeIfAbsent(schedule.getSemester(),
+                    k -> new long[ScheduleIndex.MAX_WEEK * DAYS_PER_WEEK][][]);
+            int fromSlot = startSlot(schedule.getStartTime());
+            int toSlot = endSlot(schedule.getEndTime());
+            int weeks = ScheduleIndex.weekMask(schedule.getWeekStart(), schedule.getWeekEnd());
+            for (int week = 0; weeks >>> week != 0; week++) {
+                if ((weeks >>> week & 1) == 0) {
+                    continue;
+                }
+                int day = week * DAYS_PER_WEEK + schedule.getDayOfWeek() - 1;
+                long[][] slots = days[day];
+                if (slots == null) {
+                    slots = new long[SLOTS_PER_DAY][];
+                    days[day] = slots;
+                }
+                for (int slot = fromSlot; slot < toSlot; slot++) {
+                    if (slots[slot] == null) {
+                        slots[slot] = new long[words];
+                    }
+                    slots[slot][position >>> 6] |= 1L << position;
+                }
+            }
+        }
+        return new ClassroomOccupancy(rooms, buildings, semesters);
+    }
+
+    /**
+     * 查询空闲教室：在指定周次范围内每周的该时段都没有课表安排
+     *
+     * @param semester 学期
+     * @param dayOfWeek 星期几（1-7）
+     * @param startTime 开始时间
+     * @param endTime 结束时间
+     * @param weekStart 开始周次（为空时与结束周次一起表示全部周次）
+     * @param weekEnd 结束周次
+     * @param minCapacity 最小容纳人数（可选）
+     * @param building 楼栋（可选）
+     * @return 空闲教室，按楼栋、楼层、教室编号排列
+     */
+    public List<Classroom> findFree(String semester, int dayOfWeek, LocalTime startTime, LocalTime endTime,
+                                    Integer weekStart, Integer weekEnd, Integer minCapacity, String building) {
+        long[] candidates;
+        if (building != null) {
+            long[] buildingRooms = buildings.get(building);
+            if (buildingRooms == null) {
+                return new ArrayList<>();
+            }
+            candidates = buildingRooms.clone();
+        } else {
+            candidates = new long[words];
+            Arrays.fill(candidates, -1L);
+            if ((rooms.length & 63) != 0) {
+                candidates[words - 1] = (1L << rooms.length) - 1;
+            }
+        }
+
+        long[][][] days = semesters.get(semester);
+        if (days != null) {
+            int fromSlot = startSlot(startTime);
+            int toSlot = endSlot(endTime);
+            int weeks = weekStart == null && weekEnd == null
+                    ? ScheduleIndex.weekMask(1, ScheduleIndex.MAX_WEEK)
+                    : ScheduleIndex.weekMask(weekStart, weekEnd);
+            for (int week = 0; weeks >>> week != 0; week++) {
+                long[][] slots = (weeks >>> week & 1) == 0 ? null : days[week * DAYS_PER_WEEK + dayOfWeek - 1];
+                if (slots == null) {
+                    continue;
+                }
+                for (int slot = fromSlot; slot < toSlot; slot++) {
+                    long[] occupied = slots[slot];
+                    if (occupied == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < words; i++) {
+                        candidates[i] &= ~occupied[i];
+                    }
+                }
+            }
+        }
+
+        List<Classroom> result = new ArrayList<>();
+        for (int i = 0; i < words; i++) {
+            long bits = candidates[i];
+            while (bits != 0) {
+                Classroom room = rooms[(i << 6) + Long.numberOfTrailingZeros(bits)];
+                if (minCapacity == null || (room.getCapacity() != null && room.getCapacity() >= minCapacity)) {
+                    result.add(room);
+                }
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    public int getRoomCount() {
+        return rooms.length;
+    }
+
+    private static int startSlot(LocalTime time) {
+        return time.toSecondOfDay() / SLOT_SECONDS;
+    }
+
+    private static int endSlot(LocalTime time) {
+        return (time.toSecondOfDay() + SLOT_SECONDS - 1) / SLOT_SECONDS;
+    }
+}
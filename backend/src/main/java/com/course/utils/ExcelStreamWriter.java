@@ -0,0 +1,208 @@
+package com.course.utils;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Excel流式写入工具类
+ * 基于 SXSSF 滑动窗口，内存中只保留最近 windowSize 行，其余行刷到压缩临时文件；
+ * 列宽在创建时固定，不调用 autoSizeColumn，内存占用与行数无关
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public class ExcelStreamWriter implements TabularWriter {
+
+    /**
+     * 默认内存中保留的行数
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+
+    private final SXSSFWorkbook workbook;
+
+    private final SXSSFSheet sheet;
+
+    private final CellStyle headerStyle;
+
+    private final CellStyle dataStyle;
+
+    /**
+     * finish() 时写入的输出流，未指定时需调用 writeTo
+     */
+    private final OutputStream target;
+
+    private int rowNum;
+
+    /**
+     * 创建写入器
+     *
+     * @param sheetName 工作表名称
+     * @param columnWidths 各列宽度（字符数，中文按2个字符计）
+     */
+    public ExcelStreamWriter(String sheetName, int... columnWidths) {
+        this(null, DEFAULT_WINDOW_SIZE, sheetName, columnWidths);
+    }
+
+    /**
+     * 创建写入器，finish() 时写入指定输出流
+     *
+     * @param target 输出流（不会被关闭）
+     * @param sheetName 工作表名称
+     * @param columnWidths 各列宽度
+     */
+    public ExcelStreamWriter(OutputStream target, String sheetName, int... columnWidths) {
+        this(target, DEFAULT_WINDOW_SIZE, sheetName, columnWidths);
+    }
+
+    public ExcelStreamWriter(int windowSize, String sheetName, int... columnWidths) {
+        this(null, windowSize, sheetName, columnWidths);
+    }
+
+    private ExcelStreamWriter(OutputStream target, int windowSize, String sheetName, int... columnWidths) {
+        this.target = target;
+        workbook = new SXSSFWorkbook(windowSize);
+        workbook.setCompressTempFiles(true);
+        sheet = workbook.createSheet(sheetName);
+        for (int i = 0; i < columnWidths.length; i++) {
+            sheet.setColumnWidth(i, Math.min(columnWidths[i], 255) * 256);
+        }
+        headerStyle = createHeaderStyle(workbook);
+        dataStyle = createDataStyle(workbook);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (target == null) {
+            throw new IllegalStateException("未指定输出流");
+        }
+        writeTo(target);
+    }
+
+    /**
+     * 写入标题行（单元格使用表头样式）
+     */
+    @Override
+    public ExcelStreamWriter title(String text) {
+        Cell cell = sheet.createRow(rowNum++).createCell(0);
+        cell.setCellValue(text);
+        cell.setCellStyle(headerStyle);
+        return this;
+    }
+
+    /**
+     * 写入单个单元格的说明行
+     */
+    @Override
+    public ExcelStreamWriter line(String text) {
+        Cell cell = sheet.createRow(rowNum++).createCell(0);
+        cell.setCellValue(text);
+        cell.setCellStyle(dataStyle);
+        return this;
+    }
+
+    /**
+     * 写入空行
+     */
+    @Override
+    public ExcelStreamWriter blankRow() {
+        rowNum++;
+        return this;
+    }
+
+    /**
+     * 写入表头行
+     */
+    @Override
+    public ExcelStreamWriter header(String... headers) {
+        Row row = sheet.createRow(rowNum++);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        return this;
+    }
+
+    /**
+     * 写入数据行
+     * 数值写为数字单元格，null 跳过该单元格，其余按字符串写入
+     */
+    @Override
+    public ExcelStreamWriter row(Object... values) {
+        Row row = sheet.createRow(rowNum++);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+
+            Cell cell = row.createCell(i);
+            if (value instanceof Number) {
+                cell.setCellValue(((Number) value).doubleValue());
+            } else {
+                cell.setCellValue(value.toString());
+            }
+            cell.setCellStyle(dataStyle);
+        }
+        return this;
+    }
+
+    /**
+     * 已写入的行数（含标题和空行）
+     */
+    @Override
+    public int getRowCount() {
+        return rowNum;
+    }
+
+    /**
+     * 将工作簿写入输出流，不关闭输出流
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        workbook.write(outputStream);
+        outputStream.flush();
+    }
+
+    /**
+     * 删除临时文件并释放资源
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private static CellStyle createHeaderStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold(true);
+        font.setFontHeightInPoints((short) 12);
+        style.setFont(font);
+        style.setAlignment(HorizontalAlignment.CENTER);
+        style.setVerticalAlignment(VerticalAlignment.CENTER);
+        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        setThinBorder(style);
+        return style;
+    }
+
+    private static CellStyle createDataStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        style.setAlignment(HorizontalAlignment.LEFT);
+        style.setVerticalAlignment(VerticalAlignment.CENTER);
+        setThinBorder(style);
+        return style;
+    }
+
+    private static void setThinBorder(CellStyle style) {
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+    }
+}
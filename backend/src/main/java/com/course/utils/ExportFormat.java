@@ -0,0 +1,97 @@
+package com.course.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 报表导出格式
+ * XLSX 面向人工查看；CSV/TSV 面向程序读取，逐行写出，不生成共享字符串表和样式，可选 gzip 压缩
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public enum ExportFormat {
+
+    XLSX("xlsx", ".xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+
+    CSV("csv", ".csv", "text/csv;charset=UTF-8"),
+
+    TSV("tsv", ".tsv", "text/tab-separated-values;charset=UTF-8"),
+
+    CSV_GZIP("csv.gz", ".csv.gz", "application/gzip"),
+
+    TSV_GZIP("tsv.gz", ".tsv.gz", "application/gzip");
+
+    private final String code;
+
+    private final String extension;
+
+    private final String contentType;
+
+    ExportFormat(String code, String extension, String contentType) {
+        this.code = code;
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    /**
+     * 按格式编码解析，为空时默认 XLSX
+     *
+     * @param code 格式编码：xlsx、csv、tsv、csv.gz、tsv.gz
+     * @return 导出格式
+     */
+    public static ExportFormat of(String code) {
+        if (code == null || code.isEmpty()) {
+            return XLSX;
+        }
+        for (ExportFormat format : values()) {
+            if (format.code.equalsIgnoreCase(code)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("不支持的导出格式: " + code);
+    }
+
+    /**
+     * 创建写入器
+     *
+     * @param outputStream 输出流（不会被关闭）
+     * @param sheetName 工作表名称（仅 XLSX 使用）
+     * @param columnWidths 列宽（仅 XLSX 使用）
+     * @return 写入器
+     */
+    public TabularWriter open(OutputStream outputStream, String sheetName, int... columnWidths) throws IOException {
+        switch (this) {
+            case CSV:
+                return new DelimitedWriter(outputStream, ',', false);
+            case TSV:
+                return new DelimitedWriter(outputStream, '\t', false);
+            case CSV_GZIP:
+                return new DelimitedWriter(outputStream, ',', true);
+            case TSV_GZIP:
+                return new DelimitedWriter(outputStream, '\t', true);
+            default:
+                return new ExcelStreamWriter(outputStream, sheetName, columnWidths);
+        }
+    }
+
+    /**
+     * 生成带扩展名的文件名
+     */
+    public String filename(String baseName) {
+        return baseName + extension;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
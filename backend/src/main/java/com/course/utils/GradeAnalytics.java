@@ -0,0 +1,260 @@
+package com.course.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 成绩分析工具类
+ * 总成绩按百分之一分存为 short 定点数（0 ~ 10000），一次遍历得到人数、总和、平方和、最值和逐分值计数直方图；
+ * 分位数、分数段和等级分布都由直方图推导（固定 10001 个槽位），不需要排序，也不创建成绩实体
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public final class GradeAnalytics {
+
+    /**
+     * 定点数比例：1 分 = 100
+     */
+    public static final int SCALE = 100;
+
+    public static final int MAX_SCORE = 100 * SCALE;
+
+    /**
+     * 分数段：优秀(≥90)、良好(80-89)、中等(70-79)、及格(60-69)、不及格(&lt;60)
+     */
+    private static final int[] BAND_THRESHOLDS = {9000, 8000, 7000, 6000, 0};
+
+    private final int count;
+
+    private final long sum;
+
+    private final long sumOfSquares;
+
+    private final int min;
+
+    private final int max;
+
+    /**
+     * 每个定点分值的人数
+     */
+    private final int[] histogram;
+
+    private GradeAnalytics(int count, long sum, long sumOfSquares, int min, int max, int[] histogram) {
+        this.count = count;
+        this.sum = sum;
+        this.sumOfSquares = sumOfSquares;
+        this.min = min;
+        this.max = max;
+        this.histogram = histogram;
+    }
+
+    /**
+     * 分析一列定点成绩
+     *
+     * @param scores 定点成绩
+     * @param length 有效长度
+     * @return 分析结果
+     */
+    public static GradeAnalytics of(short[] scores, int length) {
+        int[] histogram = new int[MAX_SCORE + 1];
+        long sum = 0;
+        long sumOfSquares = 0;
+        int min = MAX_SCORE;
+        int max = 0;
+        for (int i = 0; i < length; i++) {
+            int score = scores[i];
+            histogram[score]++;
+            sum += score;
+            sumOfSquares += (long) score * score;
+            if (score < min) {
+                min = score;
+            }
+            if (score > max) {
+                max = score;
+            }
+        }
+        return new GradeAnalytics(length, sum, sumOfSquares, min, max, histogram);
+    }
+
+    /**
+     * 将分数转换为定点数，超出 0 ~ 100 的部分截断
+     */
+    public static short toFixed(BigDecimal score) {
+        long value = Math.round(score.doubleValue() * SCALE);
+        return (short) Math.max(0, Math.min(MAX_SCORE, value));
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public BigDecimal getMean() {
+        if (count == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(sum).divide(BigDecimal.valueOf((long) count * SCALE), 2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal getMin() {
+        return count == 0 ? null : BigDecimal.valueOf(min, 2);
+    }
+
+    public BigDecimal getMax() {
+        return count == 0 ? null : BigDecimal.valueOf(max, 2);
+    }
+
+    /**
+     * 总体方差
+     */
+    public BigDecimal getVariance() {
+        if (count == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(variance()).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 总体标准差
+     */
+    public BigDecimal getStandardDeviation() {
+        if (count == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(Math.sqrt(variance())).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal getMedian() {
+        return getPercentile(50);
+    }
+
+    /**
+     * 分位数（最近秩法）
+     *
+     * @param percent 百分位，0 ~ 100
+     * @return 分位数成绩
+     */
+    public BigDecimal getPercentile(double percent) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * count));
+        long seen = 0;
+        for (int score = min; score <= max; score++) {
+            seen += histogram[score];
+            if (seen >= rank) {
+                return BigDecimal.valueOf(score, 2);
+            }
+        }
+        return BigDecimal.valueOf(max, 2);
+    }
+
+    /**
+     * 按固定宽度分段的人数，最后一段包含满分
+     *
+     * @param width 段宽（分）
+     * @return 各段人数，第 i 段为 [i * width, (i + 1) * width)
+     */
+    public int[] getHistogram(int width) {
+        int buckets = (100 + width - 1) / width;
+        int[] result = new int[buckets];
+        int fixedWidth = width * SCALE;
+        for (int score = min; score <= max && count > 0; score++) {
+            result[Math.min(buckets - 1, score / fixedWidth)] += histogram[score];
+        }
+        return result;
+    }
+
+    /**
+     * 分数段人数：优秀、良好、中等、及格、不及格
+     */
+    public int[] getBandCounts() {
+        return countByThresholds(BAND_THRESHOLDS);
+    }
+
+    public int getPassedCount() {
+        return count - countBelow(6000);
+    }
+
+    /**
+     * 细分等级人数（A+ ~ F），按等级从高到低排列，包含人数为 0 的等级
+     */
+    public Map<String, Integer> getLevelCounts() {
+        int[] counts = countByThresholds(GradeScoring.LEVEL_THRESHOLDS);
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < GradeScoring.LEVELS.length; i++) {
+            result.put(GradeScoring.LEVELS[i], counts[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 字母等级人数（A、B、C、D、F，细分等级按首字母合并）
+     */
+    public Map<String, Integer> getLetterCounts() {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        getLevelCounts().forEach((level, levelCount) -> result.merge(level.substring(0, 1), levelCount, Integer::sum));
+        return result;
+    }
+
+    private double variance() {
+        double mean = (double) sum / count;
+        double value = (double) sumOfSquares / count - mean * mean;
+        return Math.max(0, value) / ((double) SCALE * SCALE);
+    }
+
+    /**
+     * 按从高到低的最低分统计各段人数
+     */
+    private int[] countByThresholds(int[] thresholds) {
+        int[] result = new int[thresholds.length];
+        if (count == 0) {
+            return result;
+        }
+        int segment = 0;
+        for (int score = max; score >= min; score--) {
+            while (score < thresholds[segment]) {
+                segment++;
+            }
+            result[segment] += histogram[score];
+        }
+        return result;
+    }
+
+    private int countBelow(int threshold) {
+        int result = 0;
+        for (int score = min; score < threshold && score <= max; score++) {
+            result += histogram[score];
+        }
+        return result;
+    }
+
+    /**
+     * 定点成绩列，按需扩容，用于从结果集逐行收集
+     */
+    public static final class Column {
+
+        private short[] scores = new short[64];
+
+        private int length;
+
+        public void add(BigDecimal score) {
+            if (length == scores.length) {
+                scores = Arrays.copyOf(scores, length * 2);
+            }
+            scores[length++] = toFixed(score);
+        }
+
+        public GradeAnalytics analyze() {
+            return of(scores, length);
+        }
+    }
+}
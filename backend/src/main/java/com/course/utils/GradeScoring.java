@@ -0,0 +1,203 @@
+package com.course.utils;
+
+import java.math.BigDecimal;
+
+/**
+ * 成绩计算工具类
+ * 分数使用 int 定点数（百分之一分，85.5 分为 8550），缺失的分项为 NONE；
+ * 总成绩按整数加权求和后四舍五入，等级按整数分查表，计算过程不装箱、不创建对象；
+ * 权重可按课程配置（Weights），未配置时使用默认权重
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public final class GradeScoring {
+
+    /**
+     * 缺失分项
+     */
+    public static final int NONE = -1;
+
+    /**
+     * 定点数比例：1 分 = 100
+     */
+    public static final int SCALE = 100;
+
+    /**
+     * 默认权重（百分比）：平时30%，期中30%，期末40%
+     */
+    public static final int USUAL_WEIGHT = 30;
+    public static final int MIDTERM_WEIGHT = 30;
+    public static final int FINAL_WEIGHT = 40;
+
+    /**
+     * 细分等级，按分数从高到低排列
+     */
+    static final String[] LEVELS = {"A+", "A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D", "F"};
+
+    /**
+     * 各等级最低分（定点数），与 LEVELS 一一对应
+     */
+    static final int[] LEVEL_THRESHOLDS = {9500, 9000, 8500, 8200, 7800, 7500, 7200, 6800, 6500, 6000, 0};
+
+    /**
+     * 整数分（0 ~ 100）对应的等级，等级分界都是整数分，取整后查表与逐级比较结果相同
+     */
+    private static final String[] LEVEL_BY_POINT = new String[101];
+
+    static {
+        int level = LEVELS.length - 1;
+        for (int point = 0; point <= 100; point++) {
+            while (level > 0 && point * SCALE >= LEVEL_THRESHOLDS[level - 1]) {
+                level--;
+            }
+            LEVEL_BY_POINT[point] = LEVELS[level];
+        }
+    }
+
+    private GradeScoring() {
+    }
+
+    /**
+     * 按默认权重计算总成绩，只有部分分项时按已有分项的权重比例折算
+     *
+     * @param usual 平时成绩（定点数或 NONE）
+     * @param midterm 期中成绩（定点数或 NONE）
+     * @param finalScore 期末成绩（定点数或 NONE）
+     * @return 总成绩（定点数），三项都缺失时为 NONE
+     */
+    public static int totalScore(int usual, int midterm, int finalScore) {
+        return totalScore(usual, midterm, finalScore, USUAL_WEIGHT, MIDTERM_WEIGHT, FINAL_WEIGHT);
+    }
+
+    /**
+     * 按指定权重计算总成绩
+     *
+     * @param usualWeight 平时成绩权重（百分比）
+     * @param midtermWeight 期中成绩权重（百分比）
+     * @param finalWeight 期末成绩权重（百分比）
+     * @return 总成绩（定点数），有效分项权重之和为 0 时为 NONE
+     */
+    public static int totalScore(int usual, int midterm, int finalScore,
+                                 int usualWeight, int midtermWeight, int finalWeight) {
+        long weighted = 0;
+        long weightSum = 0;
+        if (usual != NONE) {
+            weighted += (long) usual * usualWeight;
+            weightSum += usualWeight;
+        }
+        if (midterm != NONE) {
+            weighted += (long) midterm * midtermWeight;
+            weightSum += midtermWeight;
+        }
+        if (finalScore != NONE) {
+            weighted += (long) finalScore * finalWeight;
+            weightSum += finalWeight;
+        }
+        if (weightSum == 0) {
+            return NONE;
+        }
+        // 四舍五入到百分之一分
+        return (int) ((2 * weighted + weightSum) / (2 * weightSum));
+    }
+
+    /**
+     * 按总成绩查等级
+     *
+     * @param totalScore 总成绩（定点数）
+     * @return 等级，NONE 时为 null
+     */
+    public static String level(int totalScore) {
+        if (totalScore == NONE) {
+            return null;
+        }
+        return LEVEL_BY_POINT[Math.max(0, Math.min(100, totalScore / SCALE))];
+    }
+
+    /**
+     * BigDecimal 分数转定点数
+     *
+     * @param score 分数，null 时为 NONE
+     */
+    public static int toFixed(BigDecimal score) {
+        return score == null ? NONE : (int) Math.round(score.doubleValue() * SCALE);
+    }
+
+    /**
+     * Double 分数转定点数
+     *
+     * @param score 分数，null 时为 NONE
+     */
+    public static int toFixed(Double score) {
+        return score == null ? NONE : (int) Math.round(score * SCALE);
+    }
+
+    /**
+     * 定点数转 BigDecimal（两位小数）
+     *
+     * @param score 定点数，NONE 时为 null
+     */
+    public static BigDecimal toDecimal(int score) {
+        return score == NONE ? null : BigDecimal.valueOf(score, 2);
+    }
+
+    /**
+     * 课程成绩权重（百分比），不可变
+     */
+    public static final class Weights {
+
+        public static final Weights DEFAULT = new Weights(USUAL_WEIGHT, MIDTERM_WEIGHT, FINAL_WEIGHT);
+
+        private final int usual;
+
+        private final int midterm;
+
+        private final int finalWeight;
+
+        private Weights(int usual, int midterm, int finalWeight) {
+            this.usual = usual;
+            this.midterm = midterm;
+            this.finalWeight = finalWeight;
+        }
+
+        /**
+         * 按课程配置创建权重，未配置时使用默认权重
+         */
+        public static Weights of(Integer usual, Integer midterm, Integer finalWeight) {
+            if (usual == null || midterm == null || finalWeight == null) {
+                return DEFAULT;
+            }
+            if (usual == USUAL_WEIGHT && midterm == MIDTERM_WEIGHT && finalWeight == FINAL_WEIGHT) {
+                return DEFAULT;
+            }
+            return new Weights(usual, midterm, finalWeight);
+        }
+
+        /**
+         * 按本权重计算总成绩
+         *
+         * @return 总成绩（定点数），有效分项权重之和为 0 时为 NONE
+         */
+        public int totalScore(int usualScore, int midtermScore, int finalScore) {
+            return GradeScoring.totalScore(usualScore, midtermScore, finalScore, usual, midterm, finalWeight);
+        }
+
+        public int getUsual() {
+            return usual;
+        }
+
+        public int getMidterm() {
+            return midterm;
+        }
+
+        public int getFinal() {
+            return finalWeight;
+        }
+
+        @Override
+        public String toString() {
+            return usual + "/" + midterm + "/" + finalWeight;
+        }
+    }
+}
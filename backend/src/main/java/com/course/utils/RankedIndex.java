@@ -0,0 +1,78 @@
+package com.course.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.BiFunction;
+
+/**
+ * 排行索引
+ * 跳表按排序规则维护全部条目，哈希表按键定位当前条目，单个条目更新为 O(log n)，取前 K 名为 O(K)；
+ * 条目必须不可变，更新时替换为新对象；排序规则须以键作为最后的比较条件，保证不同条目不会相等
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public class RankedIndex<K, V> {
+
+    private final ConcurrentSkipListSet<V> ranking;
+
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+
+    public RankedIndex(Comparator<? super V> comparator) {
+        this.ranking = new ConcurrentSkipListSet<>(comparator);
+    }
+
+    /**
+     * 写入或替换条目
+     */
+    public void put(K key, V value) {
+        compute(key, (k, old) -> value);
+    }
+
+    /**
+     * 按当前条目计算新条目，返回 null 时移除
+     * 同一个键的更新串行执行，读线程可能短暂看不到正在替换的条目
+     */
+    public void compute(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        entries.compute(key, (k, old) -> {
+            V value = function.apply(k, old);
+            if (old != null) {
+                ranking.remove(old);
+            }
+            if (value != null) {
+                ranking.add(value);
+            }
+            return value;
+        });
+    }
+
+    public void remove(K key) {
+        compute(key, (k, old) -> null);
+    }
+
+    public V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * 取排序最靠前的 limit 个条目
+     */
+    public List<V> top(int limit) {
+        List<V> result = new ArrayList<>(Math.min(limit, entries.size()));
+        Iterator<V> iterator = ranking.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
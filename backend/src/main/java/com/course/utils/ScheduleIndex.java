@@ -0,0 +1,223 @@
+package com.course.utils;
+
+import com.course.entity.Schedule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 课表索引
+ * 每条课表安排压缩为一个上课时段：星期、周次位图（第 n 周对应第 n - 1 位）和当天的开始/结束秒数；
+ * 两个时段冲突当且仅当学期相同、星期相同、周次位图有交集且时间区间重叠（左闭右开）。
+ * 按课程、教师、教室分组保存时段数组，构建后不可变，变更时整体替换
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public final class ScheduleIndex {
+
+    public static final ScheduleIndex EMPTY = new ScheduleIndex(Map.of(), Map.of(), Map.of(), 0);
+
+    /**
+     * 未填写周次时的默认值，与表默认值一致
+     */
+    private static final int DEFAULT_WEEK_START = 1;
+    private static final int DEFAULT_WEEK_END = 18;
+
+    static final int MAX_WEEK = 30;
+
+    private static final Meeting[] NO_MEETINGS = new Meeting[0];
+
+    private final Map<Long, Meeting[]> byCourse;
+
+    private final Map<Long, Meeting[]> byTeacher;
+
+    private final Map<Long, Meeting[]> byClassroom;
+
+    private final int size;
+
+    private ScheduleIndex(Map<Long, Meeting[]> byCourse, Map<Long, Meeting[]> byTeacher,
+                          Map<Long, Meeting[]> byClassroom, int size) {
+        this.byCourse = byCourse;
+        this.byTeacher = byTeacher;
+        this.byClassroom = byClassroom;
+        this.size = size;
+    }
+
+    /**
+     * 由课表安排构建索引
+     *
+     * @param schedules 课表安排（需含学期和教师ID）
+     * @return 课表索引
+     */
+    public static ScheduleIndex build(List<Schedule> schedules) {
+        List<Meeting> meetings = new ArrayList<>(schedules.size());
+        for (Schedule schedule : schedules) {
+            meetings.add(Meeting.of(schedule));
+        }
+        return new ScheduleIndex(group(meetings, Meeting::getCourseId), group(meetings, Meeting::getTeacherId),
+                group(meetings, Meeting::getClassroomId), meetings.size());
+    }
+
+    /**
+     * 课程的上课时段
+     */
+    public Meeting[] getCourseMeetings(Long courseId) {
+        return byCourse.getOrDefault(courseId, NO_MEETINGS);
+    }
+
+    /**
+     * 两门课程的上课时段是否冲突
+     */
+    public boolean hasCourseConflict(Long courseId, Long otherCourseId) {
+        return conflicts(getCourseMeetings(courseId), getCourseMeetings(otherCourseId), null) != null;
+    }
+
+    /**
+     * 教师在该时段是否已有其他课表安排
+     *
+     * @param meeting 待检查的时段
+     * @return 冲突的课表安排ID，不冲突时为 null
+     */
+    public Long findTeacherConflict(Meeting meeting) {
+        if (meeting.teacherId == null) {
+            return null;
+        }
+        return conflicts(byTeacher.getOrDefault(meeting.teacherId, NO_MEETINGS), new Meeting[]{meeting}, meeting.scheduleId);
+    }
+
+    /**
+     * 教室在该时段是否已有其他课表安排
+     *
+     * @param meeting 待检查的时段
+     * @return 冲突的课表安排ID，不冲突时为 null
+     */
+    public Long findClassroomConflict(Meeting meeting) {
+        return conflicts(byClassroom.getOrDefault(meeting.classroomId, NO_MEETINGS), new Meeting[]{meeting}, meeting.scheduleId);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 两组时段中第一个冲突的时段对应的课表安排ID
+     *
+     * @param excludeId 忽略的课表安排ID（更新时排除自身）
+     */
+    private static Long conflicts(Meeting[] left, Meeting[] right, Long excludeId) {
+        for (Meeting a : left) {
+            if (a.scheduleId != null && a.scheduleId.equals(excludeId)) {
+                continue;
+            }
+            for (Meeting b : right) {
+                if (a.overlaps(b)) {
+                    return a.scheduleId;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 周次范围转位图，未填写时使用表默认值
+     */
+    static int weekMask(Integer weekStart, Integer weekEnd) {
+        int from = Math.max(1, weekStart != null ? weekStart : DEFAULT_WEEK_START);
+        int to = Math.min(MAX_WEEK, weekEnd != null ? weekEnd : DEFAULT_WEEK_END);
+        if (from > to) {
+            return 0;
+        }
+        return (int) (((1L << (to - from + 1)) - 1) << (from - 1));
+    }
+
+    private static Map<Long, Meeting[]> group(List<Meeting> meetings, Function<Meeting, Long> key) {
+        Map<Long, List<Meeting>> groups = new HashMap<>();
+        for (Meeting meeting : meetings) {
+            Long id = key.apply(meeting);
+            if (id != null) {
+                groups.computeIfAbsent(id, k -> new ArrayList<>()).add(meeting);
+            }
+        }
+        Map<Long, Meeting[]> result = new HashMap<>(groups.size() * 2);
+        groups.forEach((id, list) -> result.put(id, list.toArray(NO_MEETINGS)));
+        return result;
+    }
+
+    /**
+     * 上课时段
+     */
+    public static final class Meeting {
+
+        private final Long scheduleId;
+
+        private final Long courseId;
+
+        private final Long teacherId;
+
+        private final Long classroomId;
+
+        private final String semester;
+
+        private final int dayOfWeek;
+
+        /**
+         * 周次位图
+         */
+        private final int weeks;
+
+        /**
+         * 当天开始/结束秒数
+         */
+        private final int start;
+
+        private final int end;
+
+        private Meeting(Schedule schedule) {
+            this.scheduleId = schedule.getId();
+            this.courseId = schedule.getCourseId();
+            this.teacherId = schedule.getTeacherId();
+            this.classroomId = schedule.getClassroomId();
+            this.semester = schedule.getSemester();
+            this.dayOfWeek = schedule.getDayOfWeek();
+            this.weeks = weekMask(schedule.getWeekStart(), schedule.getWeekEnd());
+            this.start = schedule.getStartTime().toSecondOfDay();
+            this.end = schedule.getEndTime().toSecondOfDay();
+        }
+
+        /**
+         * 由课表安排创建时段，课表安排需含星期、开始和结束时间
+         */
+        public static Meeting of(Schedule schedule) {
+            return new Meeting(schedule);
+        }
+
+        public boolean overlaps(Meeting other) {
+            return dayOfWeek == other.dayOfWeek
+                    && (weeks & other.weeks) != 0
+                    && start < other.end && other.start < end
+                    && Objects.equals(semester, other.semester);
+        }
+
+        public Long getScheduleId() {
+            return scheduleId;
+        }
+
+        public Long getCourseId() {
+            return courseId;
+        }
+
+        public Long getTeacherId() {
+            return teacherId;
+        }
+
+        public Long getClassroomId() {
+            return classroomId;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.course.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 表格文件读取器
+ * 按行回调，不在内存中保留整个文件，具体输入格式（XLSX、CSV、TSV）由实现类决定
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface TabularReader extends Closeable {
+
+    /**
+     * 读取第一个工作表的全部行
+     *
+     * @param handler 行处理器
+     */
+    void read(RowHandler handler) throws IOException;
+
+    /**
+     * 行处理器
+     */
+    @FunctionalInterface
+    interface RowHandler {
+
+        /**
+         * 处理一行
+         *
+         * @param rowNumber 行号（从1开始）
+         * @param cells 单元格文本，空单元格为 null 或空串；列表在回调返回后复用，不能保留引用
+         */
+        void row(int rowNumber, List<String> cells);
+    }
+}
@@ -0,0 +1,50 @@
+package com.course.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 表格报表写入器
+ * 报表按行写入，具体输出格式（XLSX、CSV、TSV）由实现类决定
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public interface TabularWriter extends Closeable {
+
+    /**
+     * 写入标题行
+     */
+    TabularWriter title(String text);
+
+    /**
+     * 写入单个单元格的说明行
+     */
+    TabularWriter line(String text);
+
+    /**
+     * 写入空行
+     */
+    TabularWriter blankRow();
+
+    /**
+     * 写入表头行
+     */
+    TabularWriter header(String... headers);
+
+    /**
+     * 写入数据行，null 表示空单元格
+     */
+    TabularWriter row(Object... values);
+
+    /**
+     * 已写入的行数（含标题和空行）
+     */
+    int getRowCount();
+
+    /**
+     * 完成写入并刷出到创建时指定的输出流，不关闭输出流
+     */
+    void finish() throws IOException;
+}
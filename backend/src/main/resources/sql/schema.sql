@@ -14,12 +14,15 @@ CREATE TABLE users (
     gender TINYINT DEFAULT 0 COMMENT '性别：0-未知，1-男，2-女',
     avatar VARCHAR(255) COMMENT '头像URL',
     status TINYINT DEFAULT 1 COMMENT '状态：0-禁用，1-启用',
+    tokens_valid_after DATETIME COMMENT '令牌生效起点：此前签发的令牌无效（密码、角色、状态变更时更新）',
     deleted TINYINT DEFAULT 0 COMMENT '逻辑删除：0-未删除，1-已删除',
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     INDEX idx_username (username),
     INDEX idx_email (email),
-    INDEX idx_status (status)
+    INDEX idx_status (status),
+    INDEX idx_create_time (create_time),
+    INDEX idx_update_time (update_time)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户表';
 
 -- 2. 角色表
@@ -77,6 +80,9 @@ CREATE TABLE courses (
     current_students INT DEFAULT 0 COMMENT '当前选课人数',
     semester VARCHAR(20) COMMENT '学期',
     status TINYINT DEFAULT 1 COMMENT '状态：0-停课，1-正常',
+    usual_weight TINYINT DEFAULT 30 COMMENT '平时成绩权重（百分比）',
+    midterm_weight TINYINT DEFAULT 30 COMMENT '期中成绩权重（百分比）',
+    final_weight TINYINT DEFAULT 40 COMMENT '期末成绩权重（百分比）',
     deleted TINYINT DEFAULT 0 COMMENT '逻辑删除：0-未删除，1-已删除',
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
@@ -84,6 +90,8 @@ CREATE TABLE courses (
     INDEX idx_teacher_id (teacher_id),
     INDEX idx_category (category),
     INDEX idx_semester (semester),
+    INDEX idx_create_time (create_time),
+    INDEX idx_update_time (update_time),
     FOREIGN KEY (teacher_id) REFERENCES users(id) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='课程表';
 
@@ -94,12 +102,16 @@ CREATE TABLE course_selections (
     course_id BIGINT NOT NULL COMMENT '课程ID',
     selection_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '选课时间',
     status TINYINT DEFAULT 1 COMMENT '状态：0-已退课，1-已选课',
+    drop_time DATETIME COMMENT '最近一次退课时间',
     deleted TINYINT DEFAULT 0 COMMENT '逻辑删除：0-未删除，1-已删除',
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     UNIQUE KEY uk_student_course (student_id, course_id),
     INDEX idx_student_id (student_id),
     INDEX idx_course_id (course_id),
+    INDEX idx_selection_time (selection_time),
+    INDEX idx_drop_time (drop_time),
+    INDEX idx_update_time (update_time),
     FOREIGN KEY (student_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='选课记录表';
@@ -144,6 +156,8 @@ CREATE TABLE grades (
     INDEX idx_student_id (student_id),
     INDEX idx_course_id (course_id),
     INDEX idx_semester (semester),
+    INDEX idx_create_time (create_time),
+    INDEX idx_update_time (update_time),
     FOREIGN KEY (student_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='成绩表';
@@ -175,6 +189,51 @@ CREATE TABLE announcements (
     INDEX idx_course_id (course_id),
     INDEX idx_publish_time (publish_time),
     INDEX idx_is_top (is_top),
+    INDEX idx_update_time (update_time),
     FOREIGN KEY (publisher_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE SET NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='公告表';
+
+-- 10. 已吊销令牌表
+CREATE TABLE revoked_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '记录ID',
+    token_id VARCHAR(64) NOT NULL COMMENT '令牌标识（jti或令牌摘要）',
+    user_id BIGINT COMMENT '用户ID',
+    expires_at DATETIME NOT NULL COMMENT '令牌过期时间',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '吊销时间',
+    INDEX idx_token_id (token_id),
+    INDEX idx_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='已吊销令牌表';
+
+-- 11. 每日统计汇总表
+CREATE TABLE daily_statistics (
+    stat_date DATE PRIMARY KEY COMMENT '统计日期',
+    new_users INT DEFAULT 0 COMMENT '新增用户数',
+    new_courses INT DEFAULT 0 COMMENT '新增课程数',
+    new_selections INT DEFAULT 0 COMMENT '选课次数',
+    drops INT DEFAULT 0 COMMENT '退课次数',
+    grades_entered INT DEFAULT 0 COMMENT '录入成绩数',
+    announcements_published INT DEFAULT 0 COMMENT '发布公告数',
+    announcement_reads INT DEFAULT 0 COMMENT '当天发布公告的累计阅读次数',
+    update_time DATETIME COMMENT '汇总时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='每日统计汇总表';
+
+-- 12. 学期统计汇总表
+CREATE TABLE semester_statistics (
+    semester VARCHAR(20) PRIMARY KEY COMMENT '学期',
+    course_count INT DEFAULT 0 COMMENT '开设课程数',
+    selection_count INT DEFAULT 0 COMMENT '有效选课数',
+    drop_count INT DEFAULT 0 COMMENT '退课数',
+    graded_count INT DEFAULT 0 COMMENT '已录入成绩数',
+    pass_count INT DEFAULT 0 COMMENT '及格人数',
+    excellent_count INT DEFAULT 0 COMMENT '优秀人数',
+    average_score DECIMAL(5,2) COMMENT '平均成绩',
+    update_time DATETIME COMMENT '汇总时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='学期统计汇总表';
+
+-- 13. 统计汇总水位表
+CREATE TABLE statistics_watermarks (
+    name VARCHAR(50) PRIMARY KEY COMMENT '水位名称',
+    watermark DATETIME NOT NULL COMMENT '已处理到的原始表更新时间',
+    update_time DATETIME COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='统计汇总水位表';
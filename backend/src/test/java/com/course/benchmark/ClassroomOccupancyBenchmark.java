@@ -0,0 +1,95 @@
+package com.course.benchmark;
+
+import com.course.entity.Classroom;
+import com.course.entity.Schedule;
+import com.course.utils.ClassroomOccupancy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 教室占用位图基准测试
+ * ROOMS 间教室、一个学期 SCHEDULES 条课表安排；
+ * findFreeAllWeeks 为全部周次内某个 100 分钟时段的空闲教室查询，findFreeInBuilding 另按楼栋和容纳人数过滤，单位为微秒/次
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassroomOccupancyBenchmark {
+
+    private static final int ROOMS = 2_000;
+
+    private static final int BUILDINGS = 20;
+
+    private static final int SCHEDULES = 12_000;
+
+    private static final String SEMESTER = "2024-2025-1";
+
+    private static final String[] SECTIONS = {"08:00", "10:00", "14:00", "16:00", "19:00"};
+
+    private static final LocalTime START = LocalTime.parse("10:00");
+
+    private static final LocalTime END = LocalTime.parse("11:40");
+
+    private ClassroomOccupancy occupancy;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<Classroom> classrooms = new ArrayList<>(ROOMS);
+        for (long id = 1; id <= ROOMS; id++) {
+            Classroom classroom = new Classroom();
+            classroom.setId(id);
+            classroom.setBuilding("B" + (id % BUILDINGS));
+            classroom.setCapacity(30 + random.nextInt(170));
+            classrooms.add(classroom);
+        }
+        List<Schedule> schedules = new ArrayList<>(SCHEDULES);
+        for (long id = 1; id <= SCHEDULES; id++) {
+            Schedule schedule = new Schedule();
+            schedule.setId(id);
+            schedule.setClassroomId(1L + random.nextInt(ROOMS));
+            schedule.setDayOfWeek(1 + random.nextInt(5));
+            LocalTime start = LocalTime.parse(SECTIONS[random.nextInt(SECTIONS.length)]);
+            schedule.setStartTime(start);
+            schedule.setEndTime(start.plusMinutes(100));
+            schedule.setWeekStart(1);
+            schedule.setWeekEnd(random.nextBoolean() ? 18 : 9);
+            schedule.setSemester(SEMESTER);
+            schedules.add(schedule);
+        }
+        occupancy = ClassroomOccupancy.build(classrooms, schedules);
+    }
+
+    @Benchmark
+    public int findFreeAllWeeks() {
+        return occupancy.findFree(SEMESTER, 2, START, END, null, null, null, null).size();
+    }
+
+    @Benchmark
+    public int findFreeInBuilding() {
+        return occupancy.findFree(SEMESTER, 2, START, END, 1, 18, 100, "B7").size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ClassroomOccupancyBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.course.benchmark;
+
+import com.course.utils.ExportFormat;
+import com.course.utils.TabularWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 报表导出格式基准测试
+ * 按成绩明细的列结构写入 ROWS 行，吞吐量单位为行/秒；
+ * GC 分析器的 gc.alloc.rate.norm 给出每行分配字节数，每轮迭代结束时打印堆内存峰值
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx512m"})
+public class ExportFormatBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private static final String[] COURSE_NAMES = {"高等数学", "大学英语", "数据结构", "操作系统", "计算机网络, 实验"};
+
+    private static final BigDecimal[] SCORES = new BigDecimal[101];
+
+    static {
+        for (int i = 0; i < SCORES.length; i++) {
+            SCORES[i] = BigDecimal.valueOf(i * 10L, 1);
+        }
+    }
+
+    @Param({"xlsx", "csv", "csv.gz", "tsv"})
+    private String format;
+
+    private ExportFormat exportFormat;
+
+    @Setup
+    public void setup() {
+        exportFormat = ExportFormat.of(format);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakUsage() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeakUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%n[%s] 堆内存峰值: %d MB%n", format, peak / (1024 * 1024));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int writeGradeDetails() throws IOException {
+        try (TabularWriter writer = exportFormat.open(OutputStream.nullOutputStream(), "成绩明细",
+                16, 12, 14, 28, 14, 10, 10, 10, 10, 8)) {
+            writer.header("学号", "姓名", "课程编码", "课程名称", "学期",
+                    "平时成绩", "期中成绩", "期末成绩", "总成绩", "等级");
+            for (int i = 0; i < ROWS; i++) {
+                writer.row(2024000000L + i, "学生" + (i % 1000), "CS" + (i % 50),
+                        COURSE_NAMES[i % COURSE_NAMES.length], "2024-2025-1",
+                        SCORES[i % 101], SCORES[(i * 7) % 101], SCORES[(i * 13) % 101], SCORES[(i * 17) % 101],
+                        i % 5 == 0 ? "A" : "B");
+            }
+            writer.finish();
+            return writer.getRowCount();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ExportFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,117 @@
+package com.course.benchmark;
+
+import com.course.entity.Grade;
+import com.course.utils.GradeAnalytics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 课程成绩统计基准测试
+ * entityStream 复现优化前的做法：加载 Grade 实体，按等级首字母分组计数，再用 BigDecimal 流计算均值、最值，排序取中位数；
+ * analyticsKernel 为当前路径：定点 short 成绩列一次遍历，得到相同统计量和分布
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradeAnalyticsBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private List<Grade> grades;
+
+    private short[] scores;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        grades = new ArrayList<>(size);
+        scores = new short[size];
+        for (int i = 0; i < size; i++) {
+            // 近似正态分布，均值 75 分，截断到 0 ~ 100
+            double value = Math.max(0, Math.min(100, 75 + random.nextGaussian() * 12));
+            BigDecimal totalScore = BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+            Grade grade = new Grade();
+            grade.setTotalScore(totalScore);
+            grade.setGradeLevel(level(value));
+            grades.add(grade);
+            scores[i] = GradeAnalytics.toFixed(totalScore);
+        }
+    }
+
+    @Benchmark
+    public void entityStream(Blackhole blackhole) {
+        Map<String, Long> letterCounts = grades.stream()
+                .collect(Collectors.groupingBy(grade -> grade.getGradeLevel().substring(0, 1), Collectors.counting()));
+        List<BigDecimal> totals = grades.stream().map(Grade::getTotalScore).collect(Collectors.toList());
+        BigDecimal sum = totals.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal mean = sum.divide(BigDecimal.valueOf(totals.size()), 2, RoundingMode.HALF_UP);
+        BigDecimal max = totals.stream().max(BigDecimal::compareTo).orElse(null);
+        BigDecimal min = totals.stream().min(BigDecimal::compareTo).orElse(null);
+        List<BigDecimal> sorted = totals.stream().sorted().collect(Collectors.toList());
+        BigDecimal median = sorted.get((sorted.size() - 1) / 2);
+        double meanValue = mean.doubleValue();
+        double variance = totals.stream()
+                .mapToDouble(score -> Math.pow(score.doubleValue() - meanValue, 2))
+                .average().orElse(0);
+
+        blackhole.consume(letterCounts);
+        blackhole.consume(mean);
+        blackhole.consume(max);
+        blackhole.consume(min);
+        blackhole.consume(median);
+        blackhole.consume(Math.sqrt(variance));
+    }
+
+    @Benchmark
+    public void analyticsKernel(Blackhole blackhole) {
+        GradeAnalytics analytics = GradeAnalytics.of(scores, scores.length);
+
+        blackhole.consume(analytics.getLetterCounts());
+        blackhole.consume(analytics.getMean());
+        blackhole.consume(analytics.getMax());
+        blackhole.consume(analytics.getMin());
+        blackhole.consume(analytics.getMedian());
+        blackhole.consume(analytics.getStandardDeviation());
+    }
+
+    private static String level(double score) {
+        if (score >= 90) {
+            return score >= 95 ? "A+" : "A";
+        } else if (score >= 85) {
+            return "A-";
+        } else if (score >= 75) {
+            return score >= 82 ? "B+" : score >= 78 ? "B" : "B-";
+        } else if (score >= 65) {
+            return score >= 72 ? "C+" : score >= 68 ? "C" : "C-";
+        }
+        return score >= 60 ? "D" : "F";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GradeAnalyticsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
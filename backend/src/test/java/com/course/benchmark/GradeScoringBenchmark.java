@@ -0,0 +1,154 @@
+package com.course.benchmark;
+
+import com.course.utils.GradeScoring;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 成绩计算基准测试
+ * boxedDouble 复现优化前的逐行计算：BigDecimal 转 Double 装箱、浮点加权、逐级比较等级、结果再转回 BigDecimal；
+ * fixedPoint 为当前路径：定点数整数加权、按整数分查表取等级，只在写回时创建 BigDecimal；
+ * fixedPointPrimitive 为不写回实体时的纯计算开销
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradeScoringBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final BigDecimal[] usual = new BigDecimal[ROWS];
+    private final BigDecimal[] midterm = new BigDecimal[ROWS];
+    private final BigDecimal[] finals = new BigDecimal[ROWS];
+
+    private final int[] usualFixed = new int[ROWS];
+    private final int[] midtermFixed = new int[ROWS];
+    private final int[] finalFixed = new int[ROWS];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < ROWS; i++) {
+            usual[i] = BigDecimal.valueOf(4000 + random.nextInt(6001), 2);
+            // 约 10% 的记录缺少期中成绩
+            midterm[i] = i % 10 == 0 ? null : BigDecimal.valueOf(4000 + random.nextInt(6001), 2);
+            finals[i] = BigDecimal.valueOf(4000 + random.nextInt(6001), 2);
+            usualFixed[i] = GradeScoring.toFixed(usual[i]);
+            midtermFixed[i] = GradeScoring.toFixed(midterm[i]);
+            finalFixed[i] = GradeScoring.toFixed(finals[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void boxedDouble(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            Double total = legacyTotalScore(
+                    usual[i] != null ? usual[i].doubleValue() : null,
+                    midterm[i] != null ? midterm[i].doubleValue() : null,
+                    finals[i] != null ? finals[i].doubleValue() : null);
+            if (total != null) {
+                blackhole.consume(BigDecimal.valueOf(total));
+                blackhole.consume(legacyLevel(total));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void fixedPoint(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            int total = GradeScoring.totalScore(GradeScoring.toFixed(usual[i]),
+                    GradeScoring.toFixed(midterm[i]), GradeScoring.toFixed(finals[i]));
+            blackhole.consume(GradeScoring.toDecimal(total));
+            blackhole.consume(GradeScoring.level(total));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void fixedPointPrimitive(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            int total = GradeScoring.totalScore(usualFixed[i], midtermFixed[i], finalFixed[i]);
+            blackhole.consume(total);
+            blackhole.consume(GradeScoring.level(total));
+        }
+    }
+
+    /**
+     * 优化前的 GradeServiceImpl.calculateTotalScore
+     */
+    private static Double legacyTotalScore(Double usualScore, Double midtermScore, Double finalScore) {
+        double total = 0.0;
+        double weightSum = 0.0;
+        if (usualScore != null) {
+            total += usualScore * 0.3;
+            weightSum += 0.3;
+        }
+        if (midtermScore != null) {
+            total += midtermScore * 0.3;
+            weightSum += 0.3;
+        }
+        if (finalScore != null) {
+            total += finalScore * 0.4;
+            weightSum += 0.4;
+        }
+        if (weightSum == 0) {
+            return null;
+        }
+        if (weightSum < 1.0) {
+            total = total / weightSum;
+        }
+        return Math.round(total * 100.0) / 100.0;
+    }
+
+    /**
+     * 优化前的 GradeServiceImpl.calculateGradeLevel
+     */
+    private static String legacyLevel(Double totalScore) {
+        if (totalScore >= 95) {
+            return "A+";
+        } else if (totalScore >= 90) {
+            return "A";
+        } else if (totalScore >= 85) {
+            return "A-";
+        } else if (totalScore >= 82) {
+            return "B+";
+        } else if (totalScore >= 78) {
+            return "B";
+        } else if (totalScore >= 75) {
+            return "B-";
+        } else if (totalScore >= 72) {
+            return "C+";
+        } else if (totalScore >= 68) {
+            return "C";
+        } else if (totalScore >= 65) {
+            return "C-";
+        } else if (totalScore >= 60) {
+            return "D";
+        }
+        return "F";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GradeScoringBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,166 @@
+package com.course.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 成绩批量导入基准测试
+ * 导入 ROWS 行成绩，其中一半已存在（重复导入成绩表的场景），使用 H2 内存库（MySQL 模式）；
+ * perRow 复现逐行 saveOrUpdateGrade：每行先查询再插入或更新，共约 2 * ROWS 次往返；
+ * chunkedUpsert 为 batchSaveGrades 当前路径：按 chunkSize 行一条 INSERT ... ON DUPLICATE KEY UPDATE；
+ * 内存库没有网络延迟，实际数据库上两者差距随往返次数进一步放大
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradeUpsertBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final String SEMESTER = "2024-2025-1";
+
+    @Param({"100", "500", "1000"})
+    private int chunkSize;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void createTable() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:grade_upsert;MODE=MySQL", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE grades (" +
+                    "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "student_id BIGINT NOT NULL, course_id BIGINT NOT NULL, " +
+                    "final_score DECIMAL(5,2), total_score DECIMAL(5,2), grade_level VARCHAR(10), " +
+                    "semester VARCHAR(20), deleted TINYINT DEFAULT 0, " +
+                    "create_time DATETIME, update_time DATETIME, " +
+                    "UNIQUE KEY uk_student_course_semester (student_id, course_id, semester))");
+        }
+    }
+
+    /**
+     * 每次导入前恢复为一半成绩已存在的状态
+     */
+    @Setup(Level.Invocation)
+    public void seedExistingGrades() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE grades");
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO grades (student_id, course_id, final_score, total_score, grade_level, semester, " +
+                        "deleted, create_time, update_time) VALUES (?, 1, 60, 60, 'D', ?, 0, NOW(), NOW())")) {
+            for (int i = 0; i < ROWS; i += 2) {
+                insert.setLong(1, i);
+                insert.setString(2, SEMESTER);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int perRow() throws SQLException {
+        int written = 0;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id FROM grades WHERE student_id = ? AND course_id = 1 AND semester = ? AND deleted = 0");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO grades (student_id, course_id, final_score, total_score, grade_level, semester, " +
+                             "create_time, update_time) VALUES (?, 1, ?, ?, ?, ?, NOW(), NOW())");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE grades SET final_score = ?, total_score = ?, grade_level = ?, update_time = NOW() " +
+                             "WHERE id = ?")) {
+            for (int i = 0; i < ROWS; i++) {
+                BigDecimal score = score(i);
+                select.setLong(1, i);
+                select.setString(2, SEMESTER);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    if (resultSet.next()) {
+                        update.setBigDecimal(1, score);
+                        update.setBigDecimal(2, score);
+                        update.setString(3, "B");
+                        update.setLong(4, resultSet.getLong(1));
+                        written += update.executeUpdate();
+                    } else {
+                        insert.setLong(1, i);
+                        insert.setBigDecimal(2, score);
+                        insert.setBigDecimal(3, score);
+                        insert.setString(4, "B");
+                        insert.setString(5, SEMESTER);
+                        written += insert.executeUpdate();
+                    }
+                }
+            }
+        }
+        return written;
+    }
+
+    @Benchmark
+    public int chunkedUpsert() throws SQLException {
+        int written = 0;
+        for (int from = 0; from < ROWS; from += chunkSize) {
+            int size = Math.min(chunkSize, ROWS - from);
+            try (PreparedStatement upsert = connection.prepareStatement(upsertSql(size))) {
+                int index = 1;
+                for (int i = from; i < from + size; i++) {
+                    BigDecimal score = score(i);
+                    upsert.setLong(index++, i);
+                    upsert.setBigDecimal(index++, score);
+                    upsert.setBigDecimal(index++, score);
+                    upsert.setString(index++, "B");
+                    upsert.setString(index++, SEMESTER);
+                }
+                written += upsert.executeUpdate();
+            }
+        }
+        return written;
+    }
+
+    /**
+     * 与 GradeMapper.batchUpsert 相同结构的多行语句
+     */
+    private static String upsertSql(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO grades (student_id, course_id, final_score, total_score, " +
+                "grade_level, semester, deleted, create_time, update_time) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i > 0 ? ", " : "").append("(?, 1, ?, ?, ?, ?, 0, NOW(), NOW())");
+        }
+        return sql.append(" ON DUPLICATE KEY UPDATE final_score = VALUES(final_score), " +
+                "total_score = VALUES(total_score), grade_level = VALUES(grade_level), " +
+                "deleted = 0, update_time = NOW()").toString();
+    }
+
+    private static BigDecimal score(int i) {
+        return BigDecimal.valueOf(6000 + (i % 4000), 2);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GradeUpsertBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.course.benchmark;
+
+import com.course.security.JwtTokenUtil;
+import com.course.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 认证单次请求开销基准测试
+ * legacy 复现优化前过滤器的调用链：每次解析都重新填充密钥、构建解析器，单个请求共验签5次；
+ * parseOnce 缓存密钥和解析器，每个请求只验签一次；
+ * verifiedCacheHit 为过滤器当前路径：重复使用的令牌命中已验证令牌缓存
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "course-management-system-jwt-secret-key-2024";
+
+    private JwtTokenUtil jwtTokenUtil;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenUtil, "expiration", 86400L);
+        ReflectionTestUtils.setField(jwtTokenUtil, "refreshExpiration", 604800L);
+        // 与 jwt.verified-cache.maximum-size 默认配置一致，未设置时缓存容量为 0，verifiedCacheHit 不会命中
+        ReflectionTestUtils.setField(jwtTokenUtil, "verifiedCacheMaximumSize", 10000L);
+        jwtTokenUtil.init();
+
+        UserPrincipal principal = new UserPrincipal(1L, "admin", "", null, null, null, 1, null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        token = jwtTokenUtil.generateTokenWithRoles(principal, 1L, List.of("ADMIN"));
+    }
+
+    /**
+     * 优化前：validateToken(jwt) 解析2次，getUsernameFromToken 解析1次，validateToken(jwt, userDetails) 解析2次
+     */
+    @Benchmark
+    public boolean legacy() {
+        boolean valid = legacyParse(token) != null
+                && !legacyParse(token).getExpiration().before(new Date());
+        String username = legacyParse(token).getSubject();
+        boolean matched = legacyParse(token).getSubject().equals(username)
+                && !legacyParse(token).getExpiration().before(new Date());
+        return valid && matched;
+    }
+
+    /**
+     * 缓存的解析器，一次验签
+     */
+    @Benchmark
+    public String parseOnce() {
+        return jwtTokenUtil.getClaimFromToken(token, Claims::getSubject);
+    }
+
+    /**
+     * 当前实现：同一令牌命中已验证令牌缓存，不再验签
+     */
+    @Benchmark
+    public String verifiedCacheHit() {
+        Claims claims = jwtTokenUtil.parseToken(token);
+        return claims.getSubject();
+    }
+
+    private static Claims legacyParse(String token) {
+        String paddedSecret = SECRET;
+        while (paddedSecret.length() < 64) {
+            paddedSecret += "0";
+        }
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(paddedSecret.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
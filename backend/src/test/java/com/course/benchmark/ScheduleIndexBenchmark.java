@@ -0,0 +1,92 @@
+package com.course.benchmark;
+
+import com.course.entity.Schedule;
+import com.course.utils.ScheduleIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 课表索引基准测试
+ * 一个学期 COURSES 门课程、每门每周 2~3 次课，学生已选 SELECTED 门课程；
+ * studentConflict 为选课时的冲突检查（待选课程与每门已选课程逐一比较时段），单位为微秒/次
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleIndexBenchmark {
+
+    private static final int COURSES = 5_000;
+
+    private static final int SELECTED = 10;
+
+    private static final String[] SECTIONS = {"08:00", "10:00", "14:00", "16:00", "19:00"};
+
+    private ScheduleIndex index;
+
+    private final long[] selected = new long[SELECTED];
+
+    private long candidate;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<Schedule> schedules = new ArrayList<>();
+        long id = 1;
+        for (long courseId = 1; courseId <= COURSES; courseId++) {
+            int meetings = 2 + random.nextInt(2);
+            for (int i = 0; i < meetings; i++) {
+                Schedule schedule = new Schedule();
+                schedule.setId(id++);
+                schedule.setCourseId(courseId);
+                schedule.setClassroomId(1L + random.nextInt(500));
+                schedule.setTeacherId(1L + random.nextInt(800));
+                schedule.setDayOfWeek(1 + random.nextInt(5));
+                LocalTime start = LocalTime.parse(SECTIONS[random.nextInt(SECTIONS.length)]);
+                schedule.setStartTime(start);
+                schedule.setEndTime(start.plusMinutes(100));
+                schedule.setWeekStart(1);
+                schedule.setWeekEnd(random.nextBoolean() ? 18 : 9);
+                schedule.setSemester("2024-2025-1");
+                schedules.add(schedule);
+            }
+        }
+        index = ScheduleIndex.build(schedules);
+        for (int i = 0; i < SELECTED; i++) {
+            selected[i] = 1 + random.nextInt(COURSES);
+        }
+        candidate = 1 + random.nextInt(COURSES);
+    }
+
+    @Benchmark
+    public boolean studentConflict() {
+        for (long courseId : selected) {
+            if (index.hasCourseConflict(candidate, courseId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ScheduleIndexBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
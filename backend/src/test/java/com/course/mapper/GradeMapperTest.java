@@ -0,0 +1,128 @@
+package com.course.mapper;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.course.entity.Grade;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GradeMapper测试类
+ * 
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class GradeMapperTest {
+
+    private static final String SEMESTER = "2024-2025-1";
+
+    @Autowired
+    private GradeMapper gradeMapper;
+
+    @Test
+    void testBatchUpsertInsertsNewGrades() {
+        gradeMapper.batchUpsert(List.of(
+                grade(9001L, 8001L, "85.00", "B"),
+                grade(9002L, 8001L, "92.50", "A")));
+
+        Grade first = gradeMapper.findByStudentAndCourse(9001L, 8001L, SEMESTER);
+        Grade second = gradeMapper.findByStudentAndCourse(9002L, 8001L, SEMESTER);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(0, new BigDecimal("85.00").compareTo(first.getTotalScore()));
+        assertEquals("A", second.getGradeLevel());
+        
+        System.out.println("✅ 批量写入新成绩测试通过");
+    }
+
+    @Test
+    void testBatchUpsertUpdatesExistingGrades() {
+        gradeMapper.batchUpsert(List.of(grade(9003L, 8002L, "55.00", "F")));
+        // 重复导入同一学生、课程、学期的成绩
+        gradeMapper.batchUpsert(List.of(
+                grade(9003L, 8002L, "78.00", "C"),
+                grade(9004L, 8002L, "66.00", "D")));
+
+        Long count = gradeMapper.selectCount(new LambdaQueryWrapper<Grade>()
+                .eq(Grade::getStudentId, 9003L)
+                .eq(Grade::getCourseId, 8002L)
+                .eq(Grade::getSemester, SEMESTER));
+        assertEquals(1L, count);
+
+        Grade updated = gradeMapper.findByStudentAndCourse(9003L, 8002L, SEMESTER);
+        assertEquals(0, new BigDecimal("78.00").compareTo(updated.getTotalScore()));
+        assertEquals("C", updated.getGradeLevel());
+        assertNotNull(gradeMapper.findByStudentAndCourse(9004L, 8002L, SEMESTER));
+        
+        System.out.println("✅ 批量更新已有成绩测试通过");
+    }
+
+    @Test
+    void testBatchUpsertRestoresDeletedGrade() {
+        gradeMapper.batchUpsert(List.of(grade(9005L, 8003L, "70.00", "C")));
+        Grade existing = gradeMapper.findByStudentAndCourse(9005L, 8003L, SEMESTER);
+        gradeMapper.deleteById(existing.getId());
+        assertNull(gradeMapper.findByStudentAndCourse(9005L, 8003L, SEMESTER));
+
+        gradeMapper.batchUpsert(List.of(grade(9005L, 8003L, "88.00", "B")));
+
+        Grade restored = gradeMapper.findByStudentAndCourse(9005L, 8003L, SEMESTER);
+        assertNotNull(restored);
+        assertEquals(existing.getId(), restored.getId());
+        assertEquals(0, new BigDecimal("88.00").compareTo(restored.getTotalScore()));
+        
+        System.out.println("✅ 批量写入恢复已删除成绩测试通过");
+    }
+
+    @Test
+    void testScorePageAndUpdateTotalScores() {
+        gradeMapper.batchUpsert(List.of(
+                grade(9006L, 8004L, "60.00", "D"),
+                grade(9007L, 8004L, "70.00", "C-"),
+                grade(9008L, 8004L, "80.00", "B")));
+
+        // 按主键分页读取同一课程的成绩
+        List<Grade> firstPage = gradeMapper.selectScorePage(8004L, SEMESTER, 0, 2);
+        assertEquals(2, firstPage.size());
+        List<Grade> secondPage = gradeMapper.selectScorePage(8004L, null, firstPage.get(1).getId(), 2);
+        assertEquals(1, secondPage.size());
+        assertEquals(3L, gradeMapper.countScoreRows(8004L, SEMESTER));
+        assertTrue(gradeMapper.selectCourseIdsBySemester(SEMESTER).contains(8004L));
+
+        firstPage.forEach(grade -> {
+            grade.setTotalScore(new BigDecimal("99.00"));
+            grade.setGradeLevel("A+");
+        });
+        assertEquals(2, gradeMapper.updateTotalScores(firstPage));
+
+        Grade updated = gradeMapper.selectById(firstPage.get(0).getId());
+        assertEquals(0, new BigDecimal("99.00").compareTo(updated.getTotalScore()));
+        assertEquals("A+", updated.getGradeLevel());
+        Grade untouched = gradeMapper.selectById(secondPage.get(0).getId());
+        assertEquals("B", untouched.getGradeLevel());
+        
+        System.out.println("✅ 成绩分页读取与批量更新总成绩测试通过");
+    }
+
+    private Grade grade(Long studentId, Long courseId, String totalScore, String gradeLevel) {
+        Grade grade = new Grade();
+        grade.setStudentId(studentId);
+        grade.setCourseId(courseId);
+        grade.setSemester(SEMESTER);
+        grade.setFinalScore(new BigDecimal(totalScore));
+        grade.setTotalScore(new BigDecimal(totalScore));
+        grade.setGradeLevel(gradeLevel);
+        return grade;
+    }
+}
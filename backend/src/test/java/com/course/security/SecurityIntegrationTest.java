@@ -2,14 +2,20 @@ package com.course.security;
 
 import com.course.dto.auth.LoginRequest;
 import com.course.dto.auth.LoginResponse;
+import com.course.dto.auth.RefreshTokenRequest;
 import com.course.dto.Result;
 import com.course.controller.AuthController;
+import com.course.service.AuthService;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -30,6 +36,12 @@ class SecurityIntegrationTest {
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+
     @Test
     void testJwtTokenUtil() {
         // 测试JWT工具类基本功能
@@ -135,4 +147,59 @@ class SecurityIntegrationTest {
         
         System.out.println("✅ 未认证检查令牌测试通过");
     }
+
+    @Test
+    void testLogoutRevokesToken() {
+        // 测试登出后令牌被吊销
+        UserPrincipal principal = new UserPrincipal(1L, "admin", "", null, null, null, 1, null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        String token = jwtTokenUtil.generateTokenWithRoles(principal, 1L, List.of("ADMIN"));
+        String otherToken = jwtTokenUtil.generateTokenWithRoles(principal, 1L, List.of("ADMIN"));
+
+        Claims claims = jwtTokenUtil.parseToken(token);
+        assertNotNull(claims);
+        String tokenId = jwtTokenUtil.getTokenId(token, claims);
+        assertFalse(tokenRevocationStore.isRevoked(tokenId));
+
+        assertTrue(authService.logout(token, null));
+
+        // 仅吊销当前令牌，同一用户的其他令牌不受影响
+        assertTrue(tokenRevocationStore.isRevoked(tokenId));
+        Claims otherClaims = jwtTokenUtil.parseToken(otherToken);
+        assertFalse(tokenRevocationStore.isRevoked(jwtTokenUtil.getTokenId(otherToken, otherClaims)));
+
+        System.out.println("✅ 登出吊销令牌测试通过");
+    }
+
+    @Test
+    void testRefreshFailsAfterLogout() {
+        // 测试登出后刷新令牌不能再换取访问令牌
+        UserPrincipal principal = new UserPrincipal(1L, "admin", "", null, null, null, 1, null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        String accessToken = jwtTokenUtil.generateTokenWithRoles(principal, 1L, List.of("ADMIN"));
+        String refreshToken = jwtTokenUtil.generateRefreshToken(principal);
+
+        // 登出前可以刷新，刷新得到的访问令牌不能再用于刷新
+        Result<LoginResponse> refreshed = authController.refreshToken(refreshRequest(refreshToken));
+        assertEquals(200, refreshed.getCode());
+        String refreshedAccessToken = refreshed.getData().getAccessToken();
+        assertFalse(jwtTokenUtil.isRefreshToken(jwtTokenUtil.parseToken(refreshedAccessToken)));
+        assertEquals(401, authController.refreshToken(refreshRequest(refreshedAccessToken)).getCode());
+
+        // 访问令牌不能用于刷新
+        assertEquals(401, authController.refreshToken(refreshRequest(accessToken)).getCode());
+
+        assertTrue(authService.logout(accessToken, refreshToken));
+
+        assertEquals(401, authController.refreshToken(refreshRequest(refreshToken)).getCode());
+        assertThrows(RuntimeException.class, () -> authService.refreshToken(refreshRequest(refreshToken)));
+
+        System.out.println("✅ 登出后刷新令牌失效测试通过");
+    }
+
+    private RefreshTokenRequest refreshRequest(String refreshToken) {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(refreshToken);
+        return request;
+    }
 }
@@ -0,0 +1,231 @@
+package com.course.service;
+
+import com.course.entity.Course;
+import com.course.entity.CourseSelection;
+import com.course.entity.Schedule;
+import com.course.mapper.CourseMapper;
+import com.course.mapper.CourseSelectionMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.course.service.ServiceTestFixtures.schedule;
+import static com.course.service.ServiceTestFixtures.selection;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CourseSelectionService测试类
+ * 并发场景需要各线程独立提交事务，因此不使用类级别的 @Transactional，测试结束后自行清理数据
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CourseSelectionServiceTest {
+
+    @Autowired
+    private CourseSelectionService courseSelectionService;
+
+    @Autowired
+    private CourseMapper courseMapper;
+
+    @Autowired
+    private CourseSelectionMapper courseSelectionMapper;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
+    @Test
+    void testConcurrentSelectionDoesNotOversell() throws Exception {
+        Course course = fixtures.createCourse("STRESS" + System.nanoTime() % 1_000_000_000L, 30);
+        Long courseId = course.getId();
+
+        int attempts = 3000;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(attempts);
+
+        try {
+            for (int i = 0; i < attempts; i++) {
+                long studentId = 100000L + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        courseSelectionService.selectCourse(studentId, courseId);
+                        succeeded.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+
+            // 恰好30人选课成功，课程人数与选课记录一致
+            assertEquals(30, succeeded.get());
+            assertEquals(attempts - 30, rejected.get());
+            assertEquals(30, courseMapper.selectById(courseId).getCurrentStudents().intValue());
+            assertEquals(30, courseSelectionService.countCourseSelections(courseId, 1).intValue());
+
+            System.out.println("✅ 并发选课不超卖测试通过 - 成功: " + succeeded.get() + ", 拒绝: " + rejected.get());
+        } finally {
+            executor.shutdownNow();
+            fixtures.deleteCourse(courseId);
+        }
+    }
+
+    @Test
+    void testDropAndReselect() {
+        Course course = fixtures.createCourse("RESELECT" + System.nanoTime() % 1_000_000_000L, 1);
+        Long courseId = course.getId();
+
+        try {
+            courseSelectionService.selectCourse(200001L, courseId);
+
+            // 名额已满
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+                courseSelectionService.selectCourse(200002L, courseId);
+            });
+            assertEquals("选课人数超过限制", exception.getMessage());
+
+            // 退课后名额归还，可以重新选课
+            assertTrue(courseSelectionService.dropCourse(200001L, courseId));
+            assertEquals(0, courseMapper.selectById(courseId).getCurrentStudents().intValue());
+            assertThrows(IllegalArgumentException.class, () -> courseSelectionService.dropCourse(200001L, courseId));
+
+            CourseSelection reselected = courseSelectionService.selectCourse(200001L, courseId);
+            assertEquals(1, reselected.getStatus());
+            assertEquals(1, courseMapper.selectById(courseId).getCurrentStudents().intValue());
+
+            System.out.println("✅ 退课与重新选课测试通过");
+        } finally {
+            fixtures.deleteCourse(courseId);
+        }
+    }
+
+    @Test
+    void testBatchDropBySemesterThroughput() {
+        String semester = "BENCH" + System.nanoTime() % 1_000_000L;
+        int studentCount = 500;
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Course course = fixtures.createCourse("BD" + i + "_" + System.nanoTime() % 1_000_000_000L, studentCount * 2);
+            course.setSemester(semester);
+            courseMapper.updateById(course);
+            courses.add(course);
+        }
+
+        try {
+            // 准备选课数据：每名学生选全部课程
+            List<Long> studentIds = new ArrayList<>(studentCount);
+            List<CourseSelection> selections = new ArrayList<>();
+            for (int i = 0; i < studentCount; i++) {
+                long studentId = 300000L + i;
+                studentIds.add(studentId);
+                for (Course course : courses) {
+                    selections.add(selection(studentId, course.getId()));
+                }
+            }
+            courseSelectionMapper.batchUpsertSelected(selections);
+            for (Course course : courses) {
+                courseMapper.updateCurrentStudents(course.getId(), studentCount);
+            }
+
+            // 逐条退课：前50名学生
+            List<Long> perRowStudents = studentIds.subList(0, 50);
+            long perRowStart = System.nanoTime();
+            int perRowDropped = 0;
+            for (Long studentId : perRowStudents) {
+                for (Course course : courses) {
+                    if (courseSelectionService.dropCourse(studentId, course.getId())) {
+                        perRowDropped++;
+                    }
+                }
+            }
+            long perRowNanos = System.nanoTime() - perRowStart;
+
+            // 未指定学生时拒绝，不会退选整个学期
+            assertThrows(IllegalArgumentException.class, () ->
+                    courseSelectionService.batchDropCoursesBySemester(new ArrayList<>(), semester));
+            assertThrows(IllegalArgumentException.class, () ->
+                    courseSelectionService.batchDropCoursesBySemester((List<Long>) null, semester));
+
+            // 集合式退课：剩余学生
+            List<Long> setBasedStudents = new ArrayList<>(studentIds.subList(50, studentCount));
+            long setBasedStart = System.nanoTime();
+            int setBasedDropped = courseSelectionService.batchDropCoursesBySemester(setBasedStudents, semester);
+            long setBasedNanos = System.nanoTime() - setBasedStart;
+
+            assertEquals(50 * courses.size(), perRowDropped);
+            assertEquals((studentCount - 50) * courses.size(), setBasedDropped);
+            for (Course course : courses) {
+                assertEquals(0, courseMapper.selectById(course.getId()).getCurrentStudents().intValue());
+                assertEquals(0, courseSelectionService.countCourseSelections(course.getId(), 1).intValue());
+            }
+
+            System.out.printf("✅ 集合式批量退课测试通过 - 逐条: %.0f 门次/秒, 集合式: %.0f 门次/秒%n",
+                    perRowDropped / (perRowNanos / 1e9), setBasedDropped / (setBasedNanos / 1e9));
+        } finally {
+            courses.forEach(course -> fixtures.deleteCourse(course.getId()));
+        }
+    }
+
+    @Test
+    void testTimeConflictRejectsOverlappingCourse() {
+        Course first = fixtures.createCourse("TC1_" + System.nanoTime() % 1_000_000_000L, 10);
+        Course overlapping = fixtures.createCourse("TC2_" + System.nanoTime() % 1_000_000_000L, 10);
+        Course laterWeeks = fixtures.createCourse("TC3_" + System.nanoTime() % 1_000_000_000L, 10);
+        List<Schedule> schedules = new ArrayList<>();
+
+        try {
+            // 周一 08:00-09:40（1-8周）与周一 09:00-10:40（1-8周）重叠；与 9-16 周的同一时段不重叠
+            schedules.add(scheduleService.createSchedule(schedule(first.getId(), 9001L, "08:00", "09:40", 1, 8)));
+            schedules.add(scheduleService.createSchedule(schedule(overlapping.getId(), 9002L, "09:00", "10:40", 1, 8)));
+            schedules.add(scheduleService.createSchedule(schedule(laterWeeks.getId(), 9003L, "08:00", "09:40", 9, 16)));
+
+            // 同一教室同一时段不能重复安排
+            assertThrows(IllegalArgumentException.class, () ->
+                    scheduleService.createSchedule(schedule(laterWeeks.getId(), 9001L, "09:00", "09:30", 2, 3)));
+
+            courseSelectionService.selectCourse(300001L, first.getId());
+            assertTrue(courseSelectionService.hasTimeConflict(300001L, overlapping.getId(), null));
+            assertFalse(courseSelectionService.canSelectCourse(300001L, overlapping.getId()));
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                    courseSelectionService.selectCourse(300001L, overlapping.getId()));
+            assertEquals("与已选课程上课时间冲突", exception.getMessage());
+            courseSelectionService.selectCourse(300001L, laterWeeks.getId());
+
+            // 退课后不再冲突
+            courseSelectionService.dropCourse(300001L, first.getId());
+            assertFalse(courseSelectionService.hasTimeConflict(300001L, overlapping.getId(), null));
+
+            System.out.println("✅ 选课时间冲突检查测试通过");
+        } finally {
+            schedules.forEach(schedule -> scheduleService.deleteSchedule(schedule.getId()));
+            fixtures.deleteCourse(first.getId());
+            fixtures.deleteCourse(overlapping.getId());
+            fixtures.deleteCourse(laterWeeks.getId());
+        }
+    }
+}
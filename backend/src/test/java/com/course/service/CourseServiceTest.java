@@ -2,15 +2,19 @@ package com.course.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.course.dto.PageRequest;
+import com.course.dto.course.GradeWeightRequest;
 import com.course.entity.Course;
+import com.course.utils.GradeScoring;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +33,12 @@ class CourseServiceTest {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
     @Test
     void testCreateCourse() {
         // 创建测试课程
@@ -320,6 +330,73 @@ class CourseServiceTest {
         System.out.println("✅ 课程复制到新学期测试通过 - 新课程编码: " + copiedCourse.getCourseCode());
     }
 
+    @Test
+    void testUpdateGradeWeights() {
+        Course course = createTestCourse("WEIGHT01", "权重测试课程", 50, 0, 1);
+        course.setTeacherId(1L);
+        Course createdCourse = courseService.createCourse(course);
+
+        courseService.updateGradeWeights(createdCourse.getId(), gradeWeights(20, 20, 60), 1L);
+
+        Map<Long, GradeScoring.Weights> weights = courseService.getGradeWeights(List.of(createdCourse.getId()));
+        GradeScoring.Weights updated = weights.get(createdCourse.getId());
+        assertEquals(20, updated.getUsual());
+        assertEquals(20, updated.getMidterm());
+        assertEquals(60, updated.getFinal());
+
+        // 权重之和不为100
+        assertThrows(IllegalArgumentException.class, () ->
+                courseService.updateGradeWeights(createdCourse.getId(), gradeWeights(30, 30, 30), 1L));
+        // 非本课程教师
+        assertThrows(IllegalArgumentException.class, () ->
+                courseService.updateGradeWeights(createdCourse.getId(), gradeWeights(30, 30, 40), 2L));
+        
+        System.out.println("✅ 课程成绩权重更新测试通过");
+    }
+
+    /**
+     * 排行在事务提交后更新，该测试不使用类级别的事务，结束后自行清理
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testPopularCoursesFollowCourseChanges() {
+        leaderboardService.reconcile();
+        Course course = courseService.createCourse(
+                createTestCourse("LB" + System.nanoTime() % 1_000_000_000L, "排行测试课程", 30, 0, 1));
+
+        try {
+            assertEquals("排行测试课程", popularCourse(course.getId()).get("courseName"));
+
+            Course update = new Course();
+            update.setId(course.getId());
+            update.setCourseName("排行测试课程（改名）");
+            courseService.updateCourse(update);
+            assertEquals("排行测试课程（改名）", popularCourse(course.getId()).get("courseName"));
+
+            courseService.deleteCourse(course.getId());
+            assertNull(popularCourse(course.getId()));
+
+            System.out.println("✅ 热门课程排行随课程变更更新测试通过");
+        } finally {
+            fixtures.deleteCourse(course.getId());
+        }
+    }
+
+    private Map<String, Object> popularCourse(Long courseId) {
+        return leaderboardService.getPopularCourses(Integer.MAX_VALUE).stream()
+                .filter(item -> courseId.equals(item.get("courseId")))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private GradeWeightRequest gradeWeights(int usual, int midterm, int finalWeight) {
+        GradeWeightRequest request = new GradeWeightRequest();
+        request.setUsualWeight(usual);
+        request.setMidtermWeight(midterm);
+        request.setFinalWeight(finalWeight);
+        return request;
+    }
+
     private Course createTestCourse(String code, String name, int maxStudents, int currentStudents, int status) {
         Course course = new Course();
         course.setCourseCode(code);
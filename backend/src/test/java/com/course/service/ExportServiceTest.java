@@ -0,0 +1,138 @@
+package com.course.service;
+
+import com.course.dto.ExportJob;
+import com.course.entity.Grade;
+import com.course.mapper.CourseSelectionMapper;
+import com.course.mapper.GradeMapper;
+import com.course.utils.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.course.service.ServiceTestFixtures.selection;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExportService测试类
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExportServiceTest {
+
+    private static final Long TEACHER_ID = 9301L;
+
+    private static final Long OTHER_TEACHER_ID = 9302L;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ExportJobService exportJobService;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
+    @Autowired
+    private CourseSelectionMapper courseSelectionMapper;
+
+    @Autowired
+    private GradeMapper gradeMapper;
+
+    private Long ownCourseId;
+
+    private Long otherCourseId;
+
+    @BeforeEach
+    void setUp() {
+        Long studentId = fixtures.createStudent("EXP_S1");
+        ownCourseId = fixtures.createCourse("EXP_C1", 10, TEACHER_ID).getId();
+        otherCourseId = fixtures.createCourse("EXP_C2", 10, OTHER_TEACHER_ID).getId();
+
+        courseSelectionMapper.batchUpsertSelected(List.of(
+                selection(studentId, ownCourseId),
+                selection(studentId, otherCourseId)));
+        gradeMapper.insert(grade(studentId, ownCourseId));
+        gradeMapper.insert(grade(studentId, otherCourseId));
+    }
+
+    @Test
+    void testTeacherMustExportOwnCourse() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.checkCourseScope(null, TEACHER_ID));
+        assertThrows(IllegalArgumentException.class, () -> exportService.checkCourseScope(otherCourseId, TEACHER_ID));
+        assertDoesNotThrow(() -> exportService.checkCourseScope(ownCourseId, TEACHER_ID));
+        assertDoesNotThrow(() -> exportService.checkCourseScope(null, null));
+
+        System.out.println("✅ 明细导出课程范围校验测试通过");
+    }
+
+    @Test
+    void testTeacherExportsOnlyOwnCourses() throws Exception {
+        ByteArrayOutputStream roster = new ByteArrayOutputStream();
+        exportService.exportCourseRoster(null, TEACHER_ID, ExportFormat.of("csv"), roster);
+        String rosterCsv = roster.toString(StandardCharsets.UTF_8);
+        assertTrue(rosterCsv.contains("EXP_C1"));
+        assertFalse(rosterCsv.contains("EXP_C2"));
+
+        ByteArrayOutputStream grades = new ByteArrayOutputStream();
+        exportService.exportGradeDetails(null, otherCourseId, TEACHER_ID, ExportFormat.of("csv"), grades);
+        assertFalse(grades.toString(StandardCharsets.UTF_8).contains("EXP_C2"));
+
+        // 管理员不限定教师
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        exportService.exportGradeDetails(null, null, null, ExportFormat.of("csv"), all);
+        String allCsv = all.toString(StandardCharsets.UTF_8);
+        assertTrue(allCsv.contains("EXP_C1"));
+        assertTrue(allCsv.contains("EXP_C2"));
+
+        System.out.println("✅ 教师明细导出范围测试通过");
+    }
+
+    @Test
+    void testExportJobsAreScopedPerTeacher() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("courseId", ownCourseId);
+        params.put("format", "csv");
+
+        ExportJob teacherJob = exportJobService.submit("roster", params, TEACHER_ID, TEACHER_ID);
+        assertEquals("csv", teacherJob.getFormat());
+        assertEquals(teacherJob.getJobId(), exportJobService.submit("roster", params, TEACHER_ID, TEACHER_ID).getJobId());
+        // 管理员的相同请求不合并到教师的任务
+        assertNotEquals(teacherJob.getJobId(), exportJobService.submit("roster", params, 1L, null).getJobId());
+
+        // 请求参数中的教师ID被忽略
+        params.put("teacherId", OTHER_TEACHER_ID);
+        assertEquals(teacherJob.getJobId(), exportJobService.submit("roster", params, TEACHER_ID, TEACHER_ID).getJobId());
+        params.put("teacherId", TEACHER_ID);
+        assertThrows(IllegalArgumentException.class, () ->
+                exportJobService.submit("roster", params, OTHER_TEACHER_ID, OTHER_TEACHER_ID));
+        assertThrows(IllegalArgumentException.class, () ->
+                exportJobService.submit("grades", Map.of("format", "csv"), TEACHER_ID, TEACHER_ID));
+
+        System.out.println("✅ 导出任务教师范围测试通过");
+    }
+
+    private Grade grade(Long studentId, Long courseId) {
+        Grade grade = new Grade();
+        grade.setStudentId(studentId);
+        grade.setCourseId(courseId);
+        grade.setSemester(ServiceTestFixtures.SEMESTER);
+        grade.setFinalScore(new BigDecimal("80"));
+        grade.setTotalScore(new BigDecimal("80"));
+        return grade;
+    }
+}
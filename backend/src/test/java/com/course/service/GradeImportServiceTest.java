@@ -0,0 +1,152 @@
+package com.course.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.course.dto.GradeImportResult;
+import com.course.entity.Grade;
+import com.course.mapper.CourseSelectionMapper;
+import com.course.mapper.GradeMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.course.service.ServiceTestFixtures.selection;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GradeImportService测试类
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class GradeImportServiceTest {
+
+    private static final String HEADER = "学号,课程编码,学期,平时成绩,期中成绩,期末成绩\n";
+
+    private static final Long TEACHER_ID = 9201L;
+
+    private static final Long OTHER_TEACHER_ID = 9202L;
+
+    @Autowired
+    private GradeImportService gradeImportService;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
+    @Autowired
+    private CourseSelectionMapper courseSelectionMapper;
+
+    @Autowired
+    private GradeMapper gradeMapper;
+
+    private Long firstStudentId;
+
+    private Long firstCourseId;
+
+    @BeforeEach
+    void setUp() {
+        firstStudentId = fixtures.createStudent("IMP_S1");
+        Long secondStudentId = fixtures.createStudent("IMP_S2");
+        firstCourseId = fixtures.createCourse("IMP_C1", 10, TEACHER_ID).getId();
+        Long otherTeacherCourseId = fixtures.createCourse("IMP_C2", 10, OTHER_TEACHER_ID).getId();
+        // IMP_C3 没有学生选课
+        fixtures.createCourse("IMP_C3", 10, TEACHER_ID);
+
+        courseSelectionMapper.batchUpsertSelected(List.of(
+                selection(firstStudentId, firstCourseId),
+                selection(secondStudentId, firstCourseId),
+                selection(firstStudentId, otherTeacherCourseId)));
+    }
+
+    @Test
+    void testImportReportsRowErrors() {
+        GradeImportResult result = gradeImportService.importGrades(csv(HEADER
+                + "IMP_S1,IMP_C1,2024春季,80,90,100\n"
+                + "IMP_S2,IMP_C1,2024春季,abc,,\n"
+                + "IMP_S2,IMP_C1,2024春季,101,,\n"
+                + "IMP_S1,IMP_C3,2024春季,80,80,80\n"
+                + "IMP_S1,IMP_C2,2024春季,80,80,80\n"
+                + "IMP_S1,IMP_C1,2024秋季,80,80,80\n"
+                + "IMP_S9,IMP_C1,2024春季,80,80,80\n"
+                + "IMP_S2,IMP_C1,2024春季,,,60\n"), TEACHER_ID);
+
+        assertEquals(8, result.getTotalRows());
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(6, result.getFailureCount());
+
+        // 行号从表头开始计数
+        Map<Integer, String> errors = result.getErrors().stream()
+                .collect(Collectors.toMap(GradeImportResult.RowError::getRowNumber, GradeImportResult.RowError::getMessage));
+        assertTrue(errors.get(3).startsWith("平时成绩格式错误"));
+        assertTrue(errors.get(4).startsWith("平时成绩超出范围"));
+        assertEquals("该学生未选择此课程，无法录入成绩", errors.get(5));
+        assertEquals("无权录入该课程成绩: IMP_C2", errors.get(6));
+        assertTrue(errors.get(7).startsWith("学期与课程开课学期不一致"));
+        assertEquals("学号不存在: IMP_S9", errors.get(8));
+
+        Grade grade = findGrade(firstStudentId, firstCourseId);
+        assertEquals(0, new BigDecimal("91").compareTo(grade.getTotalScore()));
+        assertEquals("A", grade.getGradeLevel());
+        // 学期不一致的行没有写入
+        assertEquals(1, gradeMapper.selectCount(new LambdaQueryWrapper<Grade>()
+                .eq(Grade::getStudentId, firstStudentId)
+                .eq(Grade::getCourseId, firstCourseId)).intValue());
+
+        System.out.println("✅ 成绩导入行级错误测试通过");
+    }
+
+    @Test
+    void testReimportUpdatesExistingGrade() {
+        gradeImportService.importGrades(csv(HEADER + "IMP_S1,IMP_C1,2024春季,80,90,100\n"), TEACHER_ID);
+
+        // 管理员重新导入同一成绩，更新而不是新增
+        GradeImportResult result = gradeImportService.importGrades(
+                csv(HEADER + "IMP_S1,IMP_C1,2024春季,80,90,60\n"), null);
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(0, result.getFailureCount());
+        assertEquals(1, gradeMapper.selectCount(new LambdaQueryWrapper<Grade>()
+                .eq(Grade::getStudentId, firstStudentId)
+                .eq(Grade::getCourseId, firstCourseId)).intValue());
+        Grade grade = findGrade(firstStudentId, firstCourseId);
+        assertEquals(0, new BigDecimal("60").compareTo(grade.getFinalScore()));
+        assertEquals(0, new BigDecimal("75").compareTo(grade.getTotalScore()));
+
+        System.out.println("✅ 成绩重复导入测试通过");
+    }
+
+    @Test
+    void testRejectsFileWithoutRequiredColumns() {
+        assertThrows(IllegalArgumentException.class, () -> gradeImportService.importGrades(
+                csv("学号,学期,期末成绩\nIMP_S1,2024春季,80\n"), TEACHER_ID));
+        assertThrows(IllegalArgumentException.class, () -> gradeImportService.importGrades(
+                new MockMultipartFile("file", "grades.txt", "text/plain", "x".getBytes(StandardCharsets.UTF_8)),
+                TEACHER_ID));
+
+        System.out.println("✅ 成绩导入文件校验测试通过");
+    }
+
+    private MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "grades.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Grade findGrade(Long studentId, Long courseId) {
+        return gradeMapper.selectOne(new LambdaQueryWrapper<Grade>()
+                .eq(Grade::getStudentId, studentId)
+                .eq(Grade::getCourseId, courseId)
+                .eq(Grade::getSemester, ServiceTestFixtures.SEMESTER));
+    }
+}
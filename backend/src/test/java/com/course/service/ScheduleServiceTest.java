@@ -0,0 +1,85 @@
+package com.course.service;
+
+import com.course.entity.Classroom;
+import com.course.entity.Course;
+import com.course.entity.Schedule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.course.service.ServiceTestFixtures.schedule;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ScheduleService测试类
+ * 课表索引在事务提交后重建，因此不使用类级别的 @Transactional，测试结束后自行清理数据
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleServiceTest {
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private ServiceTestFixtures fixtures;
+
+    @Test
+    void testAvailableClassroomsExcludeScheduledRooms() {
+        String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+        Classroom busy = fixtures.createClassroom("AC1_" + suffix, "测试楼" + suffix, 60);
+        Classroom free = fixtures.createClassroom("AC2_" + suffix, "测试楼" + suffix, 120);
+        Course course = fixtures.createCourse("AC_" + suffix, 10);
+        List<Schedule> schedules = new ArrayList<>();
+
+        try {
+            schedules.add(scheduleService.createSchedule(schedule(course.getId(), busy.getId(), "08:00", "09:40", 1, 8)));
+
+            List<Long> overlapping = classroomIds(scheduleService.findAvailableClassrooms("2024春季", 1,
+                    LocalTime.parse("09:00"), LocalTime.parse("10:00"), null, null, null, "测试楼" + suffix));
+            assertEquals(List.of(free.getId()), overlapping);
+
+            // 不同周次、相邻时段、不同学期都不占用
+            assertEquals(2, classroomIds(scheduleService.findAvailableClassrooms("2024春季", 1,
+                    LocalTime.parse("09:00"), LocalTime.parse("10:00"), 9, 16, null, "测试楼" + suffix)).size());
+            assertEquals(2, classroomIds(scheduleService.findAvailableClassrooms("2024春季", 1,
+                    LocalTime.parse("09:40"), LocalTime.parse("11:00"), null, null, null, "测试楼" + suffix)).size());
+            assertEquals(2, classroomIds(scheduleService.findAvailableClassrooms("2024秋季", 1,
+                    LocalTime.parse("09:00"), LocalTime.parse("10:00"), null, null, null, "测试楼" + suffix)).size());
+
+            // 容纳人数过滤
+            assertEquals(List.of(free.getId()), classroomIds(scheduleService.findAvailableClassrooms("2024春季", 2,
+                    LocalTime.parse("09:00"), LocalTime.parse("10:00"), null, null, 100, "测试楼" + suffix)));
+
+            // 删除课表安排后教室重新空闲
+            scheduleService.deleteSchedule(schedules.remove(0).getId());
+            assertEquals(2, classroomIds(scheduleService.findAvailableClassrooms("2024春季", 1,
+                    LocalTime.parse("09:00"), LocalTime.parse("10:00"), null, null, null, "测试楼" + suffix)).size());
+
+            assertThrows(IllegalArgumentException.class, () -> scheduleService.findAvailableClassrooms("2024春季", 1,
+                    LocalTime.parse("10:00"), LocalTime.parse("09:00"), null, null, null, null));
+
+            System.out.println("✅ 空闲教室查询测试通过");
+        } finally {
+            schedules.forEach(schedule -> scheduleService.deleteSchedule(schedule.getId()));
+            fixtures.deleteCourse(course.getId());
+            fixtures.deleteClassroom(busy.getId());
+            fixtures.deleteClassroom(free.getId());
+        }
+    }
+
+    private List<Long> classroomIds(List<Classroom> classrooms) {
+        List<Long> ids = new ArrayList<>();
+        classrooms.forEach(classroom -> ids.add(classroom.getId()));
+        return ids;
+    }
+}
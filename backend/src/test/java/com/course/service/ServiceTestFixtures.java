@@ -0,0 +1,144 @@
+package com.course.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.course.entity.Classroom;
+import com.course.entity.Course;
+import com.course.entity.CourseSelection;
+import com.course.entity.Schedule;
+import com.course.entity.User;
+import com.course.mapper.ClassroomMapper;
+import com.course.mapper.CourseMapper;
+import com.course.mapper.CourseSelectionMapper;
+import com.course.mapper.UserMapper;
+import com.course.service.impl.ScheduleServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * 服务层测试数据
+ * 各测试类共用的课程、教室、学生、选课和课表数据的创建与清理
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Component
+public class ServiceTestFixtures {
+
+    public static final String SEMESTER = "2024春季";
+
+    @Autowired
+    private CourseMapper courseMapper;
+
+    @Autowired
+    private CourseSelectionMapper courseSelectionMapper;
+
+    @Autowired
+    private ClassroomMapper classroomMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private ScheduleServiceImpl scheduleServiceImpl;
+
+    /**
+     * 创建测试课程（2024春季，开放选课）
+     */
+    public Course createCourse(String courseCode, int maxStudents) {
+        return createCourse(courseCode, maxStudents, null);
+    }
+
+    /**
+     * 创建指定教师的测试课程（2024春季，开放选课）
+     */
+    public Course createCourse(String courseCode, int maxStudents, Long teacherId) {
+        Course course = new Course();
+        course.setCourseCode(courseCode);
+        course.setCourseName("测试课程");
+        course.setTeacherId(teacherId);
+        course.setMaxStudents(maxStudents);
+        course.setCurrentStudents(0);
+        course.setSemester(SEMESTER);
+        course.setStatus(1);
+        courseMapper.insert(course);
+        return course;
+    }
+
+    /**
+     * 删除测试课程及其选课记录
+     */
+    public void deleteCourse(Long courseId) {
+        courseSelectionMapper.delete(new LambdaQueryWrapper<CourseSelection>()
+                .eq(CourseSelection::getCourseId, courseId));
+        courseMapper.deleteById(courseId);
+    }
+
+    /**
+     * 创建测试教室
+     * 教室没有写入接口，变更在定时对账时反映到教室占用位图，这里直接对账
+     */
+    public Classroom createClassroom(String roomNumber, String building, int capacity) {
+        Classroom classroom = new Classroom();
+        classroom.setRoomNumber(roomNumber);
+        classroom.setRoomName("测试教室");
+        classroom.setBuilding(building);
+        classroom.setFloor(1);
+        classroom.setCapacity(capacity);
+        classroom.setStatus(1);
+        classroomMapper.insert(classroom);
+        scheduleServiceImpl.reconcile();
+        return classroom;
+    }
+
+    /**
+     * 删除测试教室并对账
+     */
+    public void deleteClassroom(Long classroomId) {
+        classroomMapper.deleteById(classroomId);
+        scheduleServiceImpl.reconcile();
+    }
+
+    /**
+     * 创建测试学生
+     */
+    public Long createStudent(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setRealName("测试学生");
+        user.setStatus(1);
+        userMapper.insert(user);
+        return user.getId();
+    }
+
+    /**
+     * 构建已选课记录
+     */
+    public static CourseSelection selection(Long studentId, Long courseId) {
+        CourseSelection selection = new CourseSelection();
+        selection.setStudentId(studentId);
+        selection.setCourseId(courseId);
+        selection.setSelectionTime(LocalDateTime.now());
+        return selection;
+    }
+
+    /**
+     * 构建周一的课表安排
+     */
+    public static Schedule schedule(Long courseId, Long classroomId, String startTime, String endTime,
+                                    int weekStart, int weekEnd) {
+        Schedule schedule = new Schedule();
+        schedule.setCourseId(courseId);
+        schedule.setClassroomId(classroomId);
+        schedule.setDayOfWeek(1);
+        schedule.setStartTime(LocalTime.parse(startTime));
+        schedule.setEndTime(LocalTime.parse(endTime));
+        schedule.setWeekStart(weekStart);
+        schedule.setWeekEnd(weekEnd);
+        return schedule;
+    }
+}
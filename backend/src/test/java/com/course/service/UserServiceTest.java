@@ -3,12 +3,16 @@ package com.course.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.course.dto.PageRequest;
 import com.course.entity.User;
+import com.course.security.CustomUserDetailsService;
+import com.course.security.UserPrincipalCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +32,9 @@ class UserServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
     @Test
     void testCreateUser() {
         // 创建测试用户
@@ -270,4 +277,33 @@ class UserServiceTest {
         
         System.out.println("✅ 密码修改测试通过");
     }
+
+    @Test
+    void testRoleChangeRevokesTokensAcrossInstances() {
+        User user = new User();
+        user.setUsername("revoketest");
+        user.setPassword("password123");
+        user.setEmail("revoke@test.com");
+        user.setRealName("吊销测试用户");
+        Long userId = userService.createUser(user).getId();
+
+        Date issuedBefore = new Date(System.currentTimeMillis() - 10_000);
+        assertEquals(0L, customUserDetailsService.getTokensValidAfter(userId));
+
+        userService.assignRoles(userId, List.of(1L));
+
+        // 新实例（重启或另一节点）的内存中没有吊销记录，仍根据数据库中的令牌生效起点拒绝旧令牌
+        UserPrincipalCache otherInstance = new UserPrincipalCache();
+        ReflectionTestUtils.setField(otherInstance, "maximumSize", 100L);
+        ReflectionTestUtils.setField(otherInstance, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(otherInstance, "revocationCheckTtlSeconds", 30L);
+        ReflectionTestUtils.setField(otherInstance, "tokenExpirationMillis", 86400000L);
+        otherInstance.init();
+
+        assertFalse(otherInstance.isTokenActive(userId, issuedBefore, customUserDetailsService::getTokensValidAfter));
+        assertTrue(otherInstance.isTokenActive(userId, new Date(System.currentTimeMillis() + 1000),
+                customUserDetailsService::getTokensValidAfter));
+
+        System.out.println("✅ 角色变更吊销令牌测试通过");
+    }
 }
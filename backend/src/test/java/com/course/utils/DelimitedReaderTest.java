@@ -0,0 +1,92 @@
+package com.course.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DelimitedReader测试类
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+class DelimitedReaderTest {
+
+    @Test
+    void testQuotedFields() throws IOException {
+        List<Row> rows = read("a,\"b,c\",\"say \"\"hi\"\"\",\"\"\n", ',');
+
+        assertEquals(1, rows.size());
+        assertEquals(List.of("a", "b,c", "say \"hi\"", ""), rows.get(0).cells);
+
+        System.out.println("✅ CSV引号字段解析测试通过");
+    }
+
+    @Test
+    void testEmbeddedNewlineCountsAsOneRecord() throws IOException {
+        List<Row> rows = read("\"line1\nline2\",x\r\n\"a\r\nb\",y\nlast,z", ',');
+
+        assertEquals(3, rows.size());
+        assertEquals(List.of("line1\nline2", "x"), rows.get(0).cells);
+        assertEquals(List.of("a\r\nb", "y"), rows.get(1).cells);
+        assertEquals(List.of("last", "z"), rows.get(2).cells);
+        // 行号为记录序号，字段内换行不增加行号
+        assertEquals(List.of(1, 2, 3), List.of(rows.get(0).rowNumber, rows.get(1).rowNumber, rows.get(2).rowNumber));
+
+        System.out.println("✅ CSV字段内换行解析测试通过");
+    }
+
+    @Test
+    void testBomAndCrlf() throws IOException {
+        List<Row> rows = read("\uFEFF学号,课程编码\r\n2024001,CS101\r\n\r\n2024002,CS102,\r\n", ',');
+
+        assertEquals(4, rows.size());
+        assertEquals(List.of("学号", "课程编码"), rows.get(0).cells);
+        assertEquals(List.of("2024001", "CS101"), rows.get(1).cells);
+        // 空行按一个空字段回调，由调用方跳过
+        assertEquals(List.of(""), rows.get(2).cells);
+        assertEquals(List.of("2024002", "CS102", ""), rows.get(3).cells);
+        assertEquals(4, rows.get(3).rowNumber);
+
+        System.out.println("✅ BOM与CRLF解析测试通过");
+    }
+
+    @Test
+    void testTsvKeepsQuotes() throws IOException {
+        List<Row> rows = read("\"a\"\tb,c\n", '\t');
+
+        assertEquals(1, rows.size());
+        assertEquals(List.of("\"a\"", "b,c"), rows.get(0).cells);
+
+        System.out.println("✅ TSV解析测试通过");
+    }
+
+    private static List<Row> read(String content, char delimiter) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (DelimitedReader reader = new DelimitedReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), delimiter)) {
+            // 单元格列表在回调后复用，需要复制
+            reader.read((rowNumber, cells) -> rows.add(new Row(rowNumber, new ArrayList<>(cells))));
+        }
+        return rows;
+    }
+
+    private static final class Row {
+
+        private final int rowNumber;
+
+        private final List<String> cells;
+
+        private Row(int rowNumber, List<String> cells) {
+            this.rowNumber = rowNumber;
+            this.cells = cells;
+        }
+    }
+}
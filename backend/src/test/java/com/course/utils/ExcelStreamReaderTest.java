@@ -0,0 +1,78 @@
+package com.course.utils;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExcelStreamReader测试类
+ *
+ * @author 课程管理系统开发团队
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+class ExcelStreamReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReadRowsWithGaps() throws IOException {
+        Path file = tempDir.resolve("grades.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("成绩");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("学号");
+            header.createCell(1).setCellValue("课程编码");
+            header.createCell(2).setCellValue("学期");
+
+            // 第2列缺失
+            Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue("2024001");
+            first.createCell(2).setCellValue("2024春季");
+
+            // 跳过第3行；数值单元格和第28列（AB）
+            Row second = sheet.createRow(3);
+            second.createCell(1).setCellValue(85.5);
+            second.createCell(27).setCellValue("备注");
+
+            workbook.write(out);
+        }
+
+        List<Integer> rowNumbers = new ArrayList<>();
+        List<List<String>> rows = new ArrayList<>();
+        try (ExcelStreamReader reader = new ExcelStreamReader(file)) {
+            reader.read((rowNumber, cells) -> {
+                rowNumbers.add(rowNumber);
+                rows.add(new ArrayList<>(cells));
+            });
+        }
+
+        assertEquals(List.of(1, 2, 4), rowNumbers);
+        assertEquals(List.of("学号", "课程编码", "学期"), rows.get(0));
+        assertEquals(Arrays.asList("2024001", null, "2024春季"), rows.get(1));
+
+        List<String> last = rows.get(2);
+        assertEquals(28, last.size());
+        assertNull(last.get(0));
+        assertEquals("85.5", last.get(1));
+        for (int i = 2; i < 27; i++) {
+            assertNull(last.get(i));
+        }
+        assertEquals("备注", last.get(27));
+
+        System.out.println("✅ Excel流式读取补齐空单元格测试通过");
+    }
+}
@@ -12,6 +12,7 @@ CREATE TABLE users (
     gender TINYINT DEFAULT 0,
     avatar VARCHAR(255),
     status TINYINT DEFAULT 1,
+    tokens_valid_after DATETIME,
     deleted TINYINT DEFAULT 0,
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
@@ -67,6 +68,9 @@ CREATE TABLE courses (
     current_students INT DEFAULT 0,
     semester VARCHAR(20),
     status TINYINT DEFAULT 1,
+    usual_weight TINYINT DEFAULT 30,
+    midterm_weight TINYINT DEFAULT 30,
+    final_weight TINYINT DEFAULT 40,
     deleted TINYINT DEFAULT 0,
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
@@ -79,6 +83,7 @@ CREATE TABLE course_selections (
     course_id BIGINT NOT NULL,
     selection_time DATETIME DEFAULT CURRENT_TIMESTAMP,
     status TINYINT DEFAULT 1,
+    drop_time DATETIME,
     deleted TINYINT DEFAULT 0,
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
@@ -117,3 +122,45 @@ CREATE TABLE grades (
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     UNIQUE KEY uk_student_course_semester (student_id, course_id, semester)
 );
+
+-- 9. 已吊销令牌表
+CREATE TABLE revoked_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_id VARCHAR(64) NOT NULL,
+    user_id BIGINT,
+    expires_at DATETIME NOT NULL,
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 10. 每日统计汇总表
+CREATE TABLE daily_statistics (
+    stat_date DATE PRIMARY KEY,
+    new_users INT DEFAULT 0,
+    new_courses INT DEFAULT 0,
+    new_selections INT DEFAULT 0,
+    drops INT DEFAULT 0,
+    grades_entered INT DEFAULT 0,
+    announcements_published INT DEFAULT 0,
+    announcement_reads INT DEFAULT 0,
+    update_time DATETIME
+);
+
+-- 11. 学期统计汇总表
+CREATE TABLE semester_statistics (
+    semester VARCHAR(20) PRIMARY KEY,
+    course_count INT DEFAULT 0,
+    selection_count INT DEFAULT 0,
+    drop_count INT DEFAULT 0,
+    graded_count INT DEFAULT 0,
+    pass_count INT DEFAULT 0,
+    excellent_count INT DEFAULT 0,
+    average_score DECIMAL(5,2),
+    update_time DATETIME
+);
+
+-- 12. 统计汇总水位表
+CREATE TABLE statistics_watermarks (
+    name VARCHAR(50) PRIMARY KEY,
+    watermark DATETIME NOT NULL,
+    update_time DATETIME
+);